@@ -0,0 +1,24 @@
+package lex.application.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punctul de intrare al benchmarks.jar. Accepta aceleasi argumente ca JMH (ex: filtru de nume, -p size=1000),
+ * dar implicit scrie rezultatele in JSON, ca rularile sa poata fi comparate in timp.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+            .parent(cli)
+            .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+            .result(cli.getResult().orElse("target/jmh-results.json"))
+            .build();
+        new Runner(options).run();
+    }
+}
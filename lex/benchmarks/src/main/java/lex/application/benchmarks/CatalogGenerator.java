@@ -0,0 +1,51 @@
+package lex.application.benchmarks;
+
+import lex.application.model.Movie;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genereaza cataloage sintetice, reproductibile (seed fix), cu distributii apropiate de o colectie reala:
+ * putini regizori si genuri care se repeta mult, cai lungi cu prefix comun.
+ */
+final class CatalogGenerator {
+
+    private static final String[] GENRES = {
+        "Actiune", "Drama", "Comedie", "Thriller", "Horror", "SF", "Animatie", "Documentar", "Romantic", "Aventura"
+    };
+    private static final String[] WORDS = {
+        "Star", "Night", "Return", "Dark", "Last", "City", "Dream", "Storm", "Silent", "Road", "Empire", "Ghost"
+    };
+
+    private CatalogGenerator() {}
+
+    static List<Movie> generate(int count) {
+        Random random = new Random(42);
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String director = "Director " + random.nextInt(Math.max(1, count / 20));
+            int year = 1950 + random.nextInt(75);
+            String path = "C:\\Users\\USER\\Videos\\Filme\\" + title.replace(' ', '_');
+            String categories = GENRES[random.nextInt(GENRES.length)]
+                + (random.nextBoolean() ? ", " + GENRES[random.nextInt(GENRES.length)] : "");
+            double rating = 1 + random.nextInt(90) / 10.0;
+            movies.add(Movie.of(title, director, year, path, categories, rating, "tt" + (1000000 + i)));
+        }
+        return movies;
+    }
+
+    /**
+     * Redirectioneaza user.home catre un folder temporar, ca benchmark-urile sa nu atinga datele reale
+     * din CinemaManagerData. MovieRepo citeste proprietatea la fiecare instantiere.
+     */
+    static File isolateHome() throws IOException {
+        File home = Files.createTempDirectory("lex-jmh").toFile();
+        System.setProperty("user.home", home.getAbsolutePath());
+        return home;
+    }
+}
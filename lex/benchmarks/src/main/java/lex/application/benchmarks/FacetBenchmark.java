@@ -0,0 +1,50 @@
+package lex.application.benchmarks;
+
+import lex.application.logic.FacetModel;
+import lex.application.model.Movie;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Extragerea fatetelor (Categorii/Regizori/Ani) pentru arborele din MainView:
+ * constructia completa a modelului si actualizarea incrementala la o adaugare/stergere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FacetBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Movie> movies;
+    private FacetModel model;
+    private Movie extra;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        movies = CatalogGenerator.generate(size);
+        model = new FacetModel();
+        movies.forEach(model::add);
+        extra = CatalogGenerator.generate(1).get(0);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FacetModel buildFacets() {
+        FacetModel fresh = new FacetModel();
+        movies.forEach(fresh::add);
+        return fresh;
+    }
+
+    @Benchmark
+    public int addAndRemoveMovie() {
+        model.add(extra);
+        model.remove(extra);
+        return model.values(FacetModel.Facet.DIRECTOR).size();
+    }
+}
@@ -0,0 +1,48 @@
+package lex.application.benchmarks;
+
+import lex.application.data.MovieRepo;
+import lex.application.model.Movie;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Incarcarea si salvarea catalogului complet prin MovieRepo, pe cataloage de 1k, 100k si 1M filme.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MovieRepoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Movie> movies;
+    private MovieRepo repo;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        CatalogGenerator.isolateHome();
+        movies = CatalogGenerator.generate(size);
+        repo = new MovieRepo("bench_" + size);
+        repo.saveMovies(movies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repo.close();
+    }
+
+    @Benchmark
+    public List<Movie> loadAllMovies() {
+        return repo.LoadAllMovies();
+    }
+
+    @Benchmark
+    public void saveMovies() {
+        repo.saveMovies(movies);
+    }
+}
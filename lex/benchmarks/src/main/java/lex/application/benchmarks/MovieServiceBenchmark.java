@@ -0,0 +1,53 @@
+package lex.application.benchmarks;
+
+import lex.application.data.MovieRepo;
+import lex.application.logic.MovieService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Filtrarea colectiei in MovieService. Nu porneste toolkit-ul JavaFX:
+ * sunt folosite doar colectiile observabile, care functioneaza si fara interfata grafica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    // Interogare scurta (un n-gram) si una lunga (mai multe trigrame de intersectat)
+    @Param({"dr", "Silent Road"})
+    public String query;
+
+    private MovieService service;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        CatalogGenerator.isolateHome();
+        String user = "bench_" + size;
+        MovieRepo repo = new MovieRepo(user);
+        repo.saveMovies(CatalogGenerator.generate(size));
+        repo.close();
+
+        service = new MovieService(user);
+        service.loadCatalog();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public int filterMovies() {
+        service.filterMovies(query);
+        int visible = service.getFilteredMovies().size();
+        service.filterMovies("");
+        return visible;
+    }
+}
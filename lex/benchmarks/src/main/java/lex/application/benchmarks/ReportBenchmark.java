@@ -0,0 +1,49 @@
+package lex.application.benchmarks;
+
+import lex.application.data.MovieRepo;
+import lex.application.logic.MovieService;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Generarea raportului text (grupare pe categorii, sortare dupa titlu, scriere pe disc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private MovieService service;
+    private File reportFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        File home = CatalogGenerator.isolateHome();
+        String user = "bench_" + size;
+        MovieRepo repo = new MovieRepo(user);
+        repo.saveMovies(CatalogGenerator.generate(size));
+        repo.close();
+
+        service = new MovieService(user);
+        service.loadCatalog();
+        reportFile = new File(home, "raport.txt");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public long generateReport() {
+        service.generateReport(reportFile);
+        return reportFile.length();
+    }
+}
@@ -10,6 +10,8 @@ import lex.application.presentation.MainView;
 public class App extends Application {
 
 	private Stage primaryStage;
+	// Dashboard-ul activ, pentru a-i salva datele la inchiderea aplicatiei
+	private MainView dashboard;
 	//Metoda de start a aplicatiei JavaFX
 	@Override
 	public void start(Stage stage) {
@@ -38,11 +40,23 @@ public class App extends Application {
         // 1. Username-ul: pentru a sti ale cui filme le afisam.
         // 2. Un Runnable pentru Logout: permite Dashboard-ului sa ceara App-ului
         //sa revina la ecranul de login fara ca Dashboard sa stie de existenta App.
-		MainView dashboard = new MainView(username, () -> showLoginScreen());
+		dashboard = new MainView(username, () -> showLoginScreen());
 		primaryStage.setScene(dashboard.getScene());
 		primaryStage.centerOnScreen();
 	}
 
+	/**
+	 * Apelata de JavaFX la Platform.exit() sau la inchiderea ultimei ferestre.
+	 * Scrie pe disc modificarile ramase in coada, ca sa nu se piarda nimic.
+	 */
+	@Override
+	public void stop() {
+		if (dashboard != null) {
+			dashboard.shutdown();
+			dashboard = null;
+		}
+	}
+
 	public static void main(String[] args) {
 
 		launch(args);
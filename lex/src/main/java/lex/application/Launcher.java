@@ -1,10 +1,16 @@
 package lex.application;
 
+import lex.application.presentation.CommandLine;
+
 public class Launcher {
     public static void main(String[] args) {
         //Pentru creearea unui fisier exe este nevoie ca clasa care creeaza aplicatia sa nu fie o interfata
         //So am creat o alta clasa care doar apelaza mainul clasei App
         
+        //Cu o comanda (import, export, report...) rulam fara interfata grafica, fara sa pornim JavaFX
+        if (CommandLine.isCommand(args)) {
+            System.exit(CommandLine.run(args));
+        }
         App.main(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format binar pentru catalogul de filme, gândit pentru pornire rapidă pe colecții mari.
+ *
+ * Structura fișierului (big-endian):
+ *   "LEXB" | versiune (int)
+ *   număr de șiruri (int) | pentru fiecare: lungime în octeți (int) + octeți UTF-8
+ *   număr de filme (int)  | pentru fiecare: titlu, regizor (int id), an (int), cale, categorii (int id),
+ *                           rating (double), imdbId (int id)
+ * Textele apar o singură dată în tabela de șiruri (regizorii și genurile se repetă mult),
+ * iar filmele conțin doar indici în această tabelă. Un id -1 înseamnă null.
+ */
+public class BinaryCatalog {
+
+	private static final int MAGIC = 0x4C455842; // "LEXB"
+	private static final int VERSION = 1;
+	// Octeții unui film: 6 int-uri și un double
+	private static final int MOVIE_BYTES = 6 * Integer.BYTES + Double.BYTES;
+
+	private BinaryCatalog() {}
+
+	/**
+	 * Citește catalogul printr-o mapare în memorie a fișierului (FileChannel.map), fără parsare de text.
+	 */
+	public static List<Movie> read(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() == 0) return new ArrayList<>();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Fișierul nu este un catalog binar: " + file.getName());
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new IOException("Versiune necunoscută a catalogului binar: " + version);
+			}
+
+			// Numerele citite sunt verificate față de octeții rămași înainte de alocare,
+			// ca un fișier corupt să nu ducă la NegativeArraySizeException sau OutOfMemoryError
+			String[] strings = new String[checkCount(buffer.getInt(), Integer.BYTES, buffer, file)];
+			byte[] scratch = new byte[256];
+			for (int i = 0; i < strings.length; i++) {
+				int length = checkCount(buffer.getInt(), 1, buffer, file);
+				if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+				buffer.get(scratch, 0, length);
+				strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+			}
+
+			int count = checkCount(buffer.getInt(), MOVIE_BYTES, buffer, file);
+			List<Movie> movies = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String title = lookup(strings, buffer.getInt());
+				String director = lookup(strings, buffer.getInt());
+				int year = buffer.getInt();
+				String path = lookup(strings, buffer.getInt());
+				String categories = lookup(strings, buffer.getInt());
+				double rating = buffer.getDouble();
+				String imdbId = lookup(strings, buffer.getInt());
+				movies.add(Movie.of(title, director, year, path, categories, rating, imdbId));
+			}
+			return movies;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Catalog binar corupt: " + file.getName());
+		}
+	}
+
+	/**
+	 * Un număr de elemente este valid doar dacă elementele, de câte size octeți, încap în restul fișierului.
+	 */
+	private static int checkCount(int count, int size, ByteBuffer buffer, File file) throws IOException {
+		if (count < 0 || count > buffer.remaining() / size) {
+			throw new IOException("Catalog binar corupt: " + file.getName());
+		}
+		return count;
+	}
+
+	private static String lookup(String[] strings, int id) {
+		return id < 0 ? null : strings[id];
+	}
+
+	/**
+	 * Scrie catalogul în fișierul dat (apelantul se ocupă de înlocuirea atomică a snapshot-ului).
+	 */
+	public static void write(List<Movie> movies, File file) throws IOException {
+		Map<String, Integer> ids = new HashMap<>();
+		List<String> table = new ArrayList<>();
+		int[] refs = new int[movies.size() * 5];
+		int r = 0;
+		for (Movie m: movies) {
+			refs[r++] = intern(m.getTitle(), ids, table);
+			refs[r++] = intern(m.getDirector(), ids, table);
+			refs[r++] = intern(m.getMoviePath(), ids, table);
+			refs[r++] = intern(m.getCategories(), ids, table);
+			refs[r++] = intern(m.getImdbId(), ids, table);
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(table.size());
+			for (String s: table) {
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			out.writeInt(movies.size());
+			r = 0;
+			for (Movie m: movies) {
+				out.writeInt(refs[r++]);
+				out.writeInt(refs[r++]);
+				out.writeInt(m.getYear());
+				out.writeInt(refs[r++]);
+				out.writeInt(refs[r++]);
+				out.writeDouble(m.getRating());
+				out.writeInt(refs[r++]);
+			}
+		}
+	}
+
+	private static int intern(String value, Map<String, Integer> ids, List<String> table) {
+		if (value == null) return -1;
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = table.size();
+			ids.put(value, id);
+			table.add(value);
+		}
+		return id;
+	}
+}
@@ -0,0 +1,128 @@
+package lex.application.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordonează accesul mai multor instanțe ale aplicației la aceleași fișiere de date.
+ * Fișierul .lock este blocat exclusiv (FileChannel.lock) pe durata fiecărei operații și conține
+ * o ștampilă de versiune, incrementată la fiecare scriere, prin care o instanță află dacă altcineva
+ * a modificat fișierele de la ultima ei citire.
+ *
+ * În aceeași aplicație, firele sunt serializate printr-un lock local (lock-urile pe fișier aparțin
+ * întregului proces și nu pot fi luate de două ori).
+ */
+final class CatalogLock {
+
+	/**
+	 * Starea fișierelor: version crește la orice scriere; generation crește când snapshot-ul este
+	 * rescris și jurnalul scurtat, iar dropped este numărul de octeți eliminați atunci din începutul jurnalului.
+	 */
+	static final class Stamp {
+		static final Stamp EMPTY = new Stamp(0, 0, 0);
+
+		final long version;
+		final long generation;
+		final long dropped;
+
+		Stamp(long version, long generation, long dropped) {
+			this.version = version;
+			this.generation = generation;
+			this.dropped = dropped;
+		}
+
+		// Următoarea versiune, cu aceeași generație (ex: înregistrări noi în jurnal)
+		Stamp next() {
+			return new Stamp(version + 1, generation, dropped);
+		}
+
+		// Următoarea generație: primii dropped octeți din jurnal au fost mutați în snapshot
+		Stamp nextGeneration(long dropped) {
+			return new Stamp(version + 1, generation + 1, dropped);
+		}
+
+		boolean sameAs(Stamp other) {
+			return other != null && version == other.version && generation == other.generation;
+		}
+	}
+
+	/**
+	 * Operația executată cât timp lock-ul este deținut.
+	 */
+	interface Action<T> {
+		T run(Held held) throws IOException;
+	}
+
+	/**
+	 * Acces la ștampilă pe durata lock-ului.
+	 */
+	static final class Held {
+		private final FileChannel channel;
+		private Stamp stamp;
+
+		private Held(FileChannel channel, Stamp stamp) {
+			this.channel = channel;
+			this.stamp = stamp;
+		}
+
+		Stamp stamp() {
+			return stamp;
+		}
+
+		/**
+		 * Scrie noua ștampilă; o face vizibilă celorlalte instanțe la eliberarea lock-ului.
+		 */
+		Stamp update(Stamp next) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(24);
+			buffer.putLong(next.version).putLong(next.generation).putLong(next.dropped).flip();
+			channel.write(buffer, 0);
+			stamp = next;
+			return next;
+		}
+	}
+
+	private static final Map<String, ReentrantLock> LOCAL = new ConcurrentHashMap<>();
+
+	private final File file;
+	private final ReentrantLock local;
+
+	CatalogLock(File file) {
+		this.file = file;
+		this.local = LOCAL.computeIfAbsent(file.getAbsolutePath(), k -> new ReentrantLock());
+	}
+
+	/**
+	 * Execută operația cu lock-ul exclusiv pe fișier (așteaptă dacă altă instanță îl deține).
+	 */
+	<T> T locked(Action<T> action) throws IOException {
+		local.lock();
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			FileLock fileLock = channel.lock();
+			try {
+				return action.run(new Held(channel, read(channel)));
+			} finally {
+				fileLock.release();
+			}
+		} finally {
+			local.unlock();
+		}
+	}
+
+	private static Stamp read(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(24);
+		while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+			// citim până la 24 de octeți; un fișier nou este gol
+		}
+		if (buffer.position() < 24) return Stamp.EMPTY;
+		buffer.flip();
+		return new Stamp(buffer.getLong(), buffer.getLong(), buffer.getLong());
+	}
+}
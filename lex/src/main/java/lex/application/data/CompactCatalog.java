@@ -0,0 +1,259 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reprezentare compactă, pe coloane, a colecției încărcate de pe disc.
+ *
+ * În loc de câte un obiect Movie cu șapte câmpuri (șase referințe către șiruri proprii), datele stau în tablouri:
+ *   - an și rating în coloane primitive (int[] / double[])
+ *   - regizorul, categoriile și folderul părinte al căii sunt codificate prin dicționar (int id)
+ *   - titlurile sunt internate (titlurile identice folosesc același String)
+ *   - numele folderului filmului stă ca UTF-8 într-un singur tablou de octeți (fără un String per film),
+ *     sau refolosește titlul când coincid
+ *   - ID-urile IMDB de forma "tt0123456" sunt păstrate ca număr
+ * Restul aplicației vede în continuare obiecte Movie: fiecare rând are o vedere (Row) care citește coloanele.
+ *
+ * Catalogul este construit o singură dată, la încărcare, și nu mai este modificat după aceea,
+ * deci poate fi citit din orice fir. Filmele adăugate ulterior rămân obiecte Movie obișnuite.
+ */
+public class CompactCatalog {
+
+	// Codificarea ID-ului IMDB: 0 = gol, -1 = format neobișnuit (păstrat în imdbOther), altfel număr << 4 | nr. cifre
+	private static final int IMDB_EMPTY = 0;
+	private static final int IMDB_OTHER = -1;
+	private static final int IMDB_MAX_NUMBER = (Integer.MAX_VALUE >> 4);
+
+	// Marcaje pentru cale: fără cale (null) și nume de folder identic cu titlul
+	private static final int NULL_PATH = -2;
+	private static final int SAME_AS_TITLE = -1;
+
+	private final int size;
+	private final String[] titles;
+	private final int[] directors;
+	private final int[] years;
+	private final int[] categories;
+	private final double[] ratings;
+	private final int[] imdbIds;
+	private final int[] pathParents;
+	// Numele folderului: [start, start + lungime) în pathBytes; o lungime -1 înseamnă "același ca titlul"
+	private final int[] pathStarts;
+	private final int[] pathLengths;
+	private final byte[] pathBytes;
+
+	private final String[] directorValues;
+	private final String[] categoryValues;
+	private final String[] parentValues;
+	private final Map<Integer, String> imdbOther;
+
+	/**
+	 * Vederea Movie asupra unui rând din catalog: doar catalogul și numărul rândului, fără alte câmpuri.
+	 */
+	private static final class Row implements Movie {
+		private final CompactCatalog catalog;
+		private final int row;
+
+		Row(CompactCatalog catalog, int row) {
+			this.catalog = catalog;
+			this.row = row;
+		}
+
+		@Override public String getTitle() { return catalog.titles[row]; }
+		@Override public String getDirector() { return catalog.value(catalog.directorValues, catalog.directors[row]); }
+		@Override public int getYear() { return catalog.years[row]; }
+		@Override public String getMoviePath() { return catalog.path(row); }
+		@Override public String getCategories() { return catalog.value(catalog.categoryValues, catalog.categories[row]); }
+		@Override public double getRating() { return catalog.ratings[row]; }
+		@Override public String getImdbId() { return catalog.imdb(row); }
+	}
+
+	private CompactCatalog(List<Movie> movies) {
+		size = movies.size();
+		titles = new String[size];
+		directors = new int[size];
+		years = new int[size];
+		categories = new int[size];
+		ratings = new double[size];
+		imdbIds = new int[size];
+		pathParents = new int[size];
+		pathStarts = new int[size];
+		pathLengths = new int[size];
+		ByteBuffer names = new ByteBuffer();
+
+		Dictionary titlePool = new Dictionary();
+		Dictionary directorDict = new Dictionary();
+		Dictionary categoryDict = new Dictionary();
+		Dictionary parentDict = new Dictionary();
+		Map<Integer, String> other = new HashMap<>();
+		String lastParent = null;
+		int lastParentId = -1;
+
+		for (int i = 0; i < size; i++) {
+			Movie m = movies.get(i);
+			String title = titlePool.intern(m.getTitle());
+			titles[i] = title;
+			directors[i] = directorDict.id(m.getDirector());
+			years[i] = m.getYear();
+			categories[i] = categoryDict.id(m.getCategories());
+			ratings[i] = m.getRating();
+
+			int imdb = encodeImdb(m.getImdbId());
+			if (imdb == IMDB_OTHER) other.put(i, m.getImdbId());
+			imdbIds[i] = imdb;
+
+			String path = m.getMoviePath();
+			if (path == null) {
+				pathParents[i] = NULL_PATH;
+				continue;
+			}
+			int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+			if (slash < 0) {
+				pathParents[i] = -1;
+			} else if (lastParent != null && lastParent.length() == slash + 1 && path.startsWith(lastParent)) {
+				// Filmele vecine stau de obicei în același folder: evităm un substring și o căutare în dicționar
+				pathParents[i] = lastParentId;
+			} else {
+				lastParent = path.substring(0, slash + 1);
+				lastParentId = parentDict.id(lastParent);
+				pathParents[i] = lastParentId;
+			}
+			int nameLength = path.length() - slash - 1;
+			// Folderul importat poartă de obicei numele filmului: nu mai păstrăm o a doua copie
+			if (title != null && title.length() == nameLength && path.startsWith(title, slash + 1)) {
+				pathLengths[i] = SAME_AS_TITLE;
+			} else {
+				pathStarts[i] = names.size();
+				pathLengths[i] = names.append(path.substring(slash + 1));
+			}
+		}
+		pathBytes = names.toArray();
+
+		directorValues = directorDict.values();
+		categoryValues = categoryDict.values();
+		parentValues = parentDict.values();
+		imdbOther = other;
+	}
+
+	/**
+	 * Construiește catalogul compact și returnează vederile Movie, în aceeași ordine ca lista primită.
+	 * Lista returnată poate fi modificată (ex: de reluarea jurnalului); catalogul rămâne neschimbat.
+	 */
+	public static List<Movie> of(List<Movie> movies) {
+		CompactCatalog catalog = new CompactCatalog(movies);
+		List<Movie> views = new ArrayList<>(catalog.size);
+		for (int i = 0; i < catalog.size; i++) {
+			views.add(new Row(catalog, i));
+		}
+		return views;
+	}
+
+	private String value(String[] values, int id) {
+		return id < 0 ? null : values[id];
+	}
+
+	private String path(int row) {
+		int parent = pathParents[row];
+		if (parent == NULL_PATH) return null;
+		String name = pathLengths[row] == SAME_AS_TITLE
+			? titles[row]
+			: new String(pathBytes, pathStarts[row], pathLengths[row], StandardCharsets.UTF_8);
+		return parent < 0 ? name : parentValues[parent].concat(name);
+	}
+
+	private String imdb(int row) {
+		int code = imdbIds[row];
+		if (code == IMDB_EMPTY) return "";
+		if (code == IMDB_OTHER) return imdbOther.get(row);
+
+		char[] digits = new char[2 + (code & 0xF)];
+		digits[0] = 't';
+		digits[1] = 't';
+		int number = code >>> 4;
+		for (int i = digits.length - 1; i >= 2; i--) {
+			digits[i] = (char) ('0' + number % 10);
+			number /= 10;
+		}
+		return new String(digits);
+	}
+
+	/**
+	 * "tt" urmat de 1-9 cifre devine un număr; orice altceva (inclusiv null) este păstrat separat.
+	 */
+	private static int encodeImdb(String imdbId) {
+		if (imdbId == null) return IMDB_OTHER;
+		if (imdbId.isEmpty()) return IMDB_EMPTY;
+		int length = imdbId.length() - 2;
+		if (!imdbId.startsWith("tt") || length < 1 || length > 9) return IMDB_OTHER;
+
+		int number = 0;
+		for (int i = 2; i < imdbId.length(); i++) {
+			char c = imdbId.charAt(i);
+			if (c < '0' || c > '9') return IMDB_OTHER;
+			number = number * 10 + (c - '0');
+		}
+		if (number > IMDB_MAX_NUMBER) return IMDB_OTHER;
+		return (number << 4) | length;
+	}
+
+	/**
+	 * Tablou de octeți extensibil în care numele sunt scrise unul după altul.
+	 */
+	private static final class ByteBuffer {
+		private byte[] bytes = new byte[1 << 16];
+		private int size;
+
+		int size() {
+			return size;
+		}
+
+		// Scrie textul ca UTF-8 și returnează numărul de octeți
+		int append(String text) {
+			byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+			if (size + encoded.length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + encoded.length));
+			}
+			System.arraycopy(encoded, 0, bytes, size, encoded.length);
+			size += encoded.length;
+			return encoded.length;
+		}
+
+		byte[] toArray() {
+			return Arrays.copyOf(bytes, size);
+		}
+	}
+
+	/**
+	 * Dicționar de șiruri: fiecare valoare distinctă primește un id și este păstrată o singură dată.
+	 */
+	private static final class Dictionary {
+		private final Map<String, Integer> ids = new HashMap<>();
+		private String[] values = new String[16];
+
+		int id(String value) {
+			if (value == null) return -1;
+			Integer id = ids.get(value);
+			if (id == null) {
+				id = ids.size();
+				if (id == values.length) values = Arrays.copyOf(values, id * 2);
+				values[id] = value;
+				ids.put(value, id);
+			}
+			return id;
+		}
+
+		String intern(String value) {
+			int id = id(value);
+			return id < 0 ? null : values[id];
+		}
+
+		String[] values() {
+			return Arrays.copyOf(values, ids.size());
+		}
+	}
+}
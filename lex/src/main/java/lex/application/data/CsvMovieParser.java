@@ -0,0 +1,432 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parser CSV (în stilul RFC 4180) pentru fișierele de filme, cu o singură trecere prin text.
+ *
+ * Câmpurile pot fi puse între ghilimele, deci titlurile sau categoriile care conțin virgule
+ * (ex: "Acțiune, Dramă") nu mai sunt pierdute; ghilimelele din interior se dublează ("").
+ * Câmpurile fără ghilimele sunt curățate de spații la capete, ca în formatul vechi.
+ * Caracterele sunt citite printr-un buffer refolosit, iar anul și rating-ul sunt calculate
+ * direct din caractere, fără șiruri intermediare.
+ *
+ * O instanță nu este thread-safe; parseFile() creează câte una pentru fiecare bucată procesată în paralel.
+ * Parsarea paralelă presupune că fiecare film ocupă o singură linie, lucru garantat de format().
+ */
+public class CsvMovieParser {
+
+	public static final int FIELD_COUNT = 7;
+
+	// Peste această dimensiune, fișierul este împărțit pe linii și parsat în paralel
+	private static final long PARALLEL_THRESHOLD = 4L * 1024 * 1024;
+	private static final int MIN_CHUNK = 1024 * 1024;
+
+	/**
+	 * Rezultatul parsării: filmele valide și erorile (cu numărul liniei) pentru liniile respinse.
+	 */
+	public static class Result {
+		private final List<Movie> movies;
+		private final List<String> errors;
+
+		Result(List<Movie> movies, List<String> errors) {
+			this.movies = movies;
+			this.errors = errors;
+		}
+
+		public List<Movie> getMovies() { return movies; }
+		public List<String> getErrors() { return errors; }
+	}
+
+	private final char[] buffer = new char[8192];
+	private final StringBuilder field = new StringBuilder(64);
+	private final StringBuilder[] fields = new StringBuilder[FIELD_COUNT];
+
+	private List<Movie> movies;
+	private List<String> errors;
+
+	public CsvMovieParser() {
+		for (int i = 0; i < FIELD_COUNT; i++) fields[i] = new StringBuilder(32);
+	}
+
+	/**
+	 * Parsează întreg conținutul; liniile greșite sunt sărite și raportate în Result.getErrors().
+	 */
+	public Result parse(Reader reader) throws IOException {
+		return parse(reader, 1);
+	}
+
+	private Result parse(Reader reader, int firstLine) throws IOException {
+		movies = new ArrayList<>();
+		errors = new ArrayList<>();
+
+		int line = firstLine;
+		int recordLine = firstLine;
+		int fieldIndex = 0;
+		boolean inQuotes = false;
+		boolean afterQuote = false;   // tocmai s-a închis un câmp între ghilimele
+		boolean fieldQuoted = false;
+		boolean recordStarted = false;
+		boolean broken = false;       // linia are deja o eroare, o ignorăm până la final
+		boolean pendingCR = false;
+		field.setLength(0);
+
+		int n;
+		while ((n = reader.read(buffer)) != -1) {
+			for (int i = 0; i < n; i++) {
+				char c = buffer[i];
+
+				if (pendingCR) {
+					pendingCR = false;
+					if (c == '\n') continue; // "\r\n" este un singur sfârșit de linie
+				}
+
+				if (inQuotes) {
+					if (c == '"') {
+						inQuotes = false;
+						afterQuote = true;
+					} else {
+						// Sfârșit de linie în interiorul unui câmp între ghilimele
+						if (c == '\n') line++;
+						field.append(c);
+					}
+					continue;
+				}
+
+				if (afterQuote && c == '"') {
+					// Ghilimele dublate în interiorul unui câmp: ""
+					field.append('"');
+					inQuotes = true;
+					afterQuote = false;
+					continue;
+				}
+
+				if (c == ',' || c == '\n' || c == '\r') {
+					if (!broken) {
+						if (fieldIndex < FIELD_COUNT) {
+							storeField(fieldIndex, fieldQuoted);
+						} else if (fieldIndex == FIELD_COUNT) {
+							reportError(recordLine, "prea multe câmpuri (se așteptau " + FIELD_COUNT + ")");
+							broken = true;
+						}
+					}
+					fieldIndex++;
+					field.setLength(0);
+					fieldQuoted = false;
+					afterQuote = false;
+
+					if (c != ',') {
+						if (recordStarted || fieldIndex > 1) {
+							if (!broken) endRecord(fieldIndex, recordLine);
+						}
+						if (c == '\r') pendingCR = true;
+						line++;
+						recordLine = line;
+						fieldIndex = 0;
+						recordStarted = false;
+						broken = false;
+					}
+					continue;
+				}
+
+				if (afterQuote) {
+					// După ghilimeaua de închidere sunt permise doar spații
+					if (c != ' ' && c != '\t' && !broken) {
+						reportError(recordLine, "caracter neașteptat după ghilimele");
+						broken = true;
+					}
+					continue;
+				}
+
+				if (c == '"' && isBlank(field)) {
+					field.setLength(0);
+					inQuotes = true;
+					fieldQuoted = true;
+					recordStarted = true;
+					continue;
+				}
+
+				field.append(c);
+				if (c != ' ' && c != '\t') recordStarted = true;
+			}
+		}
+
+		if (inQuotes) {
+			reportError(recordLine, "ghilimele neînchise");
+		} else if (!broken && (recordStarted || fieldIndex > 0)) {
+			if (fieldIndex < FIELD_COUNT) storeField(fieldIndex, fieldQuoted);
+			else if (fieldIndex == FIELD_COUNT) {
+				reportError(recordLine, "prea multe câmpuri (se așteptau " + FIELD_COUNT + ")");
+				broken = true;
+			}
+			if (!broken) endRecord(fieldIndex + 1, recordLine);
+		}
+
+		return new Result(movies, errors);
+	}
+
+	/**
+	 * Parsează o singură înregistrare (ex: o linie din jurnal). Returnează null dacă linia este invalidă.
+	 */
+	public Movie parseLine(String line) {
+		try {
+			Result result = parse(new StringReader(line));
+			return result.getMovies().isEmpty() ? null : result.getMovies().get(0);
+		} catch (IOException e) {
+			return null; // StringReader nu aruncă în practică
+		}
+	}
+
+	private void storeField(int index, boolean wasQuoted) {
+		StringBuilder target = fields[index];
+		target.setLength(0);
+		if (wasQuoted) {
+			target.append(field);
+		} else {
+			// Câmpurile fără ghilimele sunt "trim"-uite, compatibil cu formatul vechi
+			int start = 0;
+			int end = field.length();
+			while (start < end && field.charAt(start) <= ' ') start++;
+			while (end > start && field.charAt(end - 1) <= ' ') end--;
+			target.append(field, start, end);
+		}
+	}
+
+	private void endRecord(int fieldCount, int lineNumber) {
+		if (fieldCount != FIELD_COUNT) {
+			reportError(lineNumber, "număr greșit de câmpuri (" + fieldCount + " în loc de " + FIELD_COUNT + ")");
+			return;
+		}
+
+		int year;
+		double rating;
+		try {
+			year = parseInt(fields[2]);
+			rating = parseDouble(fields[5]);
+		} catch (NumberFormatException e) {
+			reportError(lineNumber, "an sau rating invalid");
+			return;
+		}
+
+		movies.add(Movie.of(
+			fields[0].toString(), fields[1].toString(), year, fields[3].toString(),
+			fields[4].toString(), rating, fields[6].toString()));
+	}
+
+	private void reportError(int lineNumber, String message) {
+		errors.add("linia " + lineNumber + ": " + message);
+	}
+
+	private static boolean isBlank(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > ' ') return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Întreg zecimal citit direct din caractere.
+	 */
+	private static int parseInt(CharSequence s) {
+		int len = s.length();
+		if (len == 0) throw new NumberFormatException();
+		int i = 0;
+		boolean negative = false;
+		if (s.charAt(0) == '-' || s.charAt(0) == '+') {
+			negative = s.charAt(0) == '-';
+			i++;
+			if (len == 1) throw new NumberFormatException();
+		}
+		long value = 0;
+		for (; i < len; i++) {
+			int d = s.charAt(i) - '0';
+			if (d < 0 || d > 9) throw new NumberFormatException();
+			value = value * 10 + d;
+			if (value > Integer.MAX_VALUE + 1L) throw new NumberFormatException();
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) throw new NumberFormatException();
+		return (int) value;
+	}
+
+	/**
+	 * Numere simple de forma 7, 7.5 sau -7.25 sunt calculate direct; restul (ex: exponent) trec prin Double.parseDouble.
+	 */
+	private static double parseDouble(CharSequence s) {
+		int len = s.length();
+		if (len == 0 || len > 15) return Double.parseDouble(s.toString());
+		int i = 0;
+		boolean negative = false;
+		if (s.charAt(0) == '-' || s.charAt(0) == '+') {
+			negative = s.charAt(0) == '-';
+			i++;
+		}
+		long digits = 0;
+		int decimals = -1;
+		boolean any = false;
+		for (; i < len; i++) {
+			char c = s.charAt(i);
+			if (c == '.' && decimals < 0) {
+				decimals = 0;
+			} else if (c >= '0' && c <= '9') {
+				digits = digits * 10 + (c - '0');
+				if (decimals >= 0) decimals++;
+				any = true;
+			} else {
+				return Double.parseDouble(s.toString());
+			}
+		}
+		if (!any) throw new NumberFormatException();
+		double value = digits;
+		if (decimals > 0) value = value / Math.pow(10, decimals);
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Formatează filmul ca o linie CSV. Câmpurile cu virgule sau ghilimele sunt puse între ghilimele,
+	 * iar sfârșiturile de linie devin spații, astfel încât fiecare film ocupă exact o linie.
+	 */
+	public static String format(Movie m) {
+		StringBuilder sb = new StringBuilder(96);
+		appendField(sb, m.getTitle()).append(',');
+		appendField(sb, m.getDirector()).append(',');
+		sb.append(m.getYear()).append(',');
+		appendField(sb, m.getMoviePath()).append(',');
+		appendField(sb, m.getCategories()).append(',');
+		sb.append(m.getRating()).append(',');
+		appendField(sb, m.getImdbId());
+		return sb.toString();
+	}
+
+	private static StringBuilder appendField(StringBuilder sb, String value) {
+		if (value == null) return sb;
+
+		boolean needsQuotes = value.isEmpty() ? false
+			: value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ';
+		for (int i = 0; i < value.length() && !needsQuotes; i++) {
+			char c = value.charAt(i);
+			needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!needsQuotes) return sb.append(value);
+
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') sb.append("\"\"");
+			else if (c == '\n' || c == '\r') sb.append(' ');
+			else sb.append(c);
+		}
+		return sb.append('"');
+	}
+
+	/**
+	 * Parsează un fișier de filme. Fișierele mari sunt împărțite în bucăți la granițe de linie
+	 * și parsate în paralel; erorile sunt raportate cu numărul real al liniei din fișier.
+	 * Se folosește setul de caractere implicit, la fel ca FileReader/FileWriter din restul aplicației.
+	 */
+	public static Result parseFile(File file) throws IOException {
+		return parseFile(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Ca parseFile(File), cu setul de caractere dat (ex: UTF-8 pentru fișierele exportate din linia de comandă).
+	 */
+	public static Result parseFile(File file, Charset charset) throws IOException {
+		long size = file.length();
+
+		if (size < PARALLEL_THRESHOLD) {
+			try (Reader reader = new InputStreamReader(new FileInputStream(file), charset)) {
+				return new CsvMovieParser().parse(reader);
+			}
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			int parallelism = ForkJoinPool.commonPool().getParallelism() + 1;
+			int chunkSize = (int) Math.max(MIN_CHUNK, size / (parallelism * 2L));
+
+			// Limitele bucăților: fiecare începe imediat după un '\n' (sigur pentru UTF-8 și codificările ASCII)
+			List<int[]> ranges = new ArrayList<>();
+			int start = 0;
+			while (start < size) {
+				int end = (int) Math.min(size, (long) start + chunkSize);
+				while (end < size && data.get(end - 1) != '\n') end++;
+				ranges.add(new int[] {start, end});
+				start = end;
+			}
+
+			// Întâi numărăm liniile fiecărei bucăți (în paralel), ca erorile să poată fi raportate cu linia reală
+			List<ForkJoinTask<Integer>> counts = new ArrayList<>();
+			for (int[] range: ranges) {
+				ByteBuffer chunk = slice(data, range);
+				counts.add(ForkJoinPool.commonPool().submit(() -> countLines(chunk)));
+			}
+
+			List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+			int firstLine = 1;
+			for (int i = 0; i < ranges.size(); i++) {
+				ByteBuffer chunk = slice(data, ranges.get(i));
+				int chunkFirstLine = firstLine;
+				tasks.add(ForkJoinPool.commonPool().submit(() ->
+					new CsvMovieParser().parse(new CharBufferReader(charset.decode(chunk)), chunkFirstLine)));
+				firstLine += counts.get(i).join();
+			}
+
+			// Combinăm rezultatele în ordinea bucăților, deci ordinea filmelor din fișier este păstrată
+			List<Movie> movies = new ArrayList<>();
+			List<String> errors = new ArrayList<>();
+			for (ForkJoinTask<Result> task: tasks) {
+				Result chunk = task.join();
+				movies.addAll(chunk.getMovies());
+				errors.addAll(chunk.getErrors());
+			}
+			return new Result(movies, errors);
+		}
+	}
+
+	private static ByteBuffer slice(ByteBuffer data, int[] range) {
+		ByteBuffer view = data.duplicate();
+		view.position(range[0]).limit(range[1]);
+		return view.slice();
+	}
+
+	private static int countLines(ByteBuffer chunk) {
+		int lines = 0;
+		for (int i = 0; i < chunk.limit(); i++) {
+			if (chunk.get(i) == '\n') lines++;
+		}
+		return lines;
+	}
+
+	/**
+	 * Reader simplu peste un CharBuffer deja decodat.
+	 */
+	private static class CharBufferReader extends Reader {
+		private final CharBuffer chars;
+
+		CharBufferReader(CharBuffer chars) {
+			this.chars = chars;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) {
+			if (!chars.hasRemaining()) return -1;
+			int n = Math.min(len, chars.remaining());
+			chars.get(cbuf, off, n);
+			return n;
+		}
+
+		@Override
+		public void close() {}
+	}
+}
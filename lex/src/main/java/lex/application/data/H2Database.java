@@ -0,0 +1,37 @@
+package lex.application.data;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Bazele de date H2 încorporate, păstrate lângă fișierele text în CinemaManagerData/lex.
+ * Cu AUTO_SERVER, prima instanță care deschide baza o servește și celorlalte, deci mai multe
+ * instanțe ale aplicației pot lucra simultan pe aceleași date, cu tranzacții la nivel de rând.
+ */
+final class H2Database {
+
+	private static final String BASE_DIR = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
+
+	private H2Database() {}
+
+	/**
+	 * Deschide (sau creează) baza de date cu numele dat.
+	 * @param ignoreCase Comparațiile și indexurile pe text nu țin cont de majuscule (setat la creare).
+	 */
+	static Connection open(String name, boolean ignoreCase) throws SQLException {
+		File folder = new File(BASE_DIR);
+		if (!folder.exists()) folder.mkdirs();
+
+		String url = "jdbc:h2:file:" + BASE_DIR + File.separator + name + ";AUTO_SERVER=TRUE" + (ignoreCase ? ";IGNORECASE=TRUE" : "");
+		return DriverManager.getConnection(url, "sa", "");
+	}
+
+	/**
+	 * Fișierul bazei de date (pentru dimensiune în metrici și mesaje).
+	 */
+	static File file(String name) {
+		return new File(BASE_DIR, name + ".mv.db");
+	}
+}
@@ -0,0 +1,351 @@
+package lex.application.data;
+
+import lex.application.metrics.CatalogIoEvent;
+import lex.application.model.Movie;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Colecția unui utilizator într-o bază de date H2 încorporată (movies_&lt;user&gt;.mv.db), activată cu -Dlex.storage=h2.
+ * Fiecare adăugare/ștergere modifică un singur rând, deci nu există jurnal de comasat; titlul, regizorul,
+ * anul și imdbId au indexuri, iar find() execută filtrarea, sortarea și paginarea direct în SQL.
+ */
+public class H2MovieStore implements MovieStore {
+
+	private static final String COLUMNS = "title, director, release_year, path, categories, rating, imdb_id";
+	private static final int BATCH_SIZE = 1000;
+
+	private final String name;
+
+	// La fel ca în MovieRepo, colecția încărcată este ținută pe coloane (CompactCatalog)
+	private final boolean compact = !"false".equalsIgnoreCase(System.getProperty("lex.catalog.compact"));
+
+	// O singură conexiune, deschisă la prima utilizare și folosită doar sub lock-ul instanței
+	private Connection connection;
+
+	public H2MovieStore(String username) {
+		this.name = "movies_" + username;
+	}
+
+	private Connection connection() throws SQLException {
+		if (connection == null) {
+			// Titlurile și regizorii sunt comparați și sortați fără diferențe de majuscule, ca SortMode
+			connection = H2Database.open(name, true);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE IF NOT EXISTS movies ("
+					+ "id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR, director VARCHAR, release_year INT NOT NULL, "
+					+ "path VARCHAR, categories VARCHAR, rating DOUBLE PRECISION NOT NULL, imdb_id VARCHAR)");
+				statement.execute("CREATE INDEX IF NOT EXISTS movies_title ON movies(title)");
+				statement.execute("CREATE INDEX IF NOT EXISTS movies_director ON movies(director)");
+				statement.execute("CREATE INDEX IF NOT EXISTS movies_year ON movies(release_year)");
+				statement.execute("CREATE INDEX IF NOT EXISTS movies_imdb ON movies(imdb_id)");
+			}
+		}
+		return connection;
+	}
+
+	@Override
+	public List<Movie> LoadAllMovies() {
+		try {
+			return readAllMovies();
+		} catch (IOException e) {
+			System.err.println("Eroare la încărcarea filmelor: " + e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
+	@Override
+	public synchronized List<Movie> readAllMovies() throws IOException {
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.LOAD, H2Database.file(name).getPath());
+		event.start();
+		List<Movie> movies = new ArrayList<>();
+		try (Statement statement = connection().createStatement()) {
+			statement.setFetchSize(BATCH_SIZE);
+			try (ResultSet rows = statement.executeQuery("SELECT " + COLUMNS + " FROM movies ORDER BY id")) {
+				while (rows.next()) movies.add(read(rows));
+			}
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		if (compact) movies = CompactCatalog.of(movies);
+		event.finish(movies.size(), H2Database.file(name).length());
+		return movies;
+	}
+
+	/**
+	 * Aplică modificările într-o singură tranzacție. Adăugările consecutive sunt trimise în lot;
+	 * o ștergere elimină primul rând identic cu filmul (ca ștergerea din jurnalul MovieRepo).
+	 * La o eroare tranzacția este anulată, deci lotul poate fi reîncercat.
+	 */
+	@Override
+	public synchronized void appendChanges(List<MovieChange> changes) throws IOException {
+		if (changes.isEmpty()) return;
+
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.JOURNAL, H2Database.file(name).getPath());
+		event.start();
+		try {
+			Connection db = connection();
+			db.setAutoCommit(false);
+			try (PreparedStatement insert = db.prepareStatement("INSERT INTO movies (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+				int batched = 0;
+				for (MovieChange change: changes) {
+					if (change.getType() == MovieChange.Type.ADD) {
+						bind(insert, change.getMovie());
+						insert.addBatch();
+						if (++batched == BATCH_SIZE) {
+							insert.executeBatch();
+							batched = 0;
+						}
+					} else {
+						// Adăugările de dinaintea ștergerii trebuie să fie deja în tabel
+						if (batched > 0) insert.executeBatch();
+						batched = 0;
+						delete(db, change.getMovie());
+					}
+				}
+				if (batched > 0) insert.executeBatch();
+				db.commit();
+			} catch (SQLException e) {
+				db.rollback();
+				throw e;
+			} finally {
+				db.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		event.finish(changes.size(), 0);
+	}
+
+	/**
+	 * Candidații sunt căutați prin indexul pe titlu, apoi comparați exact (inclusiv majusculele).
+	 */
+	private void delete(Connection db, Movie movie) throws SQLException {
+		String line = CsvMovieParser.format(movie);
+		String sql = "SELECT id, " + COLUMNS + " FROM movies WHERE "
+			+ (movie.getTitle() == null ? "title IS NULL" : "title = ?") + " AND release_year = ? ORDER BY id";
+		long id = -1;
+		try (PreparedStatement select = db.prepareStatement(sql)) {
+			int i = 1;
+			if (movie.getTitle() != null) select.setString(i++, movie.getTitle());
+			select.setInt(i, movie.getYear());
+			try (ResultSet rows = select.executeQuery()) {
+				while (rows.next() && id < 0) {
+					if (line.equals(CsvMovieParser.format(read(rows, 2)))) id = rows.getLong(1);
+				}
+			}
+		}
+		if (id < 0) return;
+		try (PreparedStatement delete = db.prepareStatement("DELETE FROM movies WHERE id = ?")) {
+			delete.setLong(1, id);
+			delete.executeUpdate();
+		}
+	}
+
+	/**
+	 * Rândurile sunt scrise individual, deci nu este nevoie de compactare.
+	 */
+	@Override
+	public boolean needsCompaction() {
+		return false;
+	}
+
+	@Override
+	public void compactInBackground(List<Movie> snapshot) {
+		// Nimic de comasat: vezi needsCompaction()
+	}
+
+	@Override
+	public synchronized boolean saveMovies(List<Movie> movies) {
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.SAVE, H2Database.file(name).getPath());
+		event.start();
+		try {
+			Connection db = connection();
+			db.setAutoCommit(false);
+			try (Statement clear = db.createStatement();
+				 PreparedStatement insert = db.prepareStatement("INSERT INTO movies (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+				clear.executeUpdate("DELETE FROM movies");
+				int batched = 0;
+				for (Movie m: movies) {
+					bind(insert, m);
+					insert.addBatch();
+					if (++batched == BATCH_SIZE) {
+						insert.executeBatch();
+						batched = 0;
+					}
+				}
+				if (batched > 0) insert.executeBatch();
+				db.commit();
+				System.out.println("Datele au fost salvate permanent.");
+				event.finish(movies.size(), H2Database.file(name).length());
+				return true;
+			} catch (SQLException e) {
+				db.rollback();
+				throw e;
+			} finally {
+				db.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			System.err.println("Eroare la salvare: " + e.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	public synchronized List<String> verify() {
+		List<String> problems = new ArrayList<>();
+		String file = H2Database.file(name).getName();
+		try (Statement statement = connection().createStatement()) {
+			count(statement, "SELECT COUNT(*) FROM movies WHERE title IS NULL OR TRIM(title) = ''",
+				file + ": %d filme fără titlu", problems);
+			count(statement, "SELECT COUNT(*) FROM movies WHERE rating < 0 OR rating > 10",
+				file + ": %d filme cu rating în afara intervalului 0-10", problems);
+		} catch (SQLException e) {
+			problems.add(file + ": nu poate fi citit (" + e.getMessage() + ")");
+		}
+		return problems;
+	}
+
+	private static void count(Statement statement, String sql, String message, List<String> problems) throws SQLException {
+		try (ResultSet rows = statement.executeQuery(sql)) {
+			if (rows.next() && rows.getInt(1) > 0) problems.add(String.format(message, rows.getInt(1)));
+		}
+	}
+
+	/**
+	 * Traduce criteriile într-o singură interogare SQL; sortarea și paginarea folosesc indexurile.
+	 */
+	@Override
+	public synchronized List<Movie> find(MovieCriteria criteria) throws IOException {
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.QUERY, H2Database.file(name).getPath());
+		event.start();
+		StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM movies");
+		List<Object> parameters = new ArrayList<>();
+		String separator = " WHERE ";
+		for (MovieCriteria.Condition condition: criteria.getConditions()) {
+			// COALESCE: un câmp gol nu satisface condiția, dar satisface negația ei (ca în MovieQuery)
+			sql.append(separator)
+				.append(condition.isNegated() ? "NOT " : "")
+				.append("COALESCE((").append(expression(condition, parameters)).append("), FALSE)");
+			separator = " AND ";
+		}
+		sql.append(" ORDER BY ").append(orderBy(criteria.getOrder()));
+		if (criteria.getOffset() > 0) {
+			sql.append(" OFFSET ? ROWS");
+			parameters.add(criteria.getOffset());
+		}
+		if (criteria.getLimit() < Integer.MAX_VALUE) {
+			sql.append(" FETCH NEXT ? ROWS ONLY");
+			parameters.add(criteria.getLimit());
+		}
+
+		List<Movie> movies = new ArrayList<>();
+		try (PreparedStatement select = connection().prepareStatement(sql.toString())) {
+			select.setFetchSize(BATCH_SIZE);
+			for (int i = 0; i < parameters.size(); i++) select.setObject(i + 1, parameters.get(i));
+			try (ResultSet rows = select.executeQuery()) {
+				while (rows.next()) movies.add(read(rows));
+			}
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		event.finish(movies.size(), 0);
+		return movies;
+	}
+
+	private static String expression(MovieCriteria.Condition condition, List<Object> parameters) {
+		Object value = condition.getValue();
+		if (condition.getField() == MovieCriteria.Field.TEXT) {
+			// Textul liber se caută în aceleași câmpuri ca SearchIndex
+			String pattern = likePattern(value);
+			for (int i = 0; i < 4; i++) parameters.add(pattern);
+			return "LOWER(title) LIKE ? ESCAPE '\\' OR LOWER(director) LIKE ? ESCAPE '\\'"
+				+ " OR CAST(release_year AS VARCHAR) LIKE ? ESCAPE '\\' OR LOWER(categories) LIKE ? ESCAPE '\\'";
+		}
+
+		String column = column(condition.getField());
+		switch (condition.getOperator()) {
+			case CONTAINS:
+				parameters.add(likePattern(value));
+				return "LOWER(" + column + ") LIKE ? ESCAPE '\\'";
+			case GENRE:
+				parameters.add("(^|,)\\s*" + Pattern.quote(value.toString()) + "\\s*(,|$)");
+				return "REGEXP_LIKE(" + column + ", ?, 'i')";
+			case BETWEEN:
+				int[] range = (int[]) value;
+				parameters.add(range[0]);
+				parameters.add(range[1]);
+				return column + " BETWEEN ? AND ?";
+			case GT: parameters.add(value); return column + " > ?";
+			case GE: parameters.add(value); return column + " >= ?";
+			case LT: parameters.add(value); return column + " < ?";
+			case LE: parameters.add(value); return column + " <= ?";
+			default: parameters.add(value); return column + " = ?";
+		}
+	}
+
+	private static String column(MovieCriteria.Field field) {
+		switch (field) {
+			case TITLE: return "title";
+			case DIRECTOR: return "director";
+			case CATEGORIES: return "categories";
+			case YEAR: return "release_year";
+			case RATING: return "rating";
+			default: return "imdb_id";
+		}
+	}
+
+	// Aceleași departajări ca SortMode: titlu, cale, apoi ordinea adăugării
+	private static String orderBy(MovieCriteria.Order order) {
+		switch (order) {
+			case TITLE: return "title, path, id";
+			case YEAR_DESC: return "release_year DESC, title, path, id";
+			case RATING_DESC: return "rating DESC, title, path, id";
+			case DIRECTOR: return "director, title, path, id";
+			default: return "id";
+		}
+	}
+
+	private static String likePattern(Object value) {
+		String escaped = value.toString().toLowerCase()
+			.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+		return "%" + escaped + "%";
+	}
+
+	private static void bind(PreparedStatement statement, Movie m) throws SQLException {
+		statement.setString(1, m.getTitle());
+		statement.setString(2, m.getDirector());
+		statement.setInt(3, m.getYear());
+		statement.setString(4, m.getMoviePath());
+		statement.setString(5, m.getCategories());
+		statement.setDouble(6, m.getRating());
+		statement.setString(7, m.getImdbId());
+	}
+
+	private static Movie read(ResultSet rows) throws SQLException {
+		return read(rows, 1);
+	}
+
+	private static Movie read(ResultSet rows, int first) throws SQLException {
+		return Movie.of(rows.getString(first), rows.getString(first + 1), rows.getInt(first + 2),
+			rows.getString(first + 3), rows.getString(first + 4), rows.getDouble(first + 5), rows.getString(first + 6));
+	}
+
+	@Override
+	public synchronized void close() {
+		if (connection == null) return;
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			System.err.println("Eroare la închiderea bazei de date: " + e.getMessage());
+		}
+		connection = null;
+	}
+}
@@ -0,0 +1,89 @@
+package lex.application.data;
+
+import lex.application.model.User;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conturile de utilizator în baza de date H2 încorporată credentials.mv.db (cu -Dlex.storage=h2).
+ * Numele de utilizator sunt comparate exact, ca în credentials.txt.
+ */
+public class H2UserStore implements UserStore {
+
+	private static final String NAME = "credentials";
+
+	// Ultimul număr de conturi și marcajul fișierului (dată și dimensiune) la care a fost citit
+	private long count = -1;
+	private long countedStamp;
+
+	private Connection connection() throws SQLException {
+		Connection db = H2Database.open(NAME, false);
+		try (Statement statement = db.createStatement()) {
+			statement.execute("CREATE TABLE IF NOT EXISTS users (username VARCHAR PRIMARY KEY, password VARCHAR NOT NULL)");
+		} catch (SQLException e) {
+			db.close();
+			throw e;
+		}
+		return db;
+	}
+
+	@Override
+	public List<User> loadAllUsers() {
+		List<User> users = new ArrayList<>();
+		try (Connection db = connection();
+			 Statement statement = db.createStatement();
+			 ResultSet rows = statement.executeQuery("SELECT username, password FROM users")) {
+			while (rows.next()) {
+				users.add(new User(rows.getString(1), rows.getString(2)));
+			}
+		} catch (SQLException e) {
+			System.err.println("Eroare la inițializarea bazei de date utilizatori: " + e.getMessage());
+		}
+		return users;
+	}
+
+	/**
+	 * Numărul de conturi (conturile nu sunt șterse). Baza este deschisă doar dacă fișierul ei s-a schimbat
+	 * de la ultima numărare; deschiderea însăși atinge fișierul, deci data este citită după închidere.
+	 */
+	@Override
+	public synchronized long version() {
+		File file = H2Database.file(NAME);
+		long stamp = 31 * file.lastModified() + file.length();
+		if (stamp == countedStamp) return count;
+		try (Connection db = connection();
+			 Statement statement = db.createStatement();
+			 ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+			count = rows.next() ? rows.getLong(1) : -1;
+		} catch (SQLException e) {
+			System.err.println("Eroare la citirea utilizatorilor: " + e.getMessage());
+			return -1;
+		}
+		countedStamp = 31 * file.lastModified() + file.length();
+		return count;
+	}
+
+	@Override
+	public boolean saveUser(User user) {
+		try (Connection db = connection();
+			 PreparedStatement insert = db.prepareStatement("INSERT INTO users (username, password) VALUES (?, ?)")) {
+			insert.setString(1, user.getUsername());
+			insert.setString(2, user.getPassword());
+			insert.executeUpdate();
+			return true;
+		} catch (SQLIntegrityConstraintViolationException e) {
+			// Cheia primară garantează unicitatea chiar și între instanțe
+			return false;
+		} catch (SQLException e) {
+			System.err.println("Eroare la salvarea utilizatorului: " + e.getMessage());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package lex.application.data;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index în memorie cu fișierele media ale fiecărui folder de film (coperta și fișierul video).
+ * Fiecare intrare reține data modificării folderului; folderul este listat din nou doar când aceasta se schimbă.
+ * Poate fi accesat din mai multe fire simultan.
+ */
+public class MediaFolderIndex {
+
+	/**
+	 * Rezultatul scanării unui folder. cover/video pot fi null dacă folderul nu conține astfel de fișiere.
+	 */
+	public static class Entry {
+		private final long modified;
+		private final File cover;
+		private final File video;
+
+		Entry(long modified, File cover, File video) {
+			this.modified = modified;
+			this.cover = cover;
+			this.video = video;
+		}
+
+		public File getCover() { return cover; }
+		public File getVideo() { return video; }
+	}
+
+	private static final Entry EMPTY = new Entry(0, null, null);
+
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Returnează intrarea din memorie, fără a accesa discul (null dacă folderul nu a fost încă scanat).
+	 */
+	public Entry get(String path) {
+		return entries.get(path);
+	}
+
+	/**
+	 * Returnează intrarea pentru folder, revalidând-o după data modificării.
+	 * Face un apel la sistemul de fișiere, deci se folosește doar de pe fire de fundal sau la nevoie.
+	 */
+	public Entry resolve(String path) {
+		if (path == null || path.isEmpty()) return EMPTY;
+
+		File dir = new File(path);
+		long modified = dir.lastModified();
+		Entry cached = entries.get(path);
+		if (cached != null && cached.modified == modified) {
+			return cached;
+		}
+
+		Entry entry = scan(dir, modified);
+		entries.put(path, entry);
+		return entry;
+	}
+
+	/**
+	 * Scanează în paralel toate folderele date (de obicei la încărcarea colecției).
+	 * Rulează în fundal; intrările devin disponibile pe măsură ce sunt găsite.
+	 */
+	public CompletableFuture<Void> scanAllAsync(Collection<String> paths) {
+		return CompletableFuture.runAsync(() ->
+			paths.parallelStream()
+				.filter(p -> p != null && !p.isEmpty())
+				.distinct()
+				.forEach(this::resolve));
+	}
+
+	/**
+	 * Înregistrează un folder deja listat de apelant (ex: la importul în masă), fără o a doua listare.
+	 */
+	public Entry record(File dir, File[] files) {
+		Entry entry = fromListing(dir.lastModified(), files);
+		entries.put(dir.getAbsolutePath(), entry);
+		return entry;
+	}
+
+	/**
+	 * O singură listare a folderului, din care reținem prima copertă (JPG/PNG) și primul video (MP4).
+	 */
+	private static Entry scan(File dir, long modified) {
+		if (!dir.isDirectory()) return new Entry(modified, null, null);
+		return fromListing(modified, dir.listFiles());
+	}
+
+	private static Entry fromListing(long modified, File[] files) {
+		if (files == null) return new Entry(modified, null, null);
+
+		File cover = null;
+		File video = null;
+		for (File f: files) {
+			String name = f.getName().toLowerCase();
+			if (cover == null && (name.endsWith(".jpg") || name.endsWith(".png"))) {
+				cover = f;
+			} else if (video == null && name.endsWith(".mp4")) {
+				video = f;
+			}
+			if (cover != null && video != null) break;
+		}
+		return new Entry(modified, cover, video);
+	}
+}
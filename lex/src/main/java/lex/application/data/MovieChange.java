@@ -0,0 +1,22 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+
+/**
+ * O modificare a colecției care trebuie scrisă în jurnal (adăugare sau ștergere de film).
+ */
+public class MovieChange {
+
+	public enum Type { ADD, DELETE }
+
+	private final Type type;
+	private final Movie movie;
+
+	public MovieChange(Type type, Movie movie) {
+		this.type = type;
+		this.movie = movie;
+	}
+
+	public Type getType() { return type; }
+	public Movie getMovie() { return movie; }
+}
@@ -0,0 +1,81 @@
+package lex.application.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Criterii de căutare independente de stocare (produse din MovieQuery), pe care o stocare
+ * cu indexuri le poate evalua singură: condiții pe câmpuri, ordinea rezultatelor și o pagină.
+ */
+public class MovieCriteria {
+
+	public enum Field {
+		TITLE, DIRECTOR, CATEGORIES, YEAR, RATING, IMDB_ID,
+		// Textul liber: titlu, regizor, an sau categorii, ca SearchIndex
+		TEXT
+	}
+
+	public enum Operator {
+		// Subșir, fără diferențe de majuscule
+		CONTAINS,
+		// Unul dintre genurile separate prin virgulă, fără diferențe de majuscule
+		GENRE,
+		EQ, GT, GE, LT, LE,
+		// Interval închis; valoarea este int[] {de la, până la}
+		BETWEEN
+	}
+
+	public enum Order { INSERTION, TITLE, YEAR_DESC, RATING_DESC, DIRECTOR }
+
+	/**
+	 * O condiție elementară; toate condițiile criteriilor trebuie satisfăcute.
+	 */
+	public static class Condition {
+		private final Field field;
+		private final Operator operator;
+		private final Object value;
+		private final boolean negated;
+
+		Condition(Field field, Operator operator, Object value, boolean negated) {
+			this.field = field;
+			this.operator = operator;
+			this.value = value;
+			this.negated = negated;
+		}
+
+		public Field getField() { return field; }
+		public Operator getOperator() { return operator; }
+		public Object getValue() { return value; }
+		public boolean isNegated() { return negated; }
+	}
+
+	private final List<Condition> conditions = new ArrayList<>();
+	private Order order = Order.INSERTION;
+	private int offset;
+	private int limit = Integer.MAX_VALUE;
+
+	public MovieCriteria where(Field field, Operator operator, Object value, boolean negated) {
+		conditions.add(new Condition(field, operator, value, negated));
+		return this;
+	}
+
+	public MovieCriteria orderBy(Order order) {
+		this.order = order;
+		return this;
+	}
+
+	/**
+	 * Limitează rezultatul la filmele [offset, offset + limit) din ordinea cerută.
+	 */
+	public MovieCriteria page(int offset, int limit) {
+		this.offset = Math.max(0, offset);
+		this.limit = Math.max(0, limit);
+		return this;
+	}
+
+	public List<Condition> getConditions() { return Collections.unmodifiableList(conditions); }
+	public Order getOrder() { return order; }
+	public int getOffset() { return offset; }
+	public int getLimit() { return limit; }
+}
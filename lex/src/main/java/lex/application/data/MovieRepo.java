@@ -1,24 +1,110 @@
 package lex.application.data;
 
+import lex.application.metrics.CatalogIoEvent;
 import lex.application.model.Movie;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Stocarea implicită: un snapshot (text, binar, comprimat sau referințe la metadate comune) plus un jurnal de modificări, în CinemaManagerData/lex.
+ * Mai multe instanțe ale aplicației pot folosi aceleași fișiere: fiecare operație deține lock-ul
+ * movies_&lt;user&gt;.lock, iar modificările scrise de celelalte instanțe sunt citite incremental din jurnal.
+ */
+public class MovieRepo implements MovieStore {
 
-public class MovieRepo {
+	// Prefixele înregistrărilor din jurnal: adăugare / ștergere
+	private static final char JOURNAL_ADD = '+';
+	private static final char JOURNAL_DELETE = '-';
+
+	// Numărul de înregistrări din jurnal după care se cere compactarea
+	private static final int COMPACTION_THRESHOLD = 500;
+	// Pragul mai mic folosit cât timp utilizatorul nu lucrează cu colecția (vezi needsIdleCompaction)
+	private static final int IDLE_COMPACTION_THRESHOLD = 25;
 
 	private final String baseDir = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
 
 	private String filePath;
+	private String binaryPath;
+	private String compressedPath;
+	private String sharedPath;
+	private String journalPath;
+
+	// Formatele posibile ale snapshot-ului
+	private enum Format {
+		TEXT("text"), BINARY("binar"), COMPRESSED("comprimat"), SHARED("partajat");
+
+		private final String label;
+
+		Format(String label) {
+			this.label = label;
+		}
+	}
+
+	// Formatul snapshot-ului: text (implicit), binar, comprimat sau partajat între utilizatori (SharedCatalog),
+	// ales cu -Dlex.catalog.format=binary|compressed|shared
+	private final Format format = formatFromProperty();
+
+	// Colecția încărcată este ținută în memorie pe coloane (CompactCatalog); -Dlex.catalog.compact=false dezactivează
+	private final boolean compact = !"false".equalsIgnoreCase(System.getProperty("lex.catalog.compact"));
+
+	// Parser refolosit pentru liniile din jurnal (folosit doar sub lock-ul instanței)
+	private final CsvMovieParser lineParser = new CsvMovieParser();
+
+	// Câte înregistrări conține jurnalul în acest moment (folosit pentru pragul de compactare)
+	private volatile int journalEntries;
+	// Adevărat cât timp o compactare rulează în fundal, ca să nu pornim alta în paralel
+	private volatile boolean compacting;
+
+	// Coordonarea cu alte instanțe care folosesc aceleași fișiere
+	private final CatalogLock lock;
+	// Ștampila fișierelor la ultima citire/scriere a acestei instanțe (null înainte de prima încărcare)
+	private CatalogLock.Stamp known;
+	// Câți octeți din jurnal sunt deja incluși în starea acestei instanțe
+	private long journalOffset;
+	// Modificări scrise de alte instanțe, citite dar încă nelivrate prin pollExternalChanges()
+	private final List<MovieChange> external = new ArrayList<>();
+	// Jurnalul a fost compactat de altă instanță înainte să-l fi citit complet: e nevoie de o reîncărcare
+	private boolean reloadNeeded;
+	// Altă instanță a scris în fișiere în această sesiune, deci lista din memorie nu mai poate deveni snapshot
+	private boolean externalWriters;
+
+	// Un singur fir de fundal pentru compactare, ca să nu blocăm interfața
+	private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "movie-journal-compaction");
+		t.setDaemon(true);
+		return t;
+	});
 
 	public MovieRepo(String username) {
 		// Combină folderul de bază cu numele specific al fișierului utilizatorului
 		this.filePath = baseDir + File.separator + "movies_" + username + ".txt";
+		this.binaryPath = baseDir + File.separator + "movies_" + username + ".bin";
+		this.compressedPath = baseDir + File.separator + "movies_" + username + ".gz";
+		this.sharedPath = baseDir + File.separator + "movies_" + username + ".refs";
+		this.journalPath = baseDir + File.separator + "movies_" + username + ".journal";
+		this.lock = new CatalogLock(new File(baseDir + File.separator + "movies_" + username + ".lock"));
 
 		ensureDirectoryExists();
 	}
 
+	private static Format formatFromProperty() {
+		String name = System.getProperty("lex.catalog.format");
+		if ("binary".equalsIgnoreCase(name)) return Format.BINARY;
+		if ("compressed".equalsIgnoreCase(name)) return Format.COMPRESSED;
+		if ("shared".equalsIgnoreCase(name)) return Format.SHARED;
+		return Format.TEXT;
+	}
+
 	private void ensureDirectoryExists() {
 		File folder = new File(baseDir);
 
@@ -27,72 +113,728 @@ public class MovieRepo {
 		}
 	}
 
+	/**
+	 * Încarcă snapshot-ul de bază și aplică peste el modificările din jurnal,
+	 * în ordinea în care au fost scrise.
+	 */
 	public List<Movie> LoadAllMovies() {
-		List<Movie> movies = new ArrayList<>();
+		try {
+			return readAllMovies();
+		} catch (IOException e) {
+			System.err.println("Eroare la încărcarea filmelor: " + e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
+	@Override
+	public synchronized List<Movie> readAllMovies() throws IOException {
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.LOAD, filePath);
+		event.start();
+		List<Movie> movies = locked(held -> {
+			List<Movie> loaded = replayJournal(loadSnapshot());
+			known = held.stamp();
+			journalOffset = new File(journalPath).length();
+			external.clear();
+			reloadNeeded = false;
+			return loaded;
+		});
+		// Filmele din formatul partajat folosesc deja metadatele comune; copierea pe coloane ar anula partajarea
+		if (compact && format != Format.SHARED) movies = CompactCatalog.of(movies);
+		event.finish(movies.size(), snapshotFile().length() + new File(journalPath).length());
+		return movies;
+	}
+
+	private List<Movie> loadTextSnapshot() throws IOException {
 		File folder = new File("lex");
 		File file = new File(filePath); // Foloseste calea specifică utilizatorului
+
+		//Checkuri pentru folder si fisier
+		if (!folder.exists()) {
+			folder.mkdirs();
+		}
+
+
+		if (!file.exists()) {
+			file.createNewFile();
+			System.out.println("Info: Baza de date pentru utilizator a fost creată.");
+		}
+
+		//Citirea efectivă a datelor(filme), cu parserul CSV (paralel pentru fișiere mari)
+		CsvMovieParser.Result result = CsvMovieParser.parseFile(file);
+		for (String error: result.getErrors()) {
+			System.err.println("Linie ignorată în " + file.getName() + ", " + error);
+		}
+		return result.getMovies();
+	}
+
+	/**
+	 * Încarcă snapshot-ul în formatul curent. La prima pornire într-un format nou, snapshot-ul existent
+	 * (în oricare alt format) este convertit o singură dată și păstrat cu extensia .migrated.
+	 */
+	private List<Movie> loadSnapshot() throws IOException {
+		File snapshot = snapshotFile();
+		if (!snapshot.exists()) {
+			for (Format old: Format.values()) {
+				File previous = snapshotFile(old);
+				if (old != format && previous.exists()) return migrateSnapshot(old, previous);
+			}
+		}
+		if (format == Format.TEXT) return loadTextSnapshot();
+		if (!snapshot.exists()) return new ArrayList<>();
+		return readSnapshot(format, snapshot);
+	}
+
+	private static List<Movie> readSnapshot(Format format, File file) throws IOException {
+		List<String> errors = new ArrayList<>();
+		List<Movie> movies = readSnapshot(format, file, errors);
+		for (String error: errors) {
+			System.err.println("Linie ignorată în " + file.getName() + ", " + error);
+		}
+		return movies;
+	}
+
+	/**
+	 * O eroare de citire este propagată; dacă doar conversia eșuează, filmele citite sunt folosite în continuare
+	 * și conversia este reîncercată la următoarea încărcare.
+	 */
+	private List<Movie> migrateSnapshot(Format old, File previous) throws IOException {
+		List<Movie> movies = old == Format.TEXT ? loadTextSnapshot() : readSnapshot(old, previous);
+		try {
+			replaceSnapshot(movies);
+			if (!previous.renameTo(new File(previous.getPath() + ".migrated"))) {
+				System.err.println("Atenție: fișierul " + previous.getName() + " nu a putut fi redenumit după migrare.");
+			}
+			System.out.println("Info: Catalogul a fost migrat în format " + format.label + " (" + movies.size() + " filme).");
+		} catch (IOException e) {
+			System.err.println("Eroare la migrarea catalogului: " + e.getMessage());
+		}
+		return movies;
+	}
+
+	/**
+	 * @param errors Primește înregistrările ignorate (formatele text și partajat).
+	 */
+	private static List<Movie> readSnapshot(Format format, File file, List<String> errors) throws IOException {
+		switch (format) {
+			case BINARY: return BinaryCatalog.read(file);
+			case COMPRESSED: return CompressedCatalog.read(file);
+			case SHARED: return SharedCatalog.read(file, errors);
+			default:
+				CsvMovieParser.Result result = CsvMovieParser.parseFile(file);
+				errors.addAll(result.getErrors());
+				return result.getMovies();
+		}
+	}
+
+	private File snapshotFile() {
+		return snapshotFile(format);
+	}
+
+	private File snapshotFile(Format format) {
+		switch (format) {
+			case BINARY: return new File(binaryPath);
+			case COMPRESSED: return new File(compressedPath);
+			case SHARED: return new File(sharedPath);
+			default: return new File(filePath);
+		}
+	}
+
+	/**
+	 * Scrie snapshot-ul în formatul curent.
+	 */
+	private void writeSnapshot(List<Movie> movies, File target) throws IOException {
+		if (format == Format.BINARY) {
+			BinaryCatalog.write(movies, target);
+			return;
+		}
+		if (format == Format.COMPRESSED) {
+			CompressedCatalog.write(movies, target);
+			return;
+		}
+		if (format == Format.SHARED) {
+			SharedCatalog.write(movies, target);
+			return;
+		}
+		try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(target)))) {
+			for (Movie m: movies) {
+				// Salvarea toate cele 7 câmpuri separate prin virgulă
+				writer.println(toLine(m));
+			}
+			if (writer.checkError()) throw new IOException("Scrierea în " + target.getName() + " a eșuat.");
+		}
+	}
+
+	/**
+	 * Scrie snapshot-ul într-un fișier temporar și îl mută apoi peste cel vechi.
+	 */
+	private void replaceSnapshot(List<Movie> movies) throws IOException {
+		File file = snapshotFile();
+		File tmp = tempFileFor(file);
+		try {
+			writeSnapshot(movies, tmp);
+			if (!moveOver(tmp, file)) {
+				throw new IOException("snapshot-ul nu a putut fi înlocuit.");
+			}
+		} finally {
+			tmp.delete();
+		}
+	}
+
+	/**
+	 * Un fișier temporar nou, unic, lângă destinație (în același folder, ca mutarea să poată fi atomică).
+	 * Fiecare scriere are propriul fișier, deci o compactare din fundal și o salvare din altă instanță
+	 * nu pot scrie niciodată în același fișier temporar.
+	 */
+	private static File tempFileFor(File target) throws IOException {
+		return File.createTempFile(target.getName() + ".", ".tmp", target.getAbsoluteFile().getParentFile());
+	}
+
+	/**
+	 * Rescrie snapshot-ul și golește jurnalul ca o singură operație (vezi switchFiles). Apelat cu lock-ul deținut.
+	 */
+	private void replaceSnapshotAndJournal(List<Movie> movies) throws IOException {
+		File tmp = tempFileFor(snapshotFile());
+		try {
+			writeSnapshot(movies, tmp);
+			switchFiles(tmp, new byte[0]);
+		} finally {
+			tmp.delete();
+		}
+	}
+
+	/**
+	 * Înlocuiește împreună snapshot-ul și jurnalul, astfel încât o oprire bruscă să lase fie perechea veche,
+	 * fie pe cea nouă, niciodată un snapshot nou cu jurnalul vechi (înregistrări aplicate de două ori)
+	 * sau invers (înregistrări pierdute). Ambele fișiere noi sunt scrise complet lângă destinații, cu sufixul
+	 * .next; mutarea atomică a jurnalului nou în &lt;jurnal&gt;.next este punctul de decizie, după care
+	 * finishSwitch() duce înlocuirea la capăt, la nevoie chiar la următoarea operație a oricărei instanțe.
+	 * Apelat cu lock-ul deținut.
+	 * @param snapshotTmp Snapshot-ul nou, deja scris într-un fișier temporar.
+	 * @param journal Conținutul jurnalului nou.
+	 */
+	private void switchFiles(File snapshotTmp, byte[] journal) throws IOException {
+		File nextSnapshot = nextFile(snapshotFile());
+		if (!moveOver(snapshotTmp, nextSnapshot)) {
+			throw new IOException("snapshot-ul nu a putut fi înlocuit.");
+		}
+		File journalTmp = tempFileFor(new File(journalPath));
 		try {
-			//Checkuri pentru folder si fisier
-			if (!folder.exists()) {
-				folder.mkdirs();
+			try (FileOutputStream out = new FileOutputStream(journalTmp)) {
+				out.write(journal);
+			}
+			if (!moveOver(journalTmp, nextFile(new File(journalPath)))) {
+				nextSnapshot.delete();
+				throw new IOException("jurnalul nu a putut fi înlocuit.");
 			}
+		} finally {
+			journalTmp.delete();
+		}
+		finishSwitch();
+	}
 
-			
-			if (!file.exists()) {
-				file.createNewFile();
-				System.out.println("Info: Baza de date pentru utilizator a fost creată.");
-				return movies;
+	/**
+	 * Termină o înlocuire începută de switchFiles(), inclusiv una întreruptă de oprirea unei instanțe.
+	 * Fără &lt;jurnal&gt;.next, înlocuirea nu a ajuns la punctul de decizie și perechea veche rămâne validă.
+	 * Apelat cu lock-ul deținut.
+	 * @return true dacă fișierele au fost înlocuite.
+	 */
+	private boolean finishSwitch() throws IOException {
+		File journal = new File(journalPath);
+		File nextJournal = nextFile(journal);
+		// Verificăm toate formatele, ca o instanță pornită cu alt format să nu amestece fișierele
+		for (Format any: Format.values()) {
+			File nextSnapshot = nextFile(snapshotFile(any));
+			if (!nextSnapshot.exists()) continue;
+			if (!nextJournal.exists()) {
+				nextSnapshot.delete();
+			} else if (!moveOver(nextSnapshot, snapshotFile(any))) {
+				throw new IOException("snapshot-ul nu a putut fi înlocuit.");
 			}
+		}
+		if (!nextJournal.exists()) return false;
+		if (!moveOver(nextJournal, journal)) {
+			throw new IOException("jurnalul nu a putut fi înlocuit.");
+		}
+		return true;
+	}
 
-			//Citirea efectivă a datelor(filme)
-			try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-				String line;
+	private static File nextFile(File file) {
+		return new File(file.getPath() + ".next");
+	}
 
-				while ((line = reader.readLine()) != null) {
-					if (line.trim().isEmpty()) continue;
-					String[] parts = line.split(",");
-
-					if (parts.length == 7) {
-						movies.add(new Movie(
-							parts[0].trim(), parts[1].trim(),
-							Integer.parseInt(parts[2].trim()), parts[3].trim(),
-							parts[4].trim(), Double.parseDouble(parts[5].trim()),
-							parts[6].trim()
-						));
+	/**
+	 * Execută operația cu lock-ul catalogului, după ce termină o eventuală înlocuire întreruptă a fișierelor.
+	 */
+	private <T> T locked(CatalogLock.Action<T> action) throws IOException {
+		return lock.locked(held -> {
+			if (finishSwitch()) {
+				// Instanța care a început înlocuirea s-a oprit înainte de a actualiza ștampila: celelalte reîncarcă tot
+				held.update(held.stamp().nextGeneration(Long.MAX_VALUE));
+			}
+			return action.run(held);
+		});
+	}
+
+	/**
+	 * Înlocuiește destinația cu fișierul temporar printr-o mutare atomică, deci un cititor (sau o oprire bruscă)
+	 * vede fie snapshot-ul vechi, fie pe cel nou complet. Dacă sistemul de fișiere nu permite mutarea atomică,
+	 * sau pe Windows un catalog binar mapat în memorie nu poate fi înlocuit până când maparea nu este
+	 * eliberată de GC, ștergem destinația și reîncercăm o dată după System.gc().
+	 */
+	private static boolean moveOver(File tmp, File target) {
+		try {
+			Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			// Continuăm cu varianta neatomică
+		}
+		if (target.exists() && !target.delete()) {
+			System.gc();
+			if (!target.delete()) return false;
+		}
+		return tmp.renameTo(target);
+	}
+
+	/**
+	 * Aplică înregistrările din jurnal peste lista încărcată din snapshot.
+	 * Ștergerile sunt rezolvate prin căutarea primei apariții a aceleiași linii, fără scanare liniară.
+	 */
+	private synchronized List<Movie> replayJournal(List<Movie> base) throws IOException {
+		File journal = new File(journalPath);
+		journalEntries = 0;
+		if (journal.length() == 0) return base;
+
+		List<Movie> movies = new ArrayList<>(base);
+		// Indexul linie -> poziții este construit abia la prima ștergere, nu la fiecare pornire
+		Map<String, ArrayDeque<Integer>> positions = null;
+		boolean[] removed = new boolean[0];
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.length() < 2) continue;
+				char op = line.charAt(0);
+				String record = line.substring(1);
+				journalEntries++;
+
+				if (op == JOURNAL_ADD) {
+					Movie movie = parseLine(record);
+					if (movie == null) continue;
+					if (positions != null) {
+						positions.computeIfAbsent(toLine(movie), k -> new ArrayDeque<>()).add(movies.size());
+					}
+					movies.add(movie);
+				} else if (op == JOURNAL_DELETE) {
+					Movie movie = parseLine(record);
+					if (movie == null) continue;
+					if (positions == null) {
+						positions = new HashMap<>();
+						for (int i = 0; i < movies.size(); i++) {
+							positions.computeIfAbsent(toLine(movies.get(i)), k -> new ArrayDeque<>()).add(i);
+						}
 					}
+					ArrayDeque<Integer> slots = positions.get(toLine(movie));
+					if (slots == null || slots.isEmpty()) continue;
+					if (removed.length < movies.size()) {
+						removed = java.util.Arrays.copyOf(removed, movies.size());
+					}
+					removed[slots.poll()] = true;
 				}
 			}
-		} catch (IOException | NumberFormatException e) {
-			System.err.println("Eroare la încărcarea filmelor: " + e.getMessage());
 		}
 
-		return movies;
+		List<Movie> result = new ArrayList<>(movies.size());
+		for (int i = 0; i < movies.size(); i++) {
+			if (i >= removed.length || !removed[i]) result.add(movies.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Scrie un lot de modificări în jurnal cu o singură deschidere a fișierului, păstrând ordinea lor.
+	 * Dacă scrierea eșuează, jurnalul este readus la lungimea dinainte, deci lotul poate fi reîncercat
+	 * fără înregistrări duplicate.
+	 */
+	public synchronized void appendChanges(List<MovieChange> changes) throws IOException {
+		if (changes.isEmpty()) return;
+
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.JOURNAL, journalPath);
+		event.start();
+		long written = locked(held -> {
+			// Întâi preluăm ce au scris alte instanțe, ca offset-ul nostru să rămână la zi
+			catchUp(held.stamp());
+			long before = new File(journalPath).length();
+			try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(journalPath, true)))) {
+				for (MovieChange change: changes) {
+					char op = change.getType() == MovieChange.Type.ADD ? JOURNAL_ADD : JOURNAL_DELETE;
+					writer.println(op + toLine(change.getMovie()));
+				}
+				if (writer.checkError()) throw new IOException("Scrierea în " + new File(journalPath).getName() + " a eșuat.");
+			} catch (IOException e) {
+				truncateJournal(before);
+				throw e;
+			}
+			journalEntries += changes.size();
+			journalOffset = new File(journalPath).length();
+			known = held.update(held.stamp().next());
+			return journalOffset - before;
+		});
+		event.finish(changes.size(), written);
+	}
+
+	/**
+	 * Elimină o scriere parțială de la sfârșitul jurnalului (apelat cu lock-ul deținut).
+	 */
+	private void truncateJournal(long length) {
+		try (RandomAccessFile journal = new RandomAccessFile(journalPath, "rw")) {
+			if (journal.length() > length) journal.setLength(length);
+		} catch (IOException e) {
+			System.err.println("Eroare la scrierea în jurnal: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Aduce starea acestei instanțe la ștampila curentă (apelat cu lock-ul deținut).
+	 * Se citesc doar înregistrările noi din jurnal; dacă altă instanță a compactat jurnalul peste
+	 * înregistrări pe care nu le citisem, se cere o reîncărcare completă.
+	 */
+	private void catchUp(CatalogLock.Stamp current) throws IOException {
+		File journal = new File(journalPath);
+		if (known == null) {
+			// Colecția nu a fost încărcată de această instanță, deci nu avem ce îmbina
+			known = current;
+			journalOffset = journal.length();
+			return;
+		}
+		if (current.sameAs(known)) return;
+
+		externalWriters = true;
+		if (current.generation != known.generation) {
+			boolean alreadyRead = current.generation == known.generation + 1 && journalOffset >= current.dropped;
+			if (!alreadyRead || journalOffset - current.dropped > journal.length()) {
+				reloadNeeded = true;
+				external.clear();
+				known = current;
+				journalOffset = journal.length();
+				journalEntries = countJournalEntries(0);
+				return;
+			}
+			// Octeții eliminați erau deja citiți: continuăm din același punct al jurnalului scurtat
+			journalOffset -= current.dropped;
+			journalEntries = countJournalEntries(0);
+		}
+
+		try (FileInputStream in = new FileInputStream(journal)) {
+			in.skip(journalOffset);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.length() < 2) continue;
+				char op = line.charAt(0);
+				Movie movie = parseLine(line.substring(1));
+				if (movie == null) continue;
+				if (op == JOURNAL_ADD) {
+					external.add(new MovieChange(MovieChange.Type.ADD, movie));
+				} else if (op == JOURNAL_DELETE) {
+					external.add(new MovieChange(MovieChange.Type.DELETE, movie));
+				}
+				if (current.generation == known.generation) journalEntries++;
+			}
+		} catch (FileNotFoundException e) {
+			// Jurnalul nu există încă
+		}
+		journalOffset = journal.length();
+		known = current;
+	}
+
+	private int countJournalEntries(long from) throws IOException {
+		int entries = 0;
+		try (FileInputStream in = new FileInputStream(journalPath)) {
+			in.skip(from);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.length() >= 2) entries++;
+			}
+		} catch (FileNotFoundException e) {
+			return 0;
+		}
+		return entries;
+	}
+
+	/**
+	 * Modificările scrise în jurnal de alte instanțe de la ultima citire, în ordinea în care au fost scrise.
+	 * @return Lista modificărilor (poate fi goală) sau null dacă starea trebuie reîncărcată cu LoadAllMovies().
+	 */
+	@Override
+	public synchronized List<MovieChange> pollExternalChanges() {
+		if (known == null) return Collections.emptyList();
+		try {
+			locked(held -> {
+				catchUp(held.stamp());
+				return null;
+			});
+		} catch (IOException e) {
+			System.err.println("Eroare la citirea modificărilor externe: " + e.getMessage());
+			return Collections.emptyList();
+		}
+		if (reloadNeeded) {
+			reloadNeeded = false;
+			return null;
+		}
+		List<MovieChange> changes = new ArrayList<>(external);
+		external.clear();
+		return changes;
+	}
+
+	/**
+	 * Indică dacă jurnalul a depășit pragul și merită rescris într-un snapshot nou.
+	 */
+	public boolean needsCompaction() {
+		return !compacting && journalEntries >= COMPACTION_THRESHOLD;
+	}
+
+	/**
+	 * Indică dacă jurnalul conține destule înregistrări ca să merite rescris cât timp utilizatorul nu lucrează
+	 * cu colecția: snapshot-ul la zi face următoarea pornire mai rapidă, iar compactarea nu concurează cu editarea.
+	 */
+	@Override
+	public boolean needsIdleCompaction() {
+		return !compacting && journalEntries >= IDLE_COMPACTION_THRESHOLD;
+	}
+
+	/**
+	 * Rescrie snapshot-ul pe un fir de fundal și golește jurnalul.
+	 * Înregistrările adăugate în jurnal după momentul apelului sunt păstrate.
+	 * Dacă în sesiune au scris și alte instanțe, lista din memorie poate să nu includă încă modificările lor,
+	 * așa că snapshot-ul este reconstruit din fișiere, cu lock-ul deținut.
+	 * @param snapshot Copia listei curente de filme (starea care include tot jurnalul de până acum).
+	 */
+	public void compactInBackground(List<Movie> snapshot) {
+		List<Movie> copy = new ArrayList<>(snapshot);
+		long[] mark = new long[1];
+		long[] generation = new long[1];
+		boolean fromMemory;
+		synchronized (this) {
+			try {
+				locked(held -> {
+					catchUp(held.stamp());
+					mark[0] = new File(journalPath).length();
+					generation[0] = held.stamp().generation;
+					return null;
+				});
+			} catch (IOException e) {
+				System.err.println("Eroare la compactare: " + e.getMessage());
+				return;
+			}
+			fromMemory = !externalWriters;
+			compacting = true;
+		}
+		compactionExecutor.submit(() -> {
+			try {
+				if (fromMemory) {
+					compact(copy, mark[0], generation[0]);
+				} else {
+					rebuild();
+				}
+			} finally {
+				compacting = false;
+			}
+		});
+	}
+
+	private void compact(List<Movie> snapshot, long journalMark, long generation) {
+		File tmp;
+		try {
+			tmp = tempFileFor(snapshotFile());
+		} catch (IOException e) {
+			System.err.println("Eroare la compactare: " + e.getMessage());
+			return;
+		}
+		try {
+			compact(snapshot, journalMark, generation, tmp);
+		} finally {
+			// După o mutare reușită fișierul nu mai există; altfel nu lăsăm resturi în folder
+			tmp.delete();
+		}
 	}
 
-	public void saveMovies(List<Movie> movies) {
-		
+	private void compact(List<Movie> snapshot, long journalMark, long generation, File tmp) {
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.COMPACT, tmp.getPath());
+		event.start();
+		try {
+			writeSnapshot(snapshot, tmp);
+		} catch (IOException e) {
+			System.err.println("Eroare la compactare: " + e.getMessage());
+			return;
+		}
+		event.finish(snapshot.size(), tmp.length());
+
+		synchronized (this) {
+			try {
+				locked(held -> {
+					catchUp(held.stamp());
+					if (held.stamp().generation != generation) {
+						// Altă instanță a compactat între timp; snapshot-ul nostru nu mai corespunde jurnalului
+						return null;
+					}
+
+					// Păstrăm exact octeții scriși în jurnal după ce a fost luat snapshot-ul
+					File journal = new File(journalPath);
+					byte[] tail = new byte[0];
+					if (journal.exists()) {
+						try (RandomAccessFile in = new RandomAccessFile(journal, "r")) {
+							tail = new byte[(int) Math.max(0, in.length() - journalMark)];
+							in.seek(journalMark);
+							in.readFully(tail);
+						}
+					}
+
+					switchFiles(tmp, tail);
+					journalEntries = countJournalEntries(0);
+					journalOffset -= journalMark;
+					known = held.update(held.stamp().nextGeneration(journalMark));
+					return null;
+				});
+			} catch (IOException e) {
+				System.err.println("Eroare la compactare: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Compactare din fișiere: snapshot-ul și jurnalul sunt recitite și rescrise împreună, cu lock-ul deținut,
+	 * deci rezultatul include și modificările celorlalte instanțe.
+	 */
+	private synchronized void rebuild() {
+		try {
+			locked(held -> {
+				catchUp(held.stamp());
+				if (reloadNeeded) return null;
+				List<Movie> movies = replayJournal(loadSnapshot());
+				CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.COMPACT, snapshotFile().getPath());
+				event.start();
+				long dropped = new File(journalPath).length();
+				replaceSnapshotAndJournal(movies);
+				event.finish(movies.size(), snapshotFile().length());
+				journalEntries = 0;
+				journalOffset = 0;
+				known = held.update(held.stamp().nextGeneration(dropped));
+				return null;
+			});
+		} catch (IOException e) {
+			System.err.println("Eroare la compactare: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Înlocuiește colecția salvată. Scrierea este optimistă: dacă altă instanță a modificat fișierele
+	 * după ultima încărcare a acestei instanțe, lista primită poate fi depășită și nu este salvată.
+	 * @return true dacă datele au fost salvate.
+	 */
+	public synchronized boolean saveMovies(List<Movie> movies) {
+
 		File folder = new File("lex");
 
 		if (!folder.exists()) {
 			folder.mkdirs();
 		}
 
-		try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
-			for (Movie m: movies) {
-				// Salvarea toate cele 7 câmpuri separate prin virgulă
-				writer.println(m.getTitle() + "," +
-					m.getDirector() + "," +
-					m.getYear() + "," +
-					m.getMoviePath() + "," +
-					m.getCategories() + "," +
-					m.getRating() + "," +
-					m.getImdbId());
+		CatalogIoEvent event = new CatalogIoEvent(CatalogIoEvent.SAVE, snapshotFile().getPath());
+		event.start();
+		try {
+			return locked(held -> {
+				CatalogLock.Stamp stamp = held.stamp();
+				if (known != null && !stamp.sameAs(known)) {
+					System.err.println("Eroare la salvare: catalogul a fost modificat de altă instanță; reîncărcați-l înainte de a salva.");
+					return false;
+				}
+				// Fără o încărcare anterioară, celelalte instanțe nu pot continua din jurnal și vor reîncărca totul
+				long dropped = known == null ? Long.MAX_VALUE : new File(journalPath).length();
 
-			}
+				// Snapshot-ul complet include deja tot ce era în jurnal, deci îl înlocuim împreună cu un jurnal gol
+				replaceSnapshotAndJournal(movies);
+				event.finish(movies.size(), snapshotFile().length());
+
+				journalEntries = 0;
+				journalOffset = 0;
+				known = held.update(stamp.nextGeneration(dropped));
 
-			System.out.println("Datele au fost salvate permanent.");
+				System.out.println("Datele au fost salvate permanent.");
+				return true;
+			});
 		} catch (IOException e) {
 			System.err.println("Eroare la salvare: " + e.getMessage());
+			return false;
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Verifică snapshot-ul și jurnalul fără a le modifica.
+	 * @return Lista problemelor găsite (goală dacă fișierele sunt valide).
+	 */
+	public synchronized List<String> verify() {
+		try {
+			return lock.locked(held -> verifyFiles());
+		} catch (IOException e) {
+			return List.of(e.getMessage());
+		}
+	}
+
+	private List<String> verifyFiles() {
+		List<String> problems = new ArrayList<>();
+		File snapshot = snapshotFile();
+		if (snapshot.exists()) {
+			try {
+				List<String> errors = new ArrayList<>();
+				readSnapshot(format, snapshot, errors);
+				for (String error: errors) {
+					problems.add(snapshot.getName() + ", " + error);
+				}
+			} catch (IOException | RuntimeException e) {
+				problems.add(snapshot.getName() + ": nu poate fi citit (" + e.getMessage() + ")");
+			}
+		}
+
+		File journal = new File(journalPath);
+		if (journal.exists()) {
+			try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+				String line;
+				int number = 0;
+				while ((line = reader.readLine()) != null) {
+					number++;
+					if (line.isEmpty()) continue;
+					char op = line.charAt(0);
+					if (op != JOURNAL_ADD && op != JOURNAL_DELETE) {
+						problems.add(journal.getName() + ", linia " + number + ": operație necunoscută '" + op + "'");
+					} else if (parseLine(line.substring(1)) == null) {
+						problems.add(journal.getName() + ", linia " + number + ": înregistrare invalidă");
+					}
+				}
+			} catch (IOException e) {
+				problems.add(journal.getName() + ": nu poate fi citit (" + e.getMessage() + ")");
+			}
+		}
+		return problems;
+	}
+
+	/**
+	 * Așteaptă terminarea unei compactări în curs, ca fișierele să nu rămână pe jumătate rescrise la ieșire.
+	 */
+	public void close() {
+		compactionExecutor.shutdown();
+		try {
+			compactionExecutor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String toLine(Movie m) {
+		return CsvMovieParser.format(m);
+	}
+
+	private Movie parseLine(String line) {
+		return lineParser.parseLine(line);
+	}
+}
@@ -0,0 +1,90 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stocarea permanentă a colecției unui utilizator. Implementarea este aleasă de Storage:
+ * fișiere text/binare cu jurnal (MovieRepo, implicit) sau baza de date H2 încorporată (H2MovieStore).
+ */
+public interface MovieStore {
+
+	/**
+	 * Încarcă întreaga colecție, în ordinea adăugării.
+	 */
+	List<Movie> LoadAllMovies();
+
+	/**
+	 * Ca LoadAllMovies(), dar o eroare de citire este semnalată în loc să întoarcă o colecție goală
+	 * (pentru operațiile care scriu rezultatul în altă parte, ex: migrarea între stocări).
+	 */
+	List<Movie> readAllMovies() throws IOException;
+
+	/**
+	 * Scrie un lot de adăugări/ștergeri, păstrând ordinea lor.
+	 * @throws IOException dacă lotul nu a fost scris; nimic din el nu rămâne salvat, deci poate fi reîncercat.
+	 */
+	void appendChanges(List<MovieChange> changes) throws IOException;
+
+	default void appendAdd(Movie movie) throws IOException {
+		appendChanges(List.of(new MovieChange(MovieChange.Type.ADD, movie)));
+	}
+
+	default void appendDelete(Movie movie) throws IOException {
+		appendChanges(List.of(new MovieChange(MovieChange.Type.DELETE, movie)));
+	}
+
+	/**
+	 * Indică dacă modificările acumulate merită comasate într-un snapshot nou.
+	 */
+	boolean needsCompaction();
+
+	/**
+	 * Indică dacă merită comasarea cât timp utilizatorul nu modifică colecția (prag mai mic decât needsCompaction).
+	 */
+	default boolean needsIdleCompaction() {
+		return false;
+	}
+
+	/**
+	 * Comasează modificările acumulate pe un fir de fundal.
+	 * @param snapshot Copia listei curente de filme.
+	 */
+	void compactInBackground(List<Movie> snapshot);
+
+	/**
+	 * Înlocuiește întreaga colecție salvată.
+	 * @return true dacă a fost salvată (false la eroare sau dacă altă instanță a modificat-o între timp).
+	 */
+	boolean saveMovies(List<Movie> movies);
+
+	/**
+	 * Modificările făcute de alte instanțe ale aplicației de la ultima încărcare sau verificare.
+	 * @return Lista modificărilor (poate fi goală) sau null dacă colecția trebuie reîncărcată complet.
+	 */
+	default List<MovieChange> pollExternalChanges() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Verifică datele salvate fără a le modifica.
+	 * @return Lista problemelor găsite (goală dacă datele sunt valide).
+	 */
+	List<String> verify();
+
+	/**
+	 * Execută interogarea direct în stocare (filtrare, sortare și paginare), fără a încărca toată colecția.
+	 * @return Filmele găsite sau null dacă stocarea nu poate evalua singură criteriile.
+	 * @throws IOException dacă stocarea poate evalua criteriile, dar interogarea a eșuat.
+	 */
+	default List<Movie> find(MovieCriteria criteria) throws IOException {
+		return null;
+	}
+
+	/**
+	 * Eliberează resursele (fire de fundal, conexiuni). Apelat la ieșire sau la logout.
+	 */
+	void close();
+}
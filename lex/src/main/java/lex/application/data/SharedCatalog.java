@@ -0,0 +1,82 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Colecția unui utilizator ca listă de referințe către metadatele comune (SharedMetadata).
+ *
+ * Fiecare linie are forma "cheie TAB rating TAB cale": titlul, regizorul, anul, genurile și ID-ul IMDB
+ * sunt păstrate o singură dată pentru toți utilizatorii, iar aici rămân doar câmpurile proprii.
+ */
+public class SharedCatalog {
+
+	private SharedCatalog() {}
+
+	/**
+	 * Citește referințele și le leagă de metadatele comune.
+	 * @param errors Primește liniile ignorate (format greșit sau cheie inexistentă în metadatele comune).
+	 */
+	public static List<Movie> read(File file, List<String> errors) throws IOException {
+		List<String> keys = new ArrayList<>();
+		List<String[]> rows = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+			String line;
+			int number = 0;
+			while ((line = reader.readLine()) != null) {
+				number++;
+				if (line.isEmpty()) continue;
+				String[] fields = line.split("\t", 3);
+				if (fields.length != 3) {
+					errors.add("linia " + number + ": referință invalidă");
+					continue;
+				}
+				keys.add(fields[0]);
+				rows.add(fields);
+			}
+		}
+
+		Map<String, SharedMetadata.Metadata> found = SharedMetadata.get().resolve(keys);
+		List<Movie> movies = new ArrayList<>(rows.size());
+		for (String[] fields: rows) {
+			SharedMetadata.Metadata metadata = found.get(fields[0]);
+			if (metadata == null) {
+				errors.add("cheia " + fields[0] + " nu există în metadatele comune");
+				continue;
+			}
+			double rating;
+			try {
+				rating = Double.parseDouble(fields[1]);
+			} catch (NumberFormatException e) {
+				errors.add("cheia " + fields[0] + ": rating invalid");
+				continue;
+			}
+			movies.add(new SharedMetadata.SharedMovie(metadata, fields[2], rating));
+		}
+		return movies;
+	}
+
+	/**
+	 * Adaugă în metadatele comune filmele care lipsesc și scrie referințele în fișierul dat
+	 * (apelantul se ocupă de înlocuirea atomică a snapshot-ului).
+	 */
+	public static void write(List<Movie> movies, File file) throws IOException {
+		List<SharedMetadata.Metadata> metadata = SharedMetadata.get().intern(movies);
+		try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+			for (int i = 0; i < movies.size(); i++) {
+				Movie m = movies.get(i);
+				String path = m.getMoviePath();
+				path = path == null ? "" : path.replace('\n', ' ').replace('\r', ' ');
+				writer.print(metadata.get(i).getKey());
+				writer.print('\t');
+				writer.print(m.getRating());
+				writer.print('\t');
+				writer.println(path);
+			}
+			if (writer.checkError()) throw new IOException("Scrierea în " + file.getName() + " a eșuat.");
+		}
+	}
+}
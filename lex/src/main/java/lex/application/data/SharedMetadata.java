@@ -0,0 +1,213 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Metadatele filmelor comune tuturor utilizatorilor de pe calculator (shared_metadata.txt în CinemaManagerData/lex).
+ *
+ * Fiecare înregistrare are o cheie derivată din conținut: ID-ul IMDB sau, fără el, un hash din titlu și an.
+ * Dacă sub aceeași cheie există deja alte metadate (ex: un utilizator a corectat genul), se adaugă hash-ul
+ * întregului conținut, deci o cheie identifică mereu exact aceleași date. Fișierul este doar extins
+ * (o linie "cheie TAB film CSV" pe înregistrare), sub lock-ul shared_metadata.lock, ca mai multe instanțe
+ * să-l poată folosi simultan. Colecțiile utilizatorilor păstrează doar cheia, rating-ul și calea (SharedCatalog).
+ *
+ * În aplicație există o singură instanță, deci utilizatorii care se autentifică pe rând (sau comenzile
+ * rulate pentru mai mulți utilizatori) folosesc aceleași obiecte Metadata.
+ */
+public final class SharedMetadata {
+
+	private static final String BASE_DIR = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
+
+	private static SharedMetadata instance;
+
+	private final File file = new File(BASE_DIR, "shared_metadata.txt");
+	private final CatalogLock lock = new CatalogLock(new File(BASE_DIR, "shared_metadata.lock"));
+	private final CsvMovieParser parser = new CsvMovieParser();
+
+	private final Map<String, Metadata> byKey = new HashMap<>();
+	// Câți octeți din fișier sunt deja în byKey; restul a fost adăugat de alte instanțe
+	private long offset;
+
+	/**
+	 * Datele comune ale unui film. Imutabile, deci pot fi folosite de mai multe colecții deodată.
+	 */
+	public static final class Metadata {
+		private final String key;
+		private final String title;
+		private final String director;
+		private final int year;
+		private final String categories;
+		private final String imdbId;
+
+		private Metadata(String key, Movie m) {
+			// Ca în fișierele text, un câmp lipsă (null) este citit înapoi ca șir gol
+			this.key = key;
+			this.title = orEmpty(m.getTitle());
+			this.director = orEmpty(m.getDirector());
+			this.year = m.getYear();
+			this.categories = orEmpty(m.getCategories());
+			this.imdbId = orEmpty(m.getImdbId());
+		}
+
+		public String getKey() { return key; }
+
+		private boolean sameAs(Movie m) {
+			return year == m.getYear() && title.equals(orEmpty(m.getTitle())) && director.equals(orEmpty(m.getDirector()))
+				&& categories.equals(orEmpty(m.getCategories())) && imdbId.equals(orEmpty(m.getImdbId()));
+		}
+
+		private static String orEmpty(String value) {
+			return value == null ? "" : value;
+		}
+	}
+
+	/**
+	 * Filmul unui utilizator: metadate comune plus câmpurile proprii (rating și cale).
+	 */
+	static final class SharedMovie implements Movie {
+		private final Metadata metadata;
+		private final String moviePath;
+		private final double rating;
+
+		SharedMovie(Metadata metadata, String moviePath, double rating) {
+			this.metadata = metadata;
+			this.moviePath = moviePath;
+			this.rating = rating;
+		}
+
+		@Override public String getTitle() { return metadata.title; }
+		@Override public String getDirector() { return metadata.director; }
+		@Override public int getYear() { return metadata.year; }
+		@Override public String getMoviePath() { return moviePath; }
+		@Override public String getCategories() { return metadata.categories; }
+		@Override public double getRating() { return rating; }
+		@Override public String getImdbId() { return metadata.imdbId; }
+	}
+
+	private SharedMetadata() {
+		File folder = new File(BASE_DIR);
+		if (!folder.exists()) folder.mkdirs();
+	}
+
+	public static synchronized SharedMetadata get() {
+		if (instance == null) instance = new SharedMetadata();
+		return instance;
+	}
+
+	/**
+	 * Caută metadatele pentru cheile date.
+	 * @return Harta cheie -> metadate; cheile necunoscute lipsesc din hartă.
+	 */
+	public synchronized Map<String, Metadata> resolve(List<String> keys) throws IOException {
+		lock.locked(held -> {
+			catchUp();
+			return null;
+		});
+		Map<String, Metadata> found = new HashMap<>();
+		for (String key: keys) {
+			Metadata metadata = byKey.get(key);
+			if (metadata != null) found.put(key, metadata);
+		}
+		return found;
+	}
+
+	/**
+	 * Găsește sau adaugă metadatele fiecărui film, în ordinea listei. Înregistrările noi sunt scrise
+	 * într-o singură adăugare la fișier.
+	 */
+	public synchronized List<Metadata> intern(List<Movie> movies) throws IOException {
+		return lock.locked(held -> {
+			catchUp();
+			List<Metadata> result = new ArrayList<>(movies.size());
+			StringBuilder added = new StringBuilder();
+			for (Movie m: movies) {
+				if (m instanceof SharedMovie && byKey.get(((SharedMovie) m).metadata.key) == ((SharedMovie) m).metadata) {
+					result.add(((SharedMovie) m).metadata);
+					continue;
+				}
+				String key = primaryKey(m);
+				Metadata existing = byKey.get(key);
+				if (existing != null && !existing.sameAs(m)) {
+					key = key + "~" + digest(metadataLine(m));
+					existing = byKey.get(key);
+				}
+				if (existing == null) {
+					existing = new Metadata(key, m);
+					byKey.put(key, existing);
+					added.append(key).append('\t').append(metadataLine(m)).append(System.lineSeparator());
+				}
+				result.add(existing);
+			}
+			if (added.length() > 0) {
+				try (Writer writer = new BufferedWriter(new FileWriter(file, true))) {
+					writer.write(added.toString());
+				}
+				offset = file.length();
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Citește înregistrările adăugate de la ultima citire (apelat cu lock-ul deținut).
+	 */
+	private void catchUp() throws IOException {
+		if (!file.exists() || file.length() == offset) return;
+		if (file.length() < offset) {
+			// Fișierul a fost înlocuit (ex: restaurat dintr-o copie): îl recitim complet
+			offset = 0;
+		}
+		try (FileInputStream in = new FileInputStream(file)) {
+			in.skip(offset);
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int tab = line.indexOf('\t');
+				if (tab <= 0) continue;
+				String key = line.substring(0, tab);
+				Movie movie = parser.parseLine(line.substring(tab + 1));
+				if (movie != null && !byKey.containsKey(key)) byKey.put(key, new Metadata(key, movie));
+			}
+		}
+		offset = file.length();
+	}
+
+	/**
+	 * Cheia de bază: ID-ul IMDB dacă există, altfel un hash din titlu (fără majuscule) și an.
+	 */
+	private static String primaryKey(Movie m) {
+		String imdb = m.getImdbId();
+		if (imdb != null && !imdb.isEmpty() && imdb.chars().allMatch(Character::isLetterOrDigit)) {
+			return imdb;
+		}
+		String title = m.getTitle() == null ? "" : m.getTitle().trim().toLowerCase(Locale.ROOT);
+		return "h" + digest(title + "\n" + m.getYear());
+	}
+
+	// Doar câmpurile comune; calea și rating-ul aparțin utilizatorului
+	private static String metadataLine(Movie m) {
+		return CsvMovieParser.format(Movie.of(m.getTitle(), m.getDirector(), m.getYear(), "", m.getCategories(), 0, m.getImdbId()));
+	}
+
+	private static String digest(String text) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(16);
+			for (int i = 0; i < 8; i++) {
+				hex.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // SHA-256 este disponibil în orice JRE
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package lex.application.data;
+
+/**
+ * Tipul de stocare folosit de aplicație, ales cu -Dlex.storage=h2 (implicit: fișiere).
+ */
+public enum Storage {
+	FILE, H2;
+
+	public static Storage current() {
+		return "h2".equalsIgnoreCase(System.getProperty("lex.storage")) ? H2 : FILE;
+	}
+
+	/**
+	 * Interpretează numele dat în linia de comandă ("file" sau "h2").
+	 * @throws IllegalArgumentException pentru un nume necunoscut.
+	 */
+	public static Storage parse(String name) {
+		return valueOf(name.trim().toUpperCase());
+	}
+
+	public MovieStore movies(String username) {
+		return this == H2 ? new H2MovieStore(username) : new MovieRepo(username);
+	}
+
+	public UserStore users() {
+		return this == H2 ? new H2UserStore() : new UserRepo();
+	}
+}
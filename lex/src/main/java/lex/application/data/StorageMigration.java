@@ -0,0 +1,63 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import lex.application.model.User;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Copiază colecția și contul unui utilizator dintr-un tip de stocare în altul (fișiere &lt;-&gt; H2).
+ * Datele sursă nu sunt modificate; colecția din destinație este înlocuită. O sursă care nu poate fi
+ * citită oprește migrarea, iar o sursă goală nu golește o destinație care are filme decât cu force.
+ */
+public class StorageMigration {
+
+	private StorageMigration() {}
+
+	/**
+	 * @param force Permite înlocuirea unei colecții existente în destinație cu o sursă goală.
+	 * @return Numărul de filme copiate.
+	 * @throws IOException dacă sursa nu poate fi citită, dacă sursa este goală iar destinația nu (fără force)
+	 *                     sau dacă destinația nu conține, după copiere, toate filmele din sursă.
+	 */
+	public static int migrate(String username, Storage from, Storage to, boolean force) throws IOException {
+		MovieStore source = from.movies(username);
+		MovieStore target = to.movies(username);
+		try {
+			List<Movie> movies = source.readAllMovies();
+			if (movies.isEmpty() && !force) {
+				int existing = target.readAllMovies().size();
+				if (existing > 0) {
+					throw new IOException("sursa nu conține filme, iar destinația are " + existing
+						+ "; folosiți --force pentru a o goli.");
+				}
+			}
+			if (!target.saveMovies(movies)) {
+				throw new IOException("colecția nu a putut fi scrisă în destinație.");
+			}
+
+			// Stocările raportează erorile de scriere doar în consolă, așa că verificăm recitind destinația
+			int copied = target.readAllMovies().size();
+			if (copied != movies.size()) {
+				throw new IOException("destinația conține " + copied + " din " + movies.size() + " filme.");
+			}
+
+			migrateUser(username, from.users(), to.users());
+			return copied;
+		} finally {
+			source.close();
+			target.close();
+		}
+	}
+
+	private static void migrateUser(String username, UserStore from, UserStore to) {
+		boolean exists = to.loadAllUsers().stream().anyMatch(u -> u.getUsername().equals(username));
+		if (exists) return;
+		for (User user: from.loadAllUsers()) {
+			if (user.getUsername().equals(username)) {
+				to.saveUser(user);
+				return;
+			}
+		}
+	}
+}
@@ -5,10 +5,13 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 
-public class UserRepo {
+public class UserRepo implements UserStore {
     private final String baseDir = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
     private final String filePath = baseDir + File.separator + "credentials.txt";
 
+    // Citirea și scrierea sunt coordonate cu celelalte instanțe ale aplicației prin credentials.lock
+    private final CatalogLock lock = new CatalogLock(new File(baseDir + File.separator + "credentials.lock"));
+
     /**
      * Această metodă citește tot fișierul și transformă fiecare linie
      * într-un obiect de tip User.
@@ -31,7 +34,18 @@ public class UserRepo {
             return users; // Returneaza lista goala, fiind nou creat
         }
 
-        // 3. Citește fișierul și încarcă utilizatorii
+        // 3. Citește fișierul și încarcă utilizatorii (fără a citi o linie scrisă pe jumătate de altă instanță)
+        users = lock.locked(held -> readUsers(file));
+    } catch (IOException e) {
+        System.err.println("Eroare la inițializarea bazei de date utilizatori: " + e.getMessage());
+    }
+
+    return users;
+}
+
+    private static List<User> readUsers(File file) throws IOException {
+        List<User> users = new ArrayList<>();
+        if (!file.exists()) return users;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -41,21 +55,42 @@ public class UserRepo {
                 }
             }
         }
-    } catch (IOException e) {
-        System.err.println("Eroare la inițializarea bazei de date utilizatori: " + e.getMessage());
+        return users;
+    }
+
+    /**
+     * Conturile sunt doar adăugate la final, deci data modificării și dimensiunea fișierului se schimbă la fiecare cont nou.
+     */
+    @Override
+    public long version() {
+        File file = new File(filePath);
+        return 31 * file.lastModified() + file.length();
     }
 
-    return users;
-}
 // Metoda pentru a salva un nou utilizator în fișier
-    public void saveUser(User user) {
-    File folder = new File("lex");
+    /**
+     * Adaugă utilizatorul la finalul fișierului. Cu lock-ul deținut, fișierul este recitit,
+     * ca două instanțe să nu poată înregistra simultan același nume.
+     * @return false dacă numele există deja sau scrierea a eșuat.
+     */
+    public boolean saveUser(User user) {
+    File folder = new File(baseDir);
     if (!folder.exists()) folder.mkdirs();
 
-    try (PrintWriter writer = new PrintWriter(new FileWriter(filePath, true))) { 
-        writer.println(user.getUsername() + "," + user.getPassword());
+    try {
+        return lock.locked(held -> {
+            for (User existing: readUsers(new File(filePath))) {
+                if (existing.getUsername().equals(user.getUsername())) return false;
+            }
+            try (PrintWriter writer = new PrintWriter(new FileWriter(filePath, true))) {
+                writer.println(user.getUsername() + "," + user.getPassword());
+            }
+            held.update(held.stamp().next());
+            return true;
+        });
     } catch (IOException e) {
         System.err.println("Eroare la salvarea utilizatorului: " + e.getMessage());
+        return false;
     }
 }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package lex.application.data;
+
+import lex.application.model.User;
+import java.util.List;
+
+/**
+ * Stocarea conturilor de utilizator (credentials.txt sau baza de date H2, după Storage).
+ */
+public interface UserStore {
+
+	List<User> loadAllUsers();
+
+	/**
+	 * Un marcaj care se schimbă când se adaugă conturi (inclusiv de altă instanță), mult mai ieftin decât
+	 * loadAllUsers(); AuthService recitește utilizatorii doar când marcajul s-a schimbat.
+	 */
+	long version();
+
+	/**
+	 * Salvează un utilizator nou.
+	 * @return false dacă numele există deja (ex: înregistrat între timp de altă instanță) sau la eroare.
+	 */
+	boolean saveUser(User user);
+}
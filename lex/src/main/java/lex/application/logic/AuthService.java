@@ -1,41 +1,108 @@
 package lex.application.logic;
 
-import lex.application.data.UserRepo;
+import lex.application.data.Storage;
+import lex.application.data.UserStore;
+import lex.application.metrics.AuthEvent;
 import lex.application.model.User;
-import java.util.List;
+import javafx.application.Platform;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 
 public class AuthService {
 
-	private UserRepo userRepo;
+	private UserStore userRepo;
+
+	// Index username -> User, încărcat din fișier și actualizat la fiecare înregistrare
+	private Map<String, User> users;
+	// Marcajul stocării (UserStore.version) la încărcarea indexului
+	private long usersVersion;
+
+	// Autentificarea rulează pe un fir separat, ca fereastra de login să nu se blocheze.
+	// Firul este comun tuturor instanțelor (fiecare LoginView creează una) și nu ține aplicația pornită.
+	private static final ExecutorService AUTH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "auth-worker");
+		t.setDaemon(true);
+		return t;
+	});
 
 	public AuthService() {
-		this.userRepo = new UserRepo(); // Inițializare punte către date
+		this.userRepo = Storage.current().users(); // Inițializare punte către date (fișier sau H2)
 	}
 
-	public boolean authenticate(String username, String password) {
-		// 1. Cerem lista de utilizatori de la Repo
-		List<User> users = userRepo.loadAllUsers();
-
-		// 2. Verificăm dacă există cineva cu aceste credențiale
-		for (User user: users) {
-			if (user.getUsername().equals(username) && user.getPassword().equals(password)) {
-				return true; // Am găsit o potrivire!
+	/**
+	 * Încarcă utilizatorii în index la prima utilizare.
+	 */
+	private synchronized Map<String, User> index() {
+		if (users == null) {
+			// Marcajul este citit înainte de încărcare: un cont adăugat între timp va fi găsit la următoarea verificare
+			usersVersion = userRepo.version();
+			users = new HashMap<>();
+			for (User user: userRepo.loadAllUsers()) {
+				// Păstrăm prima apariție, la fel ca vechea căutare liniară
+				users.putIfAbsent(user.getUsername(), user);
 			}
 		}
+		return users;
+	}
 
-		// 3. Dacă am parcurs toată lista și nu am returnat true
-		return false;
+	public synchronized boolean authenticate(String username, String password) {
+		AuthEvent event = new AuthEvent(AuthEvent.LOGIN, username);
+		event.start();
+		// Căutare directă în index, fără a reciti fișierul
+		User user = index().get(username);
+		if (user == null && userRepo.version() != usersVersion) {
+			// Contul poate fi fost creat între timp de altă instanță a aplicației; altfel nu recitim,
+			// ca un nume necunoscut să coste la fel de puțin ca unul existent
+			users = null;
+			user = index().get(username);
+		}
+		boolean ok = user != null && user.getPassword().equals(password);
+		event.finish(ok);
+		return ok;
 	}
 
-	public boolean register(String username, String password) {
-		List<User> users = userRepo.loadAllUsers();
+	public synchronized boolean register(String username, String password) {
+		AuthEvent event = new AuthEvent(AuthEvent.REGISTER, username);
+		event.start();
 		// Verificăm dacă user-ul există deja
-		for (User u: users) {
-			if (u.getUsername().equals(username)) return false;
+		if (index().containsKey(username)) {
+			event.finish(false);
+			return false;
 		}
 
-		userRepo.saveUser(new User(username, password));
+		User user = new User(username, password);
+		if (!userRepo.saveUser(user)) {
+			// Numele a fost luat între timp de altă instanță (sau scrierea a eșuat): recitim la următoarea cerere
+			users = null;
+			event.finish(false);
+			return false;
+		}
+		users.put(username, user);
+		event.finish(true);
 		return true;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Autentifică în fundal; rezultatul este transmis pe firul JavaFX.
+	 */
+	public void authenticateAsync(String username, String password, Consumer<Boolean> onComplete) {
+		AUTH_EXECUTOR.submit(() -> {
+			boolean ok = authenticate(username, password);
+			Platform.runLater(() -> onComplete.accept(ok));
+		});
+	}
+
+	/**
+	 * Înregistrează în fundal; rezultatul este transmis pe firul JavaFX.
+	 */
+	public void registerAsync(String username, String password, Consumer<Boolean> onComplete) {
+		AUTH_EXECUTOR.submit(() -> {
+			boolean ok = register(username, password);
+			Platform.runLater(() -> onComplete.accept(ok));
+		});
+	}
+}
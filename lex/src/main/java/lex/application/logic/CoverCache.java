@@ -0,0 +1,188 @@
+package lex.application.logic;
+
+import lex.application.metrics.MovieServiceEvent;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+
+/**
+ * Cache pentru copertele filmelor, limitat ca memorie (LRU după numărul de octeți ai pixelilor).
+ * Decodarea se face pe fire de fundal, direct la dimensiunea cardului (140x180), iar miniaturile
+ * rezultate sunt păstrate și pe disc, în CinemaManagerData/lex/thumbs, pentru sesiunile următoare.
+ * Metodele publice se apelează doar din firul JavaFX.
+ */
+public class CoverCache {
+
+    public static final int THUMB_WIDTH = 140;
+    public static final int THUMB_HEIGHT = 180;
+
+    // Memoria maximă ocupată de copertele decodate (aprox. 4 octeți/pixel)
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    private final File thumbDir = new File(System.getProperty("user.home") + File.separator + "CinemaManagerData"
+        + File.separator + "lex" + File.separator + "thumbs");
+
+    // accessOrder = true: iterarea începe cu intrarea folosită cel mai demult
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    // Cererile aflate în lucru, ca aceeași copertă să nu fie decodată de două ori simultan
+    private final Map<String, List<Consumer<Image>>> inFlight = new HashMap<>();
+
+    private final ExecutorService decoder = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "cover-decoder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Returnează coperta deja decodată pentru cheie, sau null dacă nu este în memorie.
+     */
+    public Image get(String key) {
+        return images.get(key);
+    }
+
+    /**
+     * Încarcă asincron coperta; callback-ul este apelat pe firul JavaFX (cu null dacă filmul nu are copertă).
+     * @param key Cheia din cache (calea folderului filmului).
+     * @param locator Găsește fișierul imagine; rulează pe firul de fundal.
+     */
+    public void load(String key, Callable<File> locator, Consumer<Image> onLoaded) {
+        Image cached = images.get(key);
+        if (cached != null) {
+            onLoaded.accept(cached);
+            return;
+        }
+
+        List<Consumer<Image>> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(onLoaded);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(onLoaded);
+        inFlight.put(key, waiting);
+
+        decoder.submit(() -> {
+            MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.COVER, key);
+            event.start();
+            Image image = null;
+            try {
+                File coverFile = locator.call();
+                if (coverFile != null) image = decode(coverFile);
+            } catch (Exception e) {
+                System.err.println("Eroare la încărcarea copertei: " + e.getMessage());
+            }
+            event.finish(image != null ? 1 : 0);
+            Image result = image;
+            Platform.runLater(() -> complete(key, result));
+        });
+    }
+
+    private void complete(String key, Image image) {
+        if (image != null) put(key, image);
+        List<Consumer<Image>> waiting = inFlight.remove(key);
+        if (waiting != null) {
+            for (Consumer<Image> callback: waiting) callback.accept(image);
+        }
+    }
+
+    private void put(String key, Image image) {
+        Image old = images.put(key, image);
+        if (old != null) currentBytes -= sizeOf(old);
+        currentBytes += sizeOf(image);
+
+        // Evacuăm cele mai vechi coperte până revenim sub limită
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (currentBytes > MAX_BYTES && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            currentBytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * Citește miniatura de pe disc dacă există; altfel decodează originalul, îl micșorează și salvează miniatura.
+     */
+    private Image decode(File coverFile) {
+        File thumb = new File(thumbDir, thumbName(coverFile));
+        if (thumb.exists()) {
+            return new Image(thumb.toURI().toString());
+        }
+
+        try {
+            BufferedImage original = ImageIO.read(coverFile);
+            if (original != null) {
+                BufferedImage scaled = scale(original);
+                if (!thumbDir.exists()) thumbDir.mkdirs();
+                File tmp = new File(thumbDir, thumb.getName() + ".tmp");
+                if (ImageIO.write(scaled, "jpg", tmp) && tmp.renameTo(thumb)) {
+                    return new Image(thumb.toURI().toString());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Eroare la crearea miniaturii: " + e.getMessage());
+        }
+
+        // Format necunoscut pentru ImageIO: lăsăm JavaFX să decodeze direct la dimensiunea cardului
+        return new Image(coverFile.toURI().toString(), THUMB_WIDTH, THUMB_HEIGHT, true, true);
+    }
+
+    private static BufferedImage scale(BufferedImage original) {
+        double ratio = Math.min((double) THUMB_WIDTH / original.getWidth(), (double) THUMB_HEIGHT / original.getHeight());
+        ratio = Math.min(ratio, 1.0);
+        int width = Math.max(1, (int) Math.round(original.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(original, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Numele miniaturii depinde de cale, dimensiune și data modificării, deci o copertă schimbată primește altă miniatură.
+     */
+    private static String thumbName(File coverFile) {
+        String source = coverFile.getAbsolutePath() + "|" + coverFile.length() + "|" + coverFile.lastModified();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            StringBuilder sb = new StringBuilder();
+            for (byte b: digest.digest(source.getBytes(StandardCharsets.UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.append(".jpg").toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(source.hashCode()) + ".jpg";
+        }
+    }
+
+    public void shutdown() {
+        decoder.shutdownNow();
+    }
+}
@@ -0,0 +1,114 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Fațetele colecției (Categorii, Regizori, Ani) cu numărul de filme pentru fiecare valoare.
+ * Sunt ținute în TreeMap-uri sortate și actualizate în O(log n) la fiecare adăugare/ștergere;
+ * ascultătorii primesc doar diferențele (valoare nouă, număr schimbat, valoare dispărută).
+ */
+public class FacetModel {
+
+    public enum Facet { CATEGORY, DIRECTOR, YEAR }
+
+    /**
+     * Primește modificările fațetelor, pentru a actualiza interfața fără reconstruire completă.
+     */
+    public interface Listener {
+        void facetAdded(Facet facet, String value, int count);
+        void facetCountChanged(Facet facet, String value, int count);
+        void facetRemoved(Facet facet, String value);
+    }
+
+    private final Map<Facet, TreeMap<String, Integer>> counts = new EnumMap<>(Facet.class);
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public FacetModel() {
+        for (Facet facet: Facet.values()) {
+            counts.put(facet, new TreeMap<>(comparator(facet)));
+        }
+    }
+
+    /**
+     * Ordinea valorilor în arbore: alfabetică, iar anii numeric.
+     */
+    public static Comparator<String> comparator(Facet facet) {
+        if (facet == Facet.YEAR) {
+            return Comparator.comparingInt(Integer::parseInt);
+        }
+        return Comparator.naturalOrder();
+    }
+
+    /**
+     * Separă genurile multiple (ex: "Actiune, Drama"), fără duplicate și fără valori goale.
+     */
+    public static Set<String> categoriesOf(Movie movie) {
+        Set<String> result = new LinkedHashSet<>();
+        String categories = movie.getCategories();
+        if (categories == null || categories.isEmpty()) return result;
+        for (String c: categories.split(",")) {
+            String trimmed = c.trim();
+            if (!trimmed.isEmpty()) result.add(trimmed);
+        }
+        return result;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void add(Movie movie) {
+        for (String category: categoriesOf(movie)) increment(Facet.CATEGORY, category);
+        if (movie.getDirector() != null) increment(Facet.DIRECTOR, movie.getDirector());
+        increment(Facet.YEAR, String.valueOf(movie.getYear()));
+    }
+
+    public void remove(Movie movie) {
+        for (String category: categoriesOf(movie)) decrement(Facet.CATEGORY, category);
+        if (movie.getDirector() != null) decrement(Facet.DIRECTOR, movie.getDirector());
+        decrement(Facet.YEAR, String.valueOf(movie.getYear()));
+    }
+
+    /**
+     * Valorile fațetei în ordine sortată, cu numărul de filme al fiecăreia (vedere nemodificabilă).
+     */
+    public SortedMap<String, Integer> values(Facet facet) {
+        return Collections.unmodifiableSortedMap(counts.get(facet));
+    }
+
+    public int count(Facet facet, String value) {
+        return counts.get(facet).getOrDefault(value, 0);
+    }
+
+    private void increment(Facet facet, String value) {
+        int count = counts.get(facet).merge(value, 1, Integer::sum);
+        for (Listener l: listeners) {
+            if (count == 1) l.facetAdded(facet, value, count);
+            else l.facetCountChanged(facet, value, count);
+        }
+    }
+
+    private void decrement(Facet facet, String value) {
+        TreeMap<String, Integer> map = counts.get(facet);
+        Integer current = map.get(value);
+        if (current == null) return;
+
+        if (current == 1) {
+            map.remove(value);
+            for (Listener l: listeners) l.facetRemoved(facet, value);
+        } else {
+            map.put(value, current - 1);
+            for (Listener l: listeners) l.facetCountChanged(facet, value, current - 1);
+        }
+    }
+}
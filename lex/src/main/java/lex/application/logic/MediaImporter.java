@@ -0,0 +1,127 @@
+package lex.application.logic;
+
+import lex.application.data.MediaFolderIndex;
+import lex.application.model.Movie;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parcurge în paralel (fork-join) un folder rădăcină cu filme și creează câte un Movie
+ * pentru fiecare folder care conține un fișier video. Titlul și anul sunt deduse din
+ * numele folderului, ex: "Inception (2010)" sau "The.Matrix.1999".
+ */
+public class MediaImporter {
+
+    /**
+     * Progresul scanării, apelat din firele de lucru.
+     */
+    public interface Progress {
+        void update(int foldersScanned, int moviesFound);
+    }
+
+    public static final String UNKNOWN_DIRECTOR = "Necunoscut";
+    public static final double DEFAULT_RATING = 5.0;
+
+    // Un an acceptat de MovieService.validate(): 1888-2099
+    private static final String YEAR = "(188[89]|189\\d|19\\d{2}|20\\d{2})";
+    // "Titlu (1999)" sau "Titlu [1999]", eventual urmat de alte informații
+    private static final Pattern YEAR_IN_BRACKETS = Pattern.compile("^(.*?)[\\s._-]*[(\\[]" + YEAR + "[)\\]].*$");
+    // "Titlu.1999.1080p" sau "Titlu 1999"
+    private static final Pattern YEAR_SEPARATED = Pattern.compile("^(.*?)[\\s._-]+" + YEAR + "(?:[\\s._-].*)?$");
+
+    private final MediaFolderIndex mediaIndex;
+    private final AtomicInteger foldersScanned = new AtomicInteger();
+    private final AtomicInteger moviesFound = new AtomicInteger();
+
+    public MediaImporter(MediaFolderIndex mediaIndex) {
+        this.mediaIndex = mediaIndex;
+    }
+
+    /**
+     * Scanează arborele de foldere; poate rula mult, deci se apelează de pe un fir de fundal.
+     * @param knownPaths Căile deja existente în colecție, care nu mai sunt importate.
+     */
+    public List<Movie> scan(File root, Set<String> knownPaths, Progress progress) {
+        foldersScanned.set(0);
+        moviesFound.set(0);
+        if (root == null || !root.isDirectory()) return new ArrayList<>();
+        return ForkJoinPool.commonPool().invoke(new FolderTask(root, knownPaths, progress));
+    }
+
+    private class FolderTask extends RecursiveTask<List<Movie>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File dir;
+        private final Set<String> knownPaths;
+        private final Progress progress;
+
+        FolderTask(File dir, Set<String> knownPaths, Progress progress) {
+            this.dir = dir;
+            this.knownPaths = knownPaths;
+            this.progress = progress;
+        }
+
+        @Override
+        protected List<Movie> compute() {
+            List<Movie> result = new ArrayList<>();
+            File[] files = dir.listFiles();
+            if (files == null) return result;
+
+            // Listarea este folosită și pentru indexul media, ca folderul să nu fie citit încă o dată la afișare
+            MediaFolderIndex.Entry media = mediaIndex.record(dir, files);
+            int scanned = foldersScanned.incrementAndGet();
+
+            if (media.getVideo() != null) {
+                // Folder de film: nu coborâm mai departe (subfolderele sunt de obicei extra-uri/subtitrări)
+                if (!knownPaths.contains(dir.getAbsolutePath())) {
+                    result.add(createMovie(dir, media.getVideo()));
+                    moviesFound.incrementAndGet();
+                }
+                if (progress != null) progress.update(scanned, moviesFound.get());
+                return result;
+            }
+            if (progress != null) progress.update(scanned, moviesFound.get());
+
+            List<FolderTask> subtasks = new ArrayList<>();
+            for (File f: files) {
+                // Legăturile simbolice nu sunt urmate: pot forma cicluri sau pot duce în afara rădăcinii
+                if (f.isDirectory() && !Files.isSymbolicLink(f.toPath())) subtasks.add(new FolderTask(f, knownPaths, progress));
+            }
+            for (FolderTask task: invokeAll(subtasks)) {
+                result.addAll(task.join());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Creează filmul din numele folderului. Dacă anul nu apare în nume, folosim anul ultimei modificări a fișierului video.
+     */
+    static Movie createMovie(File dir, File video) {
+        String name = dir.getName();
+        String title = name;
+        int year = Instant.ofEpochMilli(video.lastModified()).atZone(ZoneId.systemDefault()).getYear();
+
+        Matcher m = YEAR_IN_BRACKETS.matcher(name);
+        if (!m.matches()) m = YEAR_SEPARATED.matcher(name);
+        if (m.matches() && !m.group(1).trim().isEmpty()) {
+            title = m.group(1);
+            year = Integer.parseInt(m.group(2));
+        }
+
+        // "The.Matrix" / "The_Matrix" -> "The Matrix"
+        title = title.replace('.', ' ').replace('_', ' ').trim().replaceAll("\\s+", " ");
+
+        return Movie.of(title, UNKNOWN_DIRECTOR, year, dir.getAbsolutePath(), "", DEFAULT_RATING, "");
+    }
+}
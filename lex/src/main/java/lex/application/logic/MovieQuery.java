@@ -0,0 +1,477 @@
+package lex.application.logic;
+
+import lex.application.data.MovieCriteria;
+import lex.application.model.Movie;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interogare structurată peste colecție, ex: genre:drama director:"Nolan" year:1990..2005 rating>=8 -horror
+ *
+ * Clauze suportate (toate trebuie satisfăcute):
+ *   genre:X / categorie:X   - filmul are genul X (fără diferențe de majuscule)
+ *   director:X / title:X     - câmpul conține textul X
+ *   director=X / title=X     - câmpul este exact X (folosit de arborele de fațete)
+ *   year:2001, year:1990..2005, year>=1990 - comparații numerice pe an
+ *   rating>=8, rating<5, rating:8 - comparații numerice pe rating (rating:8 înseamnă >= 8)
+ *   text liber               - apare în titlu, regizor, an sau categorii (ca filtrul clasic)
+ *   -clauză                  - negația oricărei clauze
+ * Valorile cu spații se scriu între ghilimele; în interiorul lor, \" și \\ înseamnă o ghilimea, respectiv
+ * un backslash. Textul fără niciun operator este tratat ca o singură frază, exact ca vechea căutare;
+ * o clauză care nu poate fi interpretată devine text liber.
+ *
+ * Interogarea se parsează o singură dată; plan() ordonează clauzele după selectivitatea estimată
+ * (din FacetModel și SearchIndex), astfel încât cea mai restrictivă este evaluată prima.
+ */
+public class MovieQuery implements Predicate<Movie> {
+
+    // [-]camp(operator)valoare, valoarea putând fi între ghilimele
+    private static final Pattern CLAUSE = Pattern.compile("^(-?)([a-zA-ZăâîșțĂÂÎȘȚ]+)(:|>=|<=|>|<|=)(.+)$");
+    private static final Pattern RANGE = Pattern.compile("^(\\d{1,4})\\.\\.(\\d{1,4})$");
+
+    private final String text;
+    private final List<Clause> clauses;
+    private final SearchIndex index;
+
+    private MovieQuery(String text, List<Clause> clauses, SearchIndex index) {
+        this.text = text;
+        this.clauses = clauses;
+        this.index = index;
+    }
+
+    /**
+     * Parsează textul interogării. Un text gol produce o interogare care acceptă orice film.
+     * @param index Indexul de căutare folosit de clauzele de text liber.
+     */
+    public static MovieQuery parse(String text, SearchIndex index) {
+        List<Clause> clauses = new ArrayList<>();
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty()) return new MovieQuery("", clauses, index);
+
+        List<String> tokens = tokenize(trimmed);
+        boolean structured = trimmed.indexOf('"') >= 0;
+        for (String token: tokens) {
+            if (token.startsWith("-") || CLAUSE.matcher(token).matches()) structured = true;
+        }
+        if (!structured) {
+            // Compatibilitate: fără operatori, tot textul este o singură frază căutată ca subșir
+            clauses.add(new TextClause(trimmed, false));
+        } else {
+            for (String token: tokens) {
+                Clause clause = parseClause(token);
+                if (clause != null) clauses.add(clause);
+            }
+        }
+        return new MovieQuery(trimmed, clauses, index);
+    }
+
+    /**
+     * Clauza care selectează exact o valoare de fațetă (folosită de arborele de navigare).
+     */
+    public static String facetClause(FacetModel.Facet facet, String value) {
+        switch (facet) {
+            case CATEGORY: return "genre:" + quote(value);
+            case DIRECTOR: return "director=" + quote(value);
+            default: return "year:" + value;
+        }
+    }
+
+    // Ghilimelele și backslash-urile din valoare sunt escapate, ca tokenize() să le păstreze
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Separă interogarea după spații, păstrând împreună textul dintre ghilimele.
+     * Ghilimelele sunt eliminate din valoare; între ghilimele, \" și \\ sunt păstrate ca " și \.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted && c == '\\' && i + 1 < text.length()
+                    && (text.charAt(i + 1) == '"' || text.charAt(i + 1) == '\\')) {
+                current.append(text.charAt(++i));
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) tokens.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private static Clause parseClause(String token) {
+        boolean negated = token.startsWith("-") && token.length() > 1;
+        Matcher m = CLAUSE.matcher(token);
+        if (!m.matches()) {
+            String term = negated ? token.substring(1) : token;
+            return term.isEmpty() ? null : new TextClause(term, negated);
+        }
+
+        String field = m.group(2).toLowerCase();
+        String op = m.group(3);
+        String value = m.group(4).trim();
+        negated = !m.group(1).isEmpty();
+
+        try {
+            switch (field) {
+                case "genre":
+                case "gen":
+                case "categorie":
+                case "category":
+                    if (op.equals(":") || op.equals("=")) return new GenreClause(value, negated);
+                    break;
+                case "director":
+                case "regizor":
+                    if (op.equals(":")) return new FieldClause(FieldClause.DIRECTOR, value, false, negated);
+                    if (op.equals("=")) return new FieldClause(FieldClause.DIRECTOR, m.group(4), true, negated);
+                    break;
+                case "title":
+                case "titlu":
+                    if (op.equals(":")) return new FieldClause(FieldClause.TITLE, value, false, negated);
+                    if (op.equals("=")) return new FieldClause(FieldClause.TITLE, m.group(4), true, negated);
+                    break;
+                case "year":
+                case "an":
+                    return YearClause.parse(op, value, negated);
+                case "rating":
+                    // rating:8 este citit ca "cel puțin 8"
+                    return new RatingClause(op.equals(":") ? ">=" : op, Double.parseDouble(value), negated);
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // Valoare numerică invalidă: tratăm tot token-ul ca text liber
+        }
+        return new TextClause(negated ? token.substring(1) : token, negated);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+
+    /**
+     * Traduce interogarea în criterii pe care o stocare cu indexuri (ex: H2) le poate evalua singură.
+     */
+    public MovieCriteria toCriteria() {
+        MovieCriteria criteria = new MovieCriteria();
+        for (Clause clause: clauses) clause.addTo(criteria);
+        return criteria;
+    }
+
+    /**
+     * Ordonează clauzele după numărul estimat de filme care le satisfac (cele mai selective primele).
+     * Folosește FacetModel, deci se apelează pe firul JavaFX; execute() poate rula apoi în fundal.
+     */
+    public MovieQuery plan(FacetModel facets, int total) {
+        Map<Clause, Integer> estimates = new IdentityHashMap<>();
+        for (Clause clause: clauses) {
+            int matching = Math.max(0, Math.min(total, clause.estimate(facets, index, total)));
+            estimates.put(clause, clause.negated ? total - matching : matching);
+        }
+        List<Clause> ordered = new ArrayList<>(clauses);
+        ordered.sort(Comparator.comparingInt(estimates::get));
+        return new MovieQuery(text, ordered, index);
+    }
+
+    /**
+     * Filmul satisface toate clauzele, evaluate în ordinea planului (prima care eșuează oprește evaluarea).
+     */
+    @Override
+    public boolean test(Movie movie) {
+        for (Clause clause: clauses) {
+            if (clause.matches(movie, index) == clause.negated) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Execută interogarea. Dacă prima clauză (cea mai selectivă) este text liber, candidații vin
+     * direct din SearchIndex; altfel se parcurge colecția, cu clauzele în ordinea planului.
+     * Dacă firul este întrerupt (căutare anulată), se oprește și returnează un rezultat parțial.
+     */
+    public Set<Movie> execute(Collection<Movie> movies) {
+        Set<Movie> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (clauses.isEmpty()) {
+            result.addAll(movies);
+            return result;
+        }
+
+        Clause first = clauses.get(0);
+        Collection<Movie> source = movies;
+        int from = 0;
+        if (first instanceof TextClause && !first.negated) {
+            source = index.search(((TextClause) first).term);
+            from = 1;
+        }
+
+        int checked = 0;
+        for (Movie movie: source) {
+            if ((++checked & 1023) == 0 && Thread.currentThread().isInterrupted()) return result;
+            boolean ok = true;
+            for (int i = from; i < clauses.size() && ok; i++) {
+                Clause clause = clauses.get(i);
+                ok = clause.matches(movie, index) != clause.negated;
+            }
+            if (ok) result.add(movie);
+        }
+        return result;
+    }
+
+    /**
+     * O condiție elementară. Negația este aplicată de interogare, nu de clauză.
+     */
+    private abstract static class Clause {
+        final boolean negated;
+
+        Clause(boolean negated) {
+            this.negated = negated;
+        }
+
+        abstract boolean matches(Movie movie, SearchIndex index);
+
+        // Numărul estimat de filme care satisfac clauza (fără negație)
+        abstract int estimate(FacetModel facets, SearchIndex index, int total);
+
+        // Aceeași condiție, exprimată ca MovieCriteria (cu negația inclusă)
+        abstract void addTo(MovieCriteria criteria);
+    }
+
+    private static class TextClause extends Clause {
+        final String term;
+
+        TextClause(String term, boolean negated) {
+            super(negated);
+            this.term = term;
+        }
+
+        @Override
+        boolean matches(Movie movie, SearchIndex index) {
+            return index.matches(movie, term);
+        }
+
+        @Override
+        int estimate(FacetModel facets, SearchIndex index, int total) {
+            return index.estimate(term);
+        }
+
+        @Override
+        void addTo(MovieCriteria criteria) {
+            criteria.where(MovieCriteria.Field.TEXT, MovieCriteria.Operator.CONTAINS, term, negated);
+        }
+    }
+
+    private static class GenreClause extends Clause {
+        final String genre;
+
+        GenreClause(String genre, boolean negated) {
+            super(negated);
+            this.genre = genre;
+        }
+
+        /**
+         * Caută genul direct în șirul de categorii (separate prin virgulă), fără a-l împărți în obiecte noi.
+         */
+        @Override
+        boolean matches(Movie movie, SearchIndex index) {
+            String categories = movie.getCategories();
+            if (categories == null) return false;
+            int start = 0;
+            while (start <= categories.length()) {
+                int end = categories.indexOf(',', start);
+                if (end < 0) end = categories.length();
+                int from = start;
+                int to = end;
+                while (from < to && Character.isWhitespace(categories.charAt(from))) from++;
+                while (to > from && Character.isWhitespace(categories.charAt(to - 1))) to--;
+                if (to - from == genre.length() && categories.regionMatches(true, from, genre, 0, genre.length())) {
+                    return true;
+                }
+                start = end + 1;
+            }
+            return false;
+        }
+
+        @Override
+        int estimate(FacetModel facets, SearchIndex index, int total) {
+            int sum = 0;
+            for (Map.Entry<String, Integer> e: facets.values(FacetModel.Facet.CATEGORY).entrySet()) {
+                if (e.getKey().equalsIgnoreCase(genre)) sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        void addTo(MovieCriteria criteria) {
+            criteria.where(MovieCriteria.Field.CATEGORIES, MovieCriteria.Operator.GENRE, genre, negated);
+        }
+    }
+
+    private static class FieldClause extends Clause {
+        static final int TITLE = 0;
+        static final int DIRECTOR = 1;
+
+        final int field;
+        final String value;
+        // Egalitate exactă (operatorul =) în loc de subșir fără diferențe de majuscule
+        final boolean exact;
+
+        FieldClause(int field, String value, boolean exact, boolean negated) {
+            super(negated);
+            this.field = field;
+            this.value = value;
+            this.exact = exact;
+        }
+
+        @Override
+        boolean matches(Movie movie, SearchIndex index) {
+            String text = field == TITLE ? movie.getTitle() : movie.getDirector();
+            return exact ? value.equals(text) : containsIgnoreCase(text, value);
+        }
+
+        @Override
+        int estimate(FacetModel facets, SearchIndex index, int total) {
+            if (field == TITLE) return index.estimate(value);
+            if (exact) return facets.values(FacetModel.Facet.DIRECTOR).getOrDefault(value, 0);
+            // Suma filmelor regizorilor al căror nume conține textul
+            int sum = 0;
+            for (Map.Entry<String, Integer> e: facets.values(FacetModel.Facet.DIRECTOR).entrySet()) {
+                if (containsIgnoreCase(e.getKey(), value)) sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        void addTo(MovieCriteria criteria) {
+            criteria.where(field == TITLE ? MovieCriteria.Field.TITLE : MovieCriteria.Field.DIRECTOR,
+                exact ? MovieCriteria.Operator.EQ : MovieCriteria.Operator.CONTAINS, value, negated);
+        }
+    }
+
+    private static class YearClause extends Clause {
+        final int from;
+        final int to;
+
+        YearClause(int from, int to, boolean negated) {
+            super(negated);
+            this.from = from;
+            this.to = to;
+        }
+
+        static YearClause parse(String op, String value, boolean negated) {
+            Matcher range = RANGE.matcher(value);
+            if (op.equals(":") && range.matches()) {
+                int a = Integer.parseInt(range.group(1));
+                int b = Integer.parseInt(range.group(2));
+                return new YearClause(Math.min(a, b), Math.max(a, b), negated);
+            }
+            int year = Integer.parseInt(value);
+            switch (op) {
+                case ">": return new YearClause(year + 1, Integer.MAX_VALUE, negated);
+                case ">=": return new YearClause(year, Integer.MAX_VALUE, negated);
+                case "<": return new YearClause(Integer.MIN_VALUE, year - 1, negated);
+                case "<=": return new YearClause(Integer.MIN_VALUE, year, negated);
+                default: return new YearClause(year, year, negated);
+            }
+        }
+
+        @Override
+        boolean matches(Movie movie, SearchIndex index) {
+            return movie.getYear() >= from && movie.getYear() <= to;
+        }
+
+        @Override
+        int estimate(FacetModel facets, SearchIndex index, int total) {
+            int sum = 0;
+            for (Map.Entry<String, Integer> e: facets.values(FacetModel.Facet.YEAR).entrySet()) {
+                int year = Integer.parseInt(e.getKey());
+                if (year > to) break; // valorile sunt sortate numeric
+                if (year >= from) sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        void addTo(MovieCriteria criteria) {
+            criteria.where(MovieCriteria.Field.YEAR, MovieCriteria.Operator.BETWEEN, new int[] {from, to}, negated);
+        }
+    }
+
+    private static class RatingClause extends Clause {
+        final String op;
+        final double value;
+
+        RatingClause(String op, double value, boolean negated) {
+            super(negated);
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        boolean matches(Movie movie, SearchIndex index) {
+            double rating = movie.getRating();
+            switch (op) {
+                case ">": return rating > value;
+                case ">=": return rating >= value;
+                case "<": return rating < value;
+                case "<=": return rating <= value;
+                default: return rating == value;
+            }
+        }
+
+        @Override
+        int estimate(FacetModel facets, SearchIndex index, int total) {
+            // Fără index pe rating: presupunem valori distribuite uniform între 1 și 10
+            double above = Math.max(0, Math.min(1, (10 - value) / 9));
+            switch (op) {
+                case ">":
+                case ">=": return (int) (total * above);
+                case "<":
+                case "<=": return (int) (total * (1 - above));
+                default: return total / 90;
+            }
+        }
+
+        @Override
+        void addTo(MovieCriteria criteria) {
+            MovieCriteria.Operator operator;
+            switch (op) {
+                case ">": operator = MovieCriteria.Operator.GT; break;
+                case ">=": operator = MovieCriteria.Operator.GE; break;
+                case "<": operator = MovieCriteria.Operator.LT; break;
+                case "<=": operator = MovieCriteria.Operator.LE; break;
+                default: operator = MovieCriteria.Operator.EQ;
+            }
+            criteria.where(MovieCriteria.Field.RATING, operator, value, negated);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (text == null) return false;
+        int max = text.length() - part.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) return true;
+        }
+        return false;
+    }
+}
@@ -1,28 +1,58 @@
 package lex.application.logic;
 
-import lex.application.data.MovieRepo;
+import lex.application.data.CsvMovieParser;
+import lex.application.data.MediaFolderIndex;
+import lex.application.data.MovieChange;
+import lex.application.data.MovieCriteria;
+import lex.application.data.MovieStore;
+import lex.application.data.Storage;
+import lex.application.metrics.Metrics;
+import lex.application.metrics.MovieServiceEvent;
 import lex.application.model.Movie;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.scene.image.Image;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Clasa Service care gestionează logica de business pentru colecția de filme.
- * Face legătura între stratul de date (MovieRepo) și interfața grafică (UI).
+ * Face legătura între stratul de date (MovieStore: fișiere sau H2) și interfața grafică (UI).
  */
 public class MovieService {
 
-    // Dependența către repository pentru salvare/încărcare date
-    private MovieRepo movieRepo;
+    // Dependența către stocare pentru salvare/încărcare date (aleasă de Storage)
+    private MovieStore movieRepo;
+
+    // Scrierea pe disc se face asincron, pe un fir separat, ca să nu blocăm interfața
+    private WriteBehindPersister persister;
 
     // 1. GESTIONAREA STĂRII (State Management)
     // Sursa principală de date în memorie (RAM)
@@ -31,16 +61,418 @@ public class MovieService {
     // Listă "wrapper" care permite filtrarea fără a șterge elemente din sursa principală
     private FilteredList<Movie> filteredMovies;
 
+    // Colecția în ordinea modului de sortare activ; este sursa listei filtrate afișate
+    private final ObservableList<Movie> ordered = FXCollections.observableArrayList();
+    private SortMode sortMode = SortMode.INSERTION;
+    // Indexurile de sortare, construite la prima folosire a unui mod și apoi întreținute incremental
+    private final Map<SortMode, SortIndex> sortIndexes = new EnumMap<>(SortMode.class);
+    // De la această dimensiune, un lot adăugat este interclasat în index în loc de inserții individuale
+    private static final int BULK_SORT = 64;
+    // Lista afișată nu mai corespunde indexului activ: un lot împrăștiat a sosit în timpul încărcării și
+    // lista este recopiată o singură dată, la final (până atunci doar indexurile sunt actualizate)
+    private boolean orderedStale;
+
+    // Index de căutare întreținut incremental la fiecare adăugare/ștergere din allMovies
+    private SearchIndex searchIndex = new SearchIndex();
+
+    // Fațetele (Categorii/Regizori/Ani) cu numărul de filme, actualizate la fiecare modificare
+    private FacetModel facetModel = new FacetModel();
+
+    // Vecinii fiecărui film pentru "Filme asemănătoare", întreținuți incremental ca și indexurile de mai sus
+    private final RecommendationEngine recommendations = new RecommendationEngine();
+
+    // Copertele decodate, limitate ca memorie și salvate ca miniaturi pe disc
+    private CoverCache coverCache = new CoverCache();
+
+    // Coperta și fișierul video din fiecare folder de film, scanate o singură dată
+    private MediaFolderIndex mediaIndex = new MediaFolderIndex();
+    private Image defaultCover;
+
+    // Interogarea activă și setul de filme care o satisfac (null = fără filtru)
+    private MovieQuery currentQuery;
+    private Set<Movie> currentMatches;
+
+    // Căutarea "live" rulează pe un fir separat; doar rezultatul celei mai recente interogări este aplicat
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "movie-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<?> pendingSearch;
+    private long searchGeneration;
+    // Modificările colecției apărute cât timp căutarea din fundal rulează (accesate doar pe firul JavaFX)
+    private List<MovieChange> changesDuringSearch;
+
+    // Colecția se încarcă în fundal; cât timp rulează, comasarea jurnalului și importul sunt amânate
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(false);
+    // Colecția a fost (sau este în curs de a fi) încărcată în memorie; până atunci find() folosește stocarea
+    private boolean catalogLoaded;
+
+    // Modificările făcute de alte instanțe pe aceleași fișiere sunt verificate periodic, după încărcare
+    private ScheduledExecutorService syncExecutor;
+    private static final long SYNC_INTERVAL_MS = 2000;
+
+    // Jurnalul este comasat și când colecția nu a mai fost modificată de IDLE_MS (verificat la IDLE_CHECK_MS)
+    private static final long IDLE_MS = 60_000;
+    private static final long IDLE_CHECK_MS = 15_000;
+    private volatile long lastChange = System.nanoTime();
+
+    // Primul lot umple un ecran de carduri; următoarele cresc până la MAX_BATCH
+    private static final int FIRST_BATCH = 200;
+    private static final int MAX_BATCH = 10_000;
+
     /**
-     * Constructor: Inițializează repo-ul și încarcă datele pentru utilizatorul specificat.
+     * Constructor: Inițializează repo-ul pentru utilizatorul specificat.
+     * Colecția nu este încărcată aici; se folosește loadCatalog() sau createLoadTask().
      * @param username Numele utilizatorului pentru a accesa fișierul corespunzător de date.
      */
     public MovieService(String username) {
-        this.movieRepo = new MovieRepo(username);
-        // Transformă lista simplă primită din Repo într-o listă observabilă de JavaFX
-        this.allMovies = FXCollections.observableArrayList(movieRepo.LoadAllMovies());
-        // Inițializăm filtrul pentru a afișa tot (predicat mereu true)
-        this.filteredMovies = new FilteredList<>(allMovies, p -> true);
+        this.movieRepo = Storage.current().movies(username);
+        this.persister = new WriteBehindPersister(movieRepo);
+        this.allMovies = FXCollections.observableArrayList();
+        // Listener-ul este înregistrat înaintea FilteredList, ca indexul să fie la zi când filtrul reevaluează
+        allMovies.addListener((ListChangeListener<Movie>) change -> {
+            while (change.next()) {
+                for (Movie removed: change.getRemoved()) {
+                    searchIndex.remove(removed);
+                    facetModel.remove(removed);
+                    recommendations.remove(removed);
+                    if (currentMatches != null) currentMatches.remove(removed);
+                    if (changesDuringSearch != null) {
+                        changesDuringSearch.add(new MovieChange(MovieChange.Type.DELETE, removed));
+                    }
+                }
+                for (Movie added: change.getAddedSubList()) {
+                    searchIndex.add(added);
+                    facetModel.add(added);
+                    recommendations.add(added);
+                    if (currentMatches != null && currentQuery.test(added)) {
+                        currentMatches.add(added);
+                    }
+                    if (changesDuringSearch != null) {
+                        changesDuringSearch.add(new MovieChange(MovieChange.Type.ADD, added));
+                    }
+                }
+                updateSortIndexes(change);
+            }
+        });
+        // Inițializăm filtrul pentru a afișa tot (predicat mereu true), peste lista sortată
+        this.filteredMovies = new FilteredList<>(ordered, p -> true);
+    }
+
+    /**
+     * Încarcă sincron întreaga colecție (pentru utilizarea fără interfață grafică).
+     * Folderele media nu sunt scanate: copertele și player-ul sunt folosite doar din interfață.
+     */
+    public void loadCatalog() {
+        catalogLoaded = true;
+        allMovies.addAll(movieRepo.LoadAllMovies());
+    }
+
+    /**
+     * Creează task-ul care încarcă colecția în fundal. Fișierul este citit pe firul task-ului,
+     * iar filmele sunt publicate în loturi pe firul JavaFX, astfel încât primele carduri apar imediat.
+     * Fiecare lot este aplicat înainte de a-l trimite pe următorul, ca interfața să rămână fluidă.
+     */
+    public Task<Void> createLoadTask() {
+        loading.set(true);
+        catalogLoaded = true;
+        Task<Void> task = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                updateMessage("Se încarcă colecția...");
+                List<Movie> movies = movieRepo.LoadAllMovies();
+                scanMediaFolders(movies);
+
+                int total = movies.size();
+                publishInBatches(movies, Platform::runLater, this::isCancelled, published -> {
+                    updateProgress(published, total);
+                    updateMessage("Se încarcă colecția... " + published + " / " + total);
+                });
+                return null;
+            }
+        };
+        // Indiferent de rezultat, serviciul iese din starea de încărcare (pe firul JavaFX)
+        task.stateProperty().addListener((obs, oldState, newState) -> {
+            if (task.isDone()) {
+                loading.set(false);
+                refreshOrdered();
+            }
+            if (newState == Worker.State.SUCCEEDED) startExternalSync();
+        });
+        return task;
+    }
+
+    /**
+     * Adaugă filmele în colecție în loturi care pornesc de la FIRST_BATCH și se dublează până la MAX_BATCH.
+     * Fiecare lot este aplicat pe firul dat și așteptat înainte de a-l trimite pe următorul.
+     * @param fxThread Firul care modifică colecția (Platform::runLater în aplicație).
+     * @param progress Primește numărul de filme publicate după fiecare lot.
+     * @return Numărul de filme publicate (mai mic decât totalul dacă încărcarea a fost anulată).
+     */
+    int publishInBatches(List<Movie> movies, Executor fxThread, BooleanSupplier cancelled, IntConsumer progress)
+            throws InterruptedException, ExecutionException {
+        int total = movies.size();
+        int published = 0;
+        int batch = FIRST_BATCH;
+        while (published < total && !cancelled.getAsBoolean()) {
+            List<Movie> chunk = movies.subList(published, Math.min(published + batch, total));
+            FutureTask<Void> apply = new FutureTask<>(() -> allMovies.addAll(chunk), null);
+            fxThread.execute(apply);
+            apply.get();
+
+            published += chunk.size();
+            batch = Math.min(batch * 2, MAX_BATCH);
+            progress.accept(published);
+        }
+        return published;
+    }
+
+    /**
+     * Pornește verificarea periodică a modificărilor scrise de alte instanțe ale aplicației
+     * (ex: aceeași colecție deschisă pe alt calculator, într-un folder comun). Se citesc doar
+     * înregistrările noi din jurnal, iar colecția este actualizată incremental pe firul JavaFX.
+     */
+    private void startExternalSync() {
+        if (syncExecutor != null) return;
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncExecutor.scheduleWithFixedDelay(this::syncExternalChanges, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        syncExecutor.scheduleWithFixedDelay(this::compactWhenIdle, IDLE_CHECK_MS, IDLE_CHECK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Rescrie snapshot-ul în fundal când utilizatorul nu a mai modificat colecția de un timp,
+     * chiar dacă jurnalul nu a atins pragul normal de compactare.
+     */
+    private void compactWhenIdle() {
+        if (System.nanoTime() - lastChange < TimeUnit.MILLISECONDS.toNanos(IDLE_MS)) return;
+        if (!movieRepo.needsIdleCompaction()) return;
+        // Lista se citește doar pe firul JavaFX; copia pentru snapshot este făcută de persister
+        Platform.runLater(() -> {
+            if (!loading.get() && movieRepo.needsIdleCompaction()) {
+                persister.enqueueCompaction(allMovies);
+            }
+        });
+    }
+
+    private void syncExternalChanges() {
+        try {
+            List<MovieChange> changes = movieRepo.pollExternalChanges();
+            FutureTask<Void> apply;
+            if (changes == null) {
+                // Jurnalul a fost compactat înainte să-l fi citit: reîncărcăm, după ce scriem ce avem în coadă
+                persister.flush();
+                List<Movie> movies = movieRepo.LoadAllMovies();
+                apply = new FutureTask<>(() -> allMovies.setAll(movies), null);
+            } else if (!changes.isEmpty()) {
+                apply = new FutureTask<>(() -> applyExternalChanges(changes), null);
+            } else {
+                return;
+            }
+            Platform.runLater(apply);
+            apply.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            // O eroare nu trebuie să oprească verificările următoare
+            System.err.println("Eroare la sincronizarea colecției: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Aplică modificările altor instanțe (sunt deja pe disc, deci nu trec prin persister).
+     * O ștergere elimină primul film identic, ca jurnalul: candidații sunt căutați după (titlu, an),
+     * iar filmele șterse sunt scoase din colecție într-o singură modificare, urmată de adăugările rămase.
+     */
+    private void applyExternalChanges(List<MovieChange> changes) {
+        List<Movie> added = new ArrayList<>();
+        Set<Movie> removed = new HashSet<>();
+        Map<String, List<Movie>> byTitleYear = null;
+        for (MovieChange change: changes) {
+            Movie movie = change.getMovie();
+            if (change.getType() == MovieChange.Type.ADD) {
+                added.add(movie);
+                if (byTitleYear != null) byTitleYear.computeIfAbsent(titleYear(movie), k -> new ArrayList<>()).add(movie);
+                continue;
+            }
+            if (byTitleYear == null) {
+                // Construim indexul doar la prima ștergere; adăugările din lot ajung după filmele existente
+                byTitleYear = new HashMap<>();
+                for (Movie m: allMovies) byTitleYear.computeIfAbsent(titleYear(m), k -> new ArrayList<>()).add(m);
+                for (Movie m: added) byTitleYear.computeIfAbsent(titleYear(m), k -> new ArrayList<>()).add(m);
+            }
+            List<Movie> candidates = byTitleYear.get(titleYear(movie));
+            if (candidates == null) continue;
+            String line = CsvMovieParser.format(movie);
+            for (int i = 0; i < candidates.size(); i++) {
+                Movie m = candidates.get(i);
+                if (line.equals(CsvMovieParser.format(m))) {
+                    candidates.remove(i);
+                    removed.add(m);
+                    break;
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            // Un film adăugat și șters în același lot nu mai ajunge deloc în colecție
+            added.removeIf(removed::contains);
+            allMovies.removeAll(removed);
+        }
+        if (!added.isEmpty()) allMovies.addAll(added);
+        Metrics.increment("service.sync.changes", changes.size());
+    }
+
+    private static String titleYear(Movie movie) {
+        return movie.getYear() + "\t" + movie.getTitle();
+    }
+
+    /**
+     * True cât timp colecția se încarcă în fundal.
+     */
+    public ReadOnlyBooleanProperty loadingProperty() {
+        return loading.getReadOnlyProperty();
+    }
+
+    // Scanăm în paralel, în fundal, folderele tuturor filmelor încărcate
+    private void scanMediaFolders(List<Movie> movies) {
+        mediaIndex.scanAllAsync(movies.stream().map(Movie::getMoviePath).collect(Collectors.toList()));
+    }
+
+    /**
+     * Aplică în indexurile de sortare o modificare a colecției. Lista afișată (ordered) rămâne
+     * identică cu indexul modului activ, deci pozițiile din index sunt și pozițiile din listă.
+     */
+    private void updateSortIndexes(ListChangeListener.Change<? extends Movie> change) {
+        List<? extends Movie> removed = change.getRemoved();
+        List<? extends Movie> added = change.getAddedSubList();
+        boolean bulk = added.size() >= BULK_SORT;
+
+        SortIndex active = sortIndexes.get(sortMode);
+        for (SortIndex index: sortIndexes.values()) {
+            if (index == active) continue;
+            for (Movie movie: removed) index.remove(movie);
+            if (bulk) index.addAll(added);
+            else for (Movie movie: added) index.add(movie);
+        }
+
+        if (sortMode == SortMode.INSERTION) {
+            // Ordinea adăugării: repetăm exact modificarea din allMovies
+            int from = change.getFrom();
+            if (change.wasRemoved()) ordered.remove(from, from + change.getRemovedSize());
+            if (change.wasAdded()) ordered.addAll(from, added);
+            return;
+        }
+
+        if (orderedStale) {
+            for (Movie movie: removed) active.remove(movie);
+            if (bulk) active.addAll(added);
+            else for (Movie movie: added) active.add(movie);
+            return;
+        }
+
+        for (Movie movie: removed) {
+            int pos = active.remove(movie);
+            if (pos >= 0) ordered.remove(pos);
+        }
+        if (bulk) {
+            insertMerged(active, active.addAll(added));
+        } else {
+            for (Movie movie: added) ordered.add(active.add(movie), movie);
+        }
+    }
+
+    /**
+     * Inserează în lista afișată un lot deja interclasat în index. Filmele ajunse pe poziții consecutive
+     * formează o secvență inserată dintr-o dată, în ordine crescătoare, deci fiecare poziție din index este
+     * deja corectă în listă. Un lot foarte împrăștiat (multe secvențe) este aplicat printr-o singură copiere
+     * a indexului, amânată până la sfârșitul încărcării dacă aceasta este în curs.
+     * @param positions Pozițiile finale ale filmelor din lot, crescătoare (SortIndex.addAll).
+     */
+    private void insertMerged(SortIndex active, int[] positions) {
+        int runs = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (i == 0 || positions[i] != positions[i - 1] + 1) runs++;
+        }
+        if (runs > BULK_SORT) {
+            if (loading.get()) orderedStale = true;
+            else ordered.setAll(active.view());
+            return;
+        }
+
+        List<Movie> sorted = active.view();
+        int start = 0;
+        for (int i = 1; i <= positions.length; i++) {
+            if (i == positions.length || positions[i] != positions[i - 1] + 1) {
+                int from = positions[start];
+                ordered.addAll(from, sorted.subList(from, positions[i - 1] + 1));
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * Recopiază lista afișată din indexul activ, dacă a fost amânată în timpul încărcării.
+     */
+    private void refreshOrdered() {
+        if (!orderedStale) return;
+        orderedStale = false;
+        ordered.setAll(sortMode == SortMode.INSERTION ? allMovies : sortIndex(sortMode).view());
+    }
+
+    private SortIndex sortIndex(SortMode mode) {
+        return sortIndexes.computeIfAbsent(mode, m -> new SortIndex(m.comparator(), allMovies));
+    }
+
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Schimbă ordinea listei afișate. Prima folosire a unui mod construiește indexul lui (O(n log n));
+     * apoi schimbarea costă doar copierea listei sortate, iar filtrul activ se păstrează.
+     */
+    public void setSortMode(SortMode mode) {
+        if (mode == null || mode == sortMode) return;
+        sortMode = mode;
+        orderedStale = false;
+        ordered.setAll(mode == SortMode.INSERTION ? allMovies : sortIndex(mode).view());
+    }
+
+    /**
+     * Pagina cu numărul page (de la 0) din lista afișată, cu filtrul și sortarea active, în O(pageSize).
+     */
+    public List<Movie> page(int page, int pageSize) {
+        int from = Math.min(filteredMovies.size(), Math.max(0, page) * pageSize);
+        int to = Math.min(filteredMovies.size(), from + pageSize);
+        return new ArrayList<>(filteredMovies.subList(from, to));
+    }
+
+    /**
+     * Pagina cu numărul page din rezultatele filtrului curent, în ordinea modului dat, fără a schimba afișarea.
+     * Fără filtru costă O(pageSize); cu filtru, indexul este parcurs până la pagina cerută.
+     */
+    public List<Movie> page(SortMode mode, int page, int pageSize) {
+        if (mode == sortMode) return page(page, pageSize);
+        List<Movie> source = mode == SortMode.INSERTION ? allMovies : sortIndex(mode).view();
+        int offset = Math.max(0, page) * pageSize;
+        if (currentMatches == null) {
+            int from = Math.min(source.size(), offset);
+            return new ArrayList<>(source.subList(from, Math.min(source.size(), from + pageSize)));
+        }
+
+        List<Movie> result = new ArrayList<>(pageSize);
+        int skipped = 0;
+        for (Movie movie: source) {
+            if (!currentMatches.contains(movie)) continue;
+            if (skipped++ < offset) continue;
+            result.add(movie);
+            if (result.size() == pageSize) break;
+        }
+        return result;
     }
 
     /**
@@ -51,28 +483,137 @@ public class MovieService {
         return filteredMovies;
     }
 
+    /**
+     * Fațetele întregii colecții, pentru arborele de navigare. Ascultătorii primesc doar modificările.
+     */
+    public FacetModel getFacets() {
+        return facetModel;
+    }
+
     // 2. LOGICA DE BUSINESS (FILTRARE)
     /**
-     * Filtrează colecția de filme pe baza unui șir de caractere.
-     * Căutarea se face în Titlu, Regizor, An sau Categorii.
+     * Filtrează colecția pe baza unei interogări (vezi MovieQuery pentru sintaxă).
+     * Textul simplu, fără operatori, se caută în Titlu, Regizor, An sau Categorii, ca înainte.
      */
     public void filterMovies(String searchText) {
-        filteredMovies.setPredicate(movie -> {
-            // Dacă textul de căutare este gol, afișăm toate filmele
-            if (searchText == null || searchText.isEmpty()) {
-                return true;
-            }
+        // Un filtru aplicat direct înlocuiește orice căutare care încă rulează în fundal
+        cancelPendingSearch();
+
+        MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.FILTER, searchText);
+        event.start();
 
-            String lowerCaseFilter = searchText.toLowerCase();
+        MovieQuery query = compile(searchText);
+        // Dacă interogarea este goală, afișăm toate filmele
+        applyFilter(query, query.isEmpty() ? null : query.execute(allMovies));
+        event.finish(filteredMovies.size());
+    }
+
+    /**
+     * Execută o interogare structurată, ex: genre:drama director:"Nolan" year:1990..2005 rating>=8 -horror,
+     * fără a schimba filtrul afișat.
+     * @return Filmele care satisfac interogarea, în ordinea din colecție.
+     */
+    public List<Movie> query(String queryText) {
+        MovieQuery query = compile(queryText);
+        if (query.isEmpty()) return new ArrayList<>(allMovies);
+        Set<Movie> matches = query.execute(allMovies);
+        return allMovies.stream().filter(matches::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Caută filmele care satisfac interogarea, în ordinea modului dat, și returnează doar [offset, offset + limit).
+     * Dacă colecția nu este încărcată în memorie (ex: în linia de comandă) și stocarea are indexuri (H2),
+     * filtrarea, sortarea și paginarea sunt executate direct de stocare; altfel colecția este încărcată.
+     * @throws IOException dacă interogarea executată de stocare eșuează (nu se trece la încărcarea colecției).
+     */
+    public List<Movie> find(String queryText, SortMode mode, int offset, int limit) throws IOException {
+        if (!catalogLoaded) {
+            // Modificările încă în coadă trebuie să fie vizibile interogării
+            persister.flush();
+            MovieCriteria criteria = MovieQuery.parse(queryText, searchIndex).toCriteria()
+                .orderBy(mode.criteriaOrder())
+                .page(offset, limit);
+            List<Movie> found = movieRepo.find(criteria);
+            if (found != null) return found;
+            loadCatalog();
+        }
 
-            // Verificăm dacă vreun câmp al filmului conține textul căutat (case-insensitive)
-            return movie.getTitle().toLowerCase().contains(lowerCaseFilter) ||
-                movie.getDirector().toLowerCase().contains(lowerCaseFilter) ||
-                String.valueOf(movie.getYear()).contains(lowerCaseFilter) || 
-                (movie.getCategories() != null && movie.getCategories().toLowerCase().contains(lowerCaseFilter));
+        List<Movie> matches = query(queryText);
+        if (mode.comparator() != null) matches.sort(mode.comparator());
+        int from = Math.min(matches.size(), Math.max(0, offset));
+        int to = (int) Math.min(matches.size(), (long) from + Math.max(0, limit));
+        return new ArrayList<>(matches.subList(from, to));
+    }
+
+    /**
+     * Parsează interogarea și ordonează clauzele după selectivitate (pe firul JavaFX, unde sunt citite fațetele).
+     */
+    private MovieQuery compile(String queryText) {
+        return MovieQuery.parse(queryText, searchIndex).plan(facetModel, allMovies.size());
+    }
+
+    /**
+     * Varianta pentru căutarea "live": interogarea rulează pe firul de căutare, iar rezultatul
+     * este aplicat pe firul JavaFX doar dacă între timp nu a fost pornită o interogare mai nouă.
+     * O căutare anterioară încă în curs este anulată.
+     */
+    public void filterMoviesAsync(String searchText) {
+        cancelPendingSearch();
+        MovieQuery query = compile(searchText);
+        if (query.isEmpty()) {
+            applyFilter(query, null);
+            return;
+        }
+
+        // Firul de căutare lucrează pe o copie a listei; planul a fost deja calculat aici
+        List<Movie> snapshot = new ArrayList<>(allMovies);
+        long generation = searchGeneration;
+        List<MovieChange> changes = new ArrayList<>();
+        changesDuringSearch = changes;
+        pendingSearch = searchExecutor.submit(() -> {
+            MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.FILTER, searchText);
+            event.start();
+            Set<Movie> matches = query.execute(snapshot);
+            if (Thread.currentThread().isInterrupted()) return; // anulată: rezultatul ar fi parțial
+            event.finish(matches.size());
+
+            Platform.runLater(() -> {
+                if (generation != searchGeneration) return;
+                // Filmele adăugate/șterse în timpul căutării sunt reverificate, în ordinea în care au apărut
+                for (MovieChange change: changes) {
+                    Movie movie = change.getMovie();
+                    if (change.getType() == MovieChange.Type.DELETE) {
+                        matches.remove(movie);
+                    } else if (query.test(movie)) {
+                        matches.add(movie);
+                    }
+                }
+                pendingSearch = null;
+                changesDuringSearch = null;
+                applyFilter(query, matches);
+            });
         });
     }
 
+    private void cancelPendingSearch() {
+        searchGeneration++;
+        changesDuringSearch = null;
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+            pendingSearch = null;
+        }
+    }
+
+    private void applyFilter(MovieQuery query, Set<Movie> matches) {
+        currentQuery = query;
+        currentMatches = matches;
+        if (matches == null) {
+            filteredMovies.setPredicate(movie -> true);
+        } else {
+            filteredMovies.setPredicate(matches::contains);
+        }
+    }
+
     /**
      * Adaugă un film nou în memorie și persistă datele pe disc.
      * @throws InvalidMovieDataException Dacă datele introduse nu respectă regulile de business.
@@ -81,6 +622,26 @@ public class MovieService {
     throws InvalidMovieDataException {
 
         // Validări riguroase înainte de a crea obiectul
+        validate(title, year, rating);
+
+        MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.ADD, title);
+        event.start();
+        Movie newMovie = Movie.of(title, director, year, path, categories, rating, imdbId);
+        
+        // Adăugarea în listă declanșează actualizarea automată a UI-ului (datorită ObservableList)
+        this.allMovies.add(newMovie);
+        
+        // Salvare permanentă: o înregistrare nouă în jurnal, scrisă în fundal de persister
+        persister.enqueueAdd(newMovie);
+        collectionChanged();
+        event.finish(1);
+    }
+
+    /**
+     * Regulile de business pentru un film nou, aceleași pentru adăugarea manuală și pentru import.
+     * @throws InvalidMovieDataException Dacă datele nu respectă regulile.
+     */
+    public static void validate(String title, int year, double rating) throws InvalidMovieDataException {
         if (title == null || title.trim().isEmpty()) {
             throw new InvalidMovieDataException("Titlul filmului nu poate fi gol!");
         }
@@ -92,14 +653,22 @@ public class MovieService {
         if (year < 1888 || year > 2100) {
             throw new InvalidMovieDataException("Anul lansării este invalid!");
         }
+    }
 
-        Movie newMovie = new Movie(title, director, year, path, categories, rating, imdbId);
-        
-        // Adăugarea în listă declanșează actualizarea automată a UI-ului (datorită ObservableList)
-        this.allMovies.add(newMovie);
-        
-        // Salvare permanentă în fișier (JSON/TXT prin MovieRepo)
-        movieRepo.saveMovies(allMovies);
+    /**
+     * Filmele care respectă regulile din validate(); celelalte sunt raportate în consolă și ignorate.
+     */
+    public static List<Movie> validOnly(List<Movie> movies) {
+        List<Movie> valid = new ArrayList<>(movies.size());
+        for (Movie m: movies) {
+            try {
+                validate(m.getTitle(), m.getYear(), m.getRating());
+                valid.add(m);
+            } catch (InvalidMovieDataException e) {
+                System.err.println("Film ignorat la import (" + m.getTitle() + ", " + m.getYear() + "): " + e.getMessage());
+            }
+        }
+        return valid;
     }
 
     /**
@@ -107,69 +676,165 @@ public class MovieService {
      */
     public void deleteMovie(Movie movie) {
         if (movie != null) {
+            MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.DELETE, movie.getTitle());
+            event.start();
+
             // Eliminăm din lista RAM
             this.allMovies.remove(movie);
 
-            // Actualizăm fișierul fizic pentru a reflecta ștergerea
-            movieRepo.saveMovies(allMovies);
+            // Marcăm ștergerea în jurnal pentru a o reflecta pe disc
+            persister.enqueueDelete(movie);
+            collectionChanged();
+            event.finish(1);
         }
     }
 
-    // 4. LOGICA MEDIA (PLAYER & COPERTĂ)
     /**
-     * Deschide fișierul video asociat filmului folosind player-ul implicit al sistemului de operare.
-     * Caută primul fișier .mp4 din folderul specificat al filmului.
+     * Creează task-ul de import în masă: parcurge în paralel folderul rădăcină și găsește filmele noi.
+     * Task-ul doar scanează; filmele găsite se adaugă apoi cu commitImported(), pe firul JavaFX.
      */
-    public void playMovie(Movie movie) {
-        if (movie.getMoviePath() == null || movie.getMoviePath().isEmpty()) return;
+    public Task<List<Movie>> createImportTask(File root) {
+        // Căile existente sunt copiate acum, pe firul JavaFX, pentru a fi citite în siguranță din fundal
+        Set<String> knownPaths = allMovies.stream()
+            .map(Movie::getMoviePath)
+            .filter(p -> p != null && !p.isEmpty())
+            .collect(Collectors.toCollection(HashSet::new));
+        MediaImporter importer = new MediaImporter(mediaIndex);
+
+        return new Task<List<Movie>>() {
+            @Override
+            protected List<Movie> call() {
+                updateMessage("Se scanează " + root.getAbsolutePath() + "...");
+                return importer.scan(root, knownPaths, (folders, found) ->
+                    updateMessage(folders + " foldere scanate, " + found + " filme găsite"));
+            }
+        };
+    }
 
-        File dir = new File(movie.getMoviePath());
+    /**
+     * Adaugă filmele importate într-un singur lot: o singură notificare pentru UI și o singură scriere în jurnal.
+     * Filmele care nu trec validarea de la addMovie() sunt ignorate.
+     * @return Numărul de filme adăugate efectiv.
+     */
+    public int commitImported(List<Movie> imported) {
+        // Între timp utilizatorul poate să fi adăugat manual unele dintre filme
+        Set<String> knownPaths = allMovies.stream().map(Movie::getMoviePath).collect(Collectors.toSet());
+        List<Movie> fresh = validOnly(imported).stream()
+            .filter(m -> !knownPaths.contains(m.getMoviePath()))
+            .collect(Collectors.toList());
+        if (fresh.isEmpty()) return 0;
+
+        allMovies.addAll(fresh);
+        persister.enqueueAddAll(fresh);
+        collectionChanged();
+        return fresh.size();
+    }
 
-        if (dir.exists() && dir.isDirectory()) {
-            // Filtrăm folderul pentru a găsi doar fișiere video
-            File[] videoFiles = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".mp4"));
+    /**
+     * Apelat după fiecare modificare făcută de utilizator: amână compactarea la inactivitate și verifică pragul normal.
+     */
+    private void collectionChanged() {
+        lastChange = System.nanoTime();
+        compactIfNeeded();
+    }
 
-            if (videoFiles != null && videoFiles.length > 0) {
-                try {
-                    // Lansează aplicația default a sistemului (ex: VLC, Windows Media Player)
-                    Desktop.getDesktop().open(videoFiles[0]);
-                } catch (IOException e) {
-                    System.err.println("Eroare la deschiderea player-ului: " + e.getMessage());
-                }
-            }
+    /**
+     * Când jurnalul devine prea mare, îl comasăm în fișierul principal pe un fir de fundal.
+     */
+    private void compactIfNeeded() {
+        // Un snapshot făcut în timpul încărcării ar conține doar o parte din colecție
+        if (loading.get()) return;
+        if (movieRepo.needsCompaction()) {
+            persister.enqueueCompaction(allMovies);
         }
     }
 
     /**
-     * Caută o imagine (JPG/PNG) în folderul filmului pentru a fi folosită ca poster.
-     * @return Imaginea găsită sau o imagine de tip "placeholder" dacă nu există.
+     * Forțează scrierea pe disc a tuturor modificărilor aflate încă în coadă.
      */
-    public Image getMovieCover(Movie movie) {
-        if (movie.getMoviePath() == null || movie.getMoviePath().isEmpty()) {
-            return getDefaultCover();
-        }
+    public void flush() {
+        persister.flush();
+    }
 
-        File dir = new File(movie.getMoviePath());
+    /**
+     * Salvează tot ce a rămas nescris și eliberează firele de fundal.
+     * Trebuie apelat înainte de logout sau la închiderea aplicației.
+     */
+    public void shutdown() {
+        if (syncExecutor != null) syncExecutor.shutdownNow();
+        searchExecutor.shutdownNow();
+        persister.shutdown();
+        coverCache.shutdown();
+    }
 
-        if (dir.exists() && dir.isDirectory()) {
-            File[] imageFiles = dir.listFiles((d, name) ->
-                name.toLowerCase().endsWith(".jpg") || name.toLowerCase().endsWith(".png")
-            );
+    // 4. LOGICA MEDIA (PLAYER & COPERTĂ)
+    /**
+     * Filmele din colecție cele mai asemănătoare cu cel dat (gen, regizor, an, rating), de la cel mai apropiat.
+     */
+    public List<Movie> similarMovies(Movie movie) {
+        MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.SIMILAR, movie.getTitle());
+        event.start();
+        List<Movie> similar = recommendations.similar(movie, RecommendationEngine.K);
+        event.finish(similar.size());
+        return similar;
+    }
 
-            if (imageFiles != null && imageFiles.length > 0) {
-                // Returnează prima imagine găsită în folder
-                return new Image(imageFiles[0].toURI().toString());
+    /**
+     * Deschide fișierul video asociat filmului folosind player-ul implicit al sistemului de operare.
+     * Folosește primul fișier .mp4 din folderul filmului, așa cum a fost găsit de indexul media.
+     */
+    public void playMovie(Movie movie) {
+        String path = movie.getMoviePath();
+        if (path == null || path.isEmpty()) return;
+
+        // Folosim intrarea deja scanată; doar dacă folderul nu a fost încă indexat îl citim acum
+        MediaFolderIndex.Entry media = mediaIndex.get(path);
+        if (media == null) media = mediaIndex.resolve(path);
+
+        if (media.getVideo() != null) {
+            try {
+                // Lansează aplicația default a sistemului (ex: VLC, Windows Media Player)
+                Desktop.getDesktop().open(media.getVideo());
+            } catch (IOException e) {
+                System.err.println("Eroare la deschiderea player-ului: " + e.getMessage());
             }
         }
+    }
 
+    /**
+     * Returnează imediat coperta filmului dacă este deja în cache, altfel imaginea "placeholder".
+     * Găsirea imaginii (JPG/PNG) în folderul filmului și decodarea ei se fac în fundal;
+     * când coperta este gata, onLoaded primește imaginea pe firul JavaFX.
+     */
+    public Image getMovieCover(Movie movie, Consumer<Image> onLoaded) {
+        String path = movie.getMoviePath();
+        if (path == null || path.isEmpty()) {
+            return getDefaultCover();
+        }
+
+        Image cached = coverCache.get(path);
+        if (cached != null) {
+            Metrics.increment("service.cover.hit");
+            return cached;
+        }
+        Metrics.increment("service.cover.miss");
+
+        // Localizarea copertei rulează pe firul de decodare, folosind indexul de foldere media
+        coverCache.load(path, () -> mediaIndex.resolve(path).getCover(), image -> {
+            if (image != null) onLoaded.accept(image);
+        });
         return getDefaultCover();
     }
 
     /**
      * Returnează o imagine de rezervă în cazul în care filmul nu are copertă.
+     * Este creată o singură dată și încărcată în fundal.
      */
     private Image getDefaultCover() {
-        return new Image("https://via.placeholder.com/150x200?text=No+Cover");
+        if (defaultCover == null) {
+            defaultCover = new Image("https://via.placeholder.com/150x200?text=No+Cover", true);
+        }
+        return defaultCover;
     }
 
     /**
@@ -177,39 +842,34 @@ public class MovieService {
      * @param file Fișierul destinație unde va fi scris raportul.
      */
     public void generateReport(File file) {
-        try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println("==========================================");
-            writer.println("      RAPORT COLECȚIE FILME - MANAGER     ");
-            writer.println("==========================================\n");
-
-            // 1. Grupăm filmele folosind Java Streams (Stream API)
-            // Rezultă un Map unde cheia e Categoria și valoarea e Lista de filme din acea categorie
-            Map < String, List<Movie>> groupedMovies = allMovies.stream()
-                .collect(Collectors.groupingBy(m -> m.getCategories() != null && !m.getCategories().isEmpty() ?
-                    m.getCategories() : "Fără Categorie"));
-
-            // 2. Parcurgem Map-ul pentru a scrie în fișier
-            groupedMovies.forEach((category, movies) -> {
-                writer.println("CATEGORIE: " + category.toUpperCase());
-                writer.println("------------------------------------------");
-
-                // 3. Sortăm filmele din categoria curentă alfabetic după titlu
-                List<Movie> sortedMovies = movies.stream()
-                .sorted(Comparator.comparing(Movie::getTitle))
-                .collect(Collectors.toList());
-
-                for (Movie m: sortedMovies) {
-                    // Formatăm linia pentru o lizibilitate crescută
-                    writer.printf("- %s | Regizor: %s | An: %d | Rating: %.1f | IMDB: %s\n",
-                        m.getTitle(), m.getDirector(), m.getYear(), m.getRating(), m.getImdbId());
-                }
-
-                writer.println(); // Linie goală între categorii
-            });
+        generateReport(file, ReportFormat.TEXT);
+    }
 
+    /**
+     * Generează sincron raportul în formatul ales (text, CSV, JSON sau HTML).
+     */
+    public void generateReport(File file, ReportFormat format) {
+        try {
+            ReportGenerator.generate(new ArrayList<>(allMovies), file, format, null, () -> false);
             System.out.println("Raport generat cu succes la: " + file.getAbsolutePath());
         } catch (IOException e) {
             System.err.println("Eroare la generarea raportului: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creează un task care generează raportul în fundal, cu progres și posibilitate de anulare.
+     * Lista de filme este copiată acum, pe firul JavaFX; task-ul nu mai atinge colecția observabilă.
+     */
+    public Task<Void> createReportTask(File file, ReportFormat format) {
+        List<Movie> snapshot = new ArrayList<>(allMovies);
+        return new Task<Void>() {
+            @Override
+            protected Void call() throws IOException {
+                updateMessage("Se generează raportul...");
+                ReportGenerator.generate(snapshot, file, format, this::updateProgress, this::isCancelled);
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,415 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Recomandări "Filme asemănătoare": cei mai apropiați K vecini ai unui film din colecție.
+ *
+ * Scorul combină genurile comune (Jaccard), același regizor, apropierea anului și a rating-ului.
+ * Candidații vin dintr-un index inversat gen/regizor, deci un film este comparat doar cu filmele
+ * care au cel puțin un gen sau regizorul în comun, nu cu toată colecția. Filmele cu aceleași genuri
+ * formează un grup, împărțit pe ani: grupurile sunt parcurse de la cel mai asemănător set de genuri,
+ * iar în grup anii de la cel mai apropiat, și căutarea se oprește când scorul maxim posibil al
+ * restului nu mai poate intra în primii K. Datele folosite la scor stau în tablouri pe poziții
+ * (slot-uri), ca o comparație să nu atingă obiectele Movie sau șiruri.
+ *
+ * Lista de vecini a unui film este calculată la prima cerere și apoi păstrată: add() și remove()
+ * o actualizează incremental, așa că cererile următoare doar o citesc.
+ * Clasa nu este sincronizată; MovieService o folosește numai de pe firul care modifică colecția.
+ */
+public class RecommendationEngine {
+
+    // Câți vecini păstrăm pentru fiecare film
+    public static final int K = 10;
+
+    // Ponderile componentelor scorului (suma = 1)
+    private static final double GENRE_WEIGHT = 0.5;
+    private static final double DIRECTOR_WEIGHT = 0.3;
+    private static final double YEAR_WEIGHT = 0.1;
+    private static final double RATING_WEIGHT = 0.1;
+    // Diferența de ani de la care apropierea anului nu mai contează
+    private static final int YEAR_SPAN = 15;
+
+    private static final int[] NO_GENRES = new int[0];
+
+    // Slot-ul fiecărui film; slot-urile eliberate la ștergere sunt refolosite
+    private final Map<Movie, Integer> slots = new IdentityHashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private int capacity;
+
+    // Coloanele pe slot
+    private Movie[] movies = new Movie[0];
+    private int[][] genres = new int[0][];
+    // Genurile cu id < 64 ca mască de biți (scorul le compară cu bitCount); restul, rare, din genres
+    private long[] genreMasks = new long[0];
+    private boolean[] extraGenres = new boolean[0];
+    private int[] directors = new int[0];
+    private int[] years = new int[0];
+    private double[] ratings = new double[0];
+    private Neighbours[] neighbours = new Neighbours[0];
+    private GenreGroup[] groups = new GenreGroup[0];
+
+    // Indexul inversat: gen -> grupurile care îl conțin, regizor -> slot-urile filmelor
+    private final Map<String, Integer> genreIds = new HashMap<>();
+    private final Map<String, Integer> directorIds = new HashMap<>();
+    private final Map<String, GenreGroup> groupsByGenres = new HashMap<>();
+    private final List<List<GenreGroup>> groupsByGenre = new ArrayList<>();
+    private final List<IntList> directorPostings = new ArrayList<>();
+
+    // Slot-urile care au o listă de vecini calculată
+    private final BitSet cached = new BitSet();
+
+    // Marcaj pentru deduplicarea candidaților veniți din mai multe liste de postare
+    private int[] seen = new int[0];
+    private int epoch;
+
+    /**
+     * Vecinii unui film, ordonați descrescător după scor.
+     */
+    private static final class Neighbours {
+        final int[] slots = new int[K];
+        final double[] scores = new double[K];
+        int size;
+
+        /**
+         * Inserează candidatul dacă intră în primii K.
+         */
+        void offer(int slot, double score) {
+            if (size == K && score <= scores[K - 1]) return;
+            int pos = size < K ? size++ : K - 1;
+            while (pos > 0 && scores[pos - 1] < score) {
+                slots[pos] = slots[pos - 1];
+                scores[pos] = scores[pos - 1];
+                pos--;
+            }
+            slots[pos] = slot;
+            scores[pos] = score;
+        }
+
+        /**
+         * Cel mai mic scor care mai poate intra în listă (0 cât timp lista nu este plină).
+         */
+        double threshold() {
+            return size < K ? 0 : scores[K - 1];
+        }
+
+        boolean contains(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Filmele cu exact același set de genuri, pe ani. Toate au același Jaccard față de un film dat.
+     */
+    private static final class GenreGroup {
+        final int[] genres;
+        final TreeMap<Integer, IntList> byYear = new TreeMap<>();
+        // Ultima căutare care a ales grupul (un grup apare la fiecare gen comun)
+        int mark;
+        double genreScore;
+
+        GenreGroup(int[] genres) {
+            this.genres = genres;
+        }
+    }
+
+    /**
+     * Listă de int care crește la nevoie (fără Integer pentru fiecare element).
+     */
+    private static final class IntList {
+        int[] items = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == value) {
+                    items[i] = items[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    public void add(Movie movie) {
+        if (slots.containsKey(movie)) return;
+        int slot = freeSlots.isEmpty() ? capacity++ : freeSlots.remove(freeSlots.size() - 1);
+        ensureCapacity(capacity);
+        slots.put(movie, slot);
+
+        movies[slot] = movie;
+        genres[slot] = genreIdsOf(movie);
+        genreMasks[slot] = maskOf(genres[slot]);
+        extraGenres[slot] = genres[slot].length > Long.bitCount(genreMasks[slot]);
+        directors[slot] = directorIdOf(movie);
+        years[slot] = movie.getYear();
+        ratings[slot] = movie.getRating();
+        if (genres[slot].length > 0) {
+            groups[slot] = groupOf(genres[slot]);
+            groups[slot].byYear.computeIfAbsent(years[slot], y -> new IntList()).add(slot);
+        }
+        if (directors[slot] >= 0) directorPostings.get(directors[slot]).add(slot);
+
+        // Noul film poate intra în listele deja calculate; celelalte vor fi calculate la cerere
+        for (int owner = cached.nextSetBit(0); owner >= 0; owner = cached.nextSetBit(owner + 1)) {
+            if (related(owner, slot)) neighbours[owner].offer(slot, score(owner, slot));
+        }
+    }
+
+    public void remove(Movie movie) {
+        Integer removed = slots.remove(movie);
+        if (removed == null) return;
+        int slot = removed;
+
+        if (groups[slot] != null) {
+            IntList sameYear = groups[slot].byYear.get(years[slot]);
+            sameYear.remove(slot);
+            if (sameYear.size == 0) groups[slot].byYear.remove(years[slot]);
+            groups[slot] = null;
+        }
+        if (directors[slot] >= 0) directorPostings.get(directors[slot]).remove(slot);
+        movies[slot] = null;
+        genres[slot] = NO_GENRES;
+        genreMasks[slot] = 0;
+        extraGenres[slot] = false;
+        directors[slot] = -1;
+        neighbours[slot] = null;
+        cached.clear(slot);
+        freeSlots.add(slot);
+
+        // Listele din care lipsește acum un vecin sunt recalculate la următoarea cerere
+        for (int owner = cached.nextSetBit(0); owner >= 0; owner = cached.nextSetBit(owner + 1)) {
+            if (neighbours[owner].contains(slot)) {
+                neighbours[owner] = null;
+                cached.clear(owner);
+            }
+        }
+    }
+
+    /**
+     * Filmele cele mai asemănătoare cu cel dat, de la cel mai apropiat.
+     * @param limit Numărul maxim de rezultate (cel mult K).
+     * @return Lista (posibil goală) sau o listă goală dacă filmul nu este în colecție.
+     */
+    public List<Movie> similar(Movie movie, int limit) {
+        Integer slot = slots.get(movie);
+        if (slot == null) return new ArrayList<>();
+        Neighbours list = neighbours[slot];
+        if (list == null) {
+            list = compute(slot);
+            neighbours[slot] = list;
+            cached.set(slot);
+        }
+        List<Movie> result = new ArrayList<>(Math.min(limit, list.size));
+        for (int i = 0; i < list.size && i < limit; i++) {
+            result.add(movies[list.slots[i]]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Caută vecinii printre filmele cu un gen sau regizorul în comun; fiecare candidat este evaluat cel mult o dată.
+     */
+    private Neighbours compute(int slot) {
+        Neighbours list = new Neighbours();
+        epoch++;
+        seen[slot] = epoch;
+
+        // Același regizor: puțini candidați, dar singurii care pot primi bonusul de regizor
+        if (directors[slot] >= 0) offerAll(list, slot, directorPostings.get(directors[slot]));
+
+        // Restul nu mai au regizorul în comun: scorul lor este cel mult genuri + an + rating
+        List<GenreGroup> candidates = new ArrayList<>();
+        for (int genre: genres[slot]) {
+            for (GenreGroup group: groupsByGenre.get(genre)) {
+                if (group.mark == epoch) continue;
+                group.mark = epoch;
+                group.genreScore = GENRE_WEIGHT * jaccard(genres[slot], group.genres);
+                candidates.add(group);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble((GenreGroup g) -> g.genreScore).reversed());
+        for (GenreGroup group: candidates) {
+            // Grupurile următoare au un Jaccard cel mult egal, deci nu pot depăși pragul
+            if (group.genreScore + YEAR_WEIGHT + RATING_WEIGHT <= list.threshold()) break;
+            scanGroup(list, slot, group);
+        }
+        return list;
+    }
+
+    /**
+     * Parcurge anii grupului de la cel mai apropiat de anul filmului, cât timp mai pot apărea scoruri mai mari.
+     */
+    private void scanGroup(Neighbours list, int slot, GenreGroup group) {
+        int year = years[slot];
+        Iterator<Map.Entry<Integer, IntList>> down = group.byYear.headMap(year, true).descendingMap().entrySet().iterator();
+        Iterator<Map.Entry<Integer, IntList>> up = group.byYear.tailMap(year, false).entrySet().iterator();
+        Map.Entry<Integer, IntList> before = down.hasNext() ? down.next() : null;
+        Map.Entry<Integer, IntList> after = up.hasNext() ? up.next() : null;
+        while (before != null || after != null) {
+            Map.Entry<Integer, IntList> next;
+            if (after == null || (before != null && year - before.getKey() <= after.getKey() - year)) {
+                next = before;
+                before = down.hasNext() ? down.next() : null;
+            } else {
+                next = after;
+                after = up.hasNext() ? up.next() : null;
+            }
+            if (group.genreScore + YEAR_WEIGHT * yearCloseness(year, next.getKey()) + RATING_WEIGHT <= list.threshold()) return;
+            offerAll(list, slot, next.getValue());
+        }
+    }
+
+    private void offerAll(Neighbours list, int slot, IntList candidates) {
+        int[] items = candidates.items;
+        for (int i = 0; i < candidates.size; i++) {
+            int other = items[i];
+            if (seen[other] == epoch) continue;
+            seen[other] = epoch;
+            list.offer(other, score(slot, other));
+        }
+    }
+
+    private boolean related(int a, int b) {
+        if (a == b) return false;
+        if (directors[a] >= 0 && directors[a] == directors[b]) return true;
+        if ((genreMasks[a] & genreMasks[b]) != 0) return true;
+        if (!extraGenres[a] || !extraGenres[b]) return false;
+        for (int genre: genres[a]) {
+            if (Arrays.binarySearch(genres[b], genre) >= 0) return true;
+        }
+        return false;
+    }
+
+    private double score(int a, int b) {
+        double score = GENRE_WEIGHT * jaccard(a, b);
+        if (directors[a] >= 0 && directors[a] == directors[b]) score += DIRECTOR_WEIGHT;
+        score += YEAR_WEIGHT * yearCloseness(years[a], years[b]);
+        score += RATING_WEIGHT * (1 - Math.min(1, Math.abs(ratings[a] - ratings[b]) / 10));
+        return score;
+    }
+
+    /**
+     * 1 pentru același an, scade liniar până la 0 la YEAR_SPAN ani distanță; 0 dacă un an lipsește.
+     */
+    private static double yearCloseness(int a, int b) {
+        if (a <= 0 || b <= 0) return 0;
+        return Math.max(0, 1 - Math.abs(a - b) / (double) YEAR_SPAN);
+    }
+
+    /**
+     * |A ∩ B| / |A ∪ B| pentru genurile a două filme.
+     */
+    private double jaccard(int a, int b) {
+        if (extraGenres[a] && extraGenres[b]) return jaccard(genres[a], genres[b]);
+        // Dacă doar unul are genuri cu id >= 64, acestea nu pot fi comune și contează doar la reuniune
+        int common = Long.bitCount(genreMasks[a] & genreMasks[b]);
+        int union = genres[a].length + genres[b].length - common;
+        return union == 0 ? 0 : common / (double) union;
+    }
+
+    private static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) return 0;
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common / (double) (a.length + b.length - common);
+    }
+
+    private int[] genreIdsOf(Movie movie) {
+        Set<String> names = FacetModel.categoriesOf(movie);
+        if (names.isEmpty()) return NO_GENRES;
+        int[] ids = new int[names.size()];
+        int n = 0;
+        for (String name: names) {
+            Integer id = genreIds.get(name);
+            if (id == null) {
+                id = groupsByGenre.size();
+                genreIds.put(name, id);
+                groupsByGenre.add(new ArrayList<>());
+            }
+            ids[n++] = id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private GenreGroup groupOf(int[] ids) {
+        String key = Arrays.toString(ids);
+        GenreGroup group = groupsByGenres.get(key);
+        if (group == null) {
+            group = new GenreGroup(ids);
+            groupsByGenres.put(key, group);
+            for (int id: ids) groupsByGenre.get(id).add(group);
+        }
+        return group;
+    }
+
+    private static long maskOf(int[] ids) {
+        long mask = 0;
+        for (int id: ids) {
+            if (id < 64) mask |= 1L << id;
+        }
+        return mask;
+    }
+
+    private int directorIdOf(Movie movie) {
+        String director = movie.getDirector();
+        if (director == null || director.isBlank()) return -1;
+        Integer id = directorIds.get(director);
+        if (id == null) {
+            id = directorPostings.size();
+            directorIds.put(director, id);
+            directorPostings.add(new IntList());
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= movies.length) return;
+        int length = Math.max(needed, Math.max(16, movies.length * 2));
+        movies = Arrays.copyOf(movies, length);
+        genres = Arrays.copyOf(genres, length);
+        genreMasks = Arrays.copyOf(genreMasks, length);
+        extraGenres = Arrays.copyOf(extraGenres, length);
+        directors = Arrays.copyOf(directors, length);
+        years = Arrays.copyOf(years, length);
+        ratings = Arrays.copyOf(ratings, length);
+        neighbours = Arrays.copyOf(neighbours, length);
+        groups = Arrays.copyOf(groups, length);
+        seen = Arrays.copyOf(seen, length);
+    }
+}
@@ -0,0 +1,44 @@
+package lex.application.logic;
+
+import java.io.Writer;
+
+/**
+ * Formatele disponibile pentru exportul raportului.
+ */
+public enum ReportFormat {
+    TEXT("Fișier Text", "txt"),
+    CSV("CSV", "csv"),
+    JSON("JSON", "json"),
+    HTML("Pagină HTML", "html");
+
+    private final String description;
+    private final String extension;
+
+    ReportFormat(String description, String extension) {
+        this.description = description;
+        this.extension = extension;
+    }
+
+    public String getDescription() { return description; }
+    public String getExtension() { return extension; }
+
+    /**
+     * Alege formatul după extensia fișierului (implicit TEXT, ca raportul clasic).
+     */
+    public static ReportFormat forFileName(String name) {
+        String lower = name.toLowerCase();
+        for (ReportFormat format: values()) {
+            if (lower.endsWith("." + format.extension)) return format;
+        }
+        return TEXT;
+    }
+
+    ReportWriter createWriter(Writer out) {
+        switch (this) {
+            case CSV: return new ReportWriter.Csv(out);
+            case JSON: return new ReportWriter.Json(out);
+            case HTML: return new ReportWriter.Html(out);
+            default: return new ReportWriter.Text(out);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package lex.application.logic;
+
+import lex.application.metrics.MovieServiceEvent;
+import lex.application.model.Movie;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Generează raportul ca un flux: filmele sunt parcurse o singură dată, sortate după categorie și titlu,
+ * și trimise direct către ReportWriter, care scrie printr-un canal cu buffer.
+ *
+ * Filmele sunt citite din Iterable în loturi de cel mult RUN_SIZE. O colecție care încape într-un lot
+ * este sortată în memorie; altfel fiecare lot devine un "run" sortat, scris într-un fișier temporar,
+ * iar run-urile sunt interclasate la scriere. Pe lângă sursa primită, generarea ține deci în memorie
+ * cel mult RUN_SIZE filme; dacă sursa este o listă (ca în MovieService), lista însăși rămâne în memorie.
+ * Run-urile păstrează exact valorile filmelor (inclusiv null), deci raportul este identic pe ambele căi.
+ */
+public class ReportGenerator {
+
+    /**
+     * Progresul generării (filme scrise din total, sau -1 dacă totalul nu se cunoaște);
+     * apelat de pe firul care generează raportul.
+     */
+    public interface Progress {
+        void update(long done, long total);
+    }
+
+    static final String NO_CATEGORY = "Fără Categorie";
+
+    // Numărul maxim de filme sortate în memorie; peste el se folosește sortarea externă
+    private static final int RUN_SIZE = 100_000;
+    private static final int PROGRESS_STEP = 1000;
+
+    private static final Comparator<Movie> ORDER = Comparator
+        .comparing(ReportGenerator::categoryOf)
+        .thenComparing(m -> m.getTitle() == null ? "" : m.getTitle());
+
+    private ReportGenerator() {}
+
+    static String categoryOf(Movie m) {
+        return m.getCategories() != null && !m.getCategories().isEmpty() ? m.getCategories() : NO_CATEGORY;
+    }
+
+    /**
+     * Scrie raportul în fișier. Dacă generarea este anulată, fișierul parțial este șters.
+     * @param movies Filmele raportului, parcurse o singură dată; nu trebuie modificate în timpul generării.
+     * @throws CancellationException dacă cancelled devine true în timpul scrierii.
+     */
+    public static void generate(Iterable<? extends Movie> movies, File file, ReportFormat format,
+                                Progress progress, BooleanSupplier cancelled) throws IOException {
+        MovieServiceEvent event = new MovieServiceEvent(MovieServiceEvent.REPORT, format.name());
+        event.start();
+        List<File> runs = new ArrayList<>();
+        Iterator<Movie> sorted = null;
+        boolean completed = false;
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), 1 << 16), 1 << 16)) {
+
+            Iterator<? extends Movie> source = movies.iterator();
+            List<Movie> first = nextRun(source);
+            if (source.hasNext()) {
+                sorted = sortExternally(first, source, runs, cancelled);
+            } else {
+                first.sort(ORDER);
+                sorted = first.iterator();
+            }
+
+            ReportWriter writer = format.createWriter(out);
+            writer.begin();
+
+            String currentCategory = null;
+            long done = 0;
+            long total = movies instanceof Collection ? ((Collection<?>) movies).size() : -1;
+            while (sorted.hasNext()) {
+                Movie m = sorted.next();
+                String category = categoryOf(m);
+                if (!category.equals(currentCategory)) {
+                    if (currentCategory != null) writer.endCategory();
+                    writer.beginCategory(category);
+                    currentCategory = category;
+                }
+                writer.movie(m);
+
+                if (++done % PROGRESS_STEP == 0) {
+                    if (cancelled.getAsBoolean()) throw new CancellationException("Generarea raportului a fost anulată.");
+                    if (progress != null) progress.update(done, total);
+                }
+            }
+            if (currentCategory != null) writer.endCategory();
+            writer.end();
+            if (progress != null) progress.update(done, done);
+            completed = true;
+            event.finish((int) done);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (sorted instanceof Closeable) ((Closeable) sorted).close();
+            for (File run: runs) run.delete();
+            if (!completed) file.delete();
+        }
+    }
+
+    // Următoarele cel mult RUN_SIZE filme din sursă
+    private static List<Movie> nextRun(Iterator<? extends Movie> source) {
+        List<Movie> run = new ArrayList<>();
+        while (run.size() < RUN_SIZE && source.hasNext()) run.add(source.next());
+        return run;
+    }
+
+    /**
+     * Sortează fiecare lot de câte RUN_SIZE filme, îl scrie pe disc și returnează un iterator care interclasează run-urile.
+     */
+    private static Iterator<Movie> sortExternally(List<Movie> first, Iterator<? extends Movie> source,
+                                                  List<File> runs, BooleanSupplier cancelled) throws IOException {
+        List<Movie> run = first;
+        while (!run.isEmpty()) {
+            if (cancelled.getAsBoolean()) throw new CancellationException("Generarea raportului a fost anulată.");
+
+            run.sort(ORDER);
+            File runFile = Files.createTempFile("lex-report-run", ".bin").toFile();
+            runFile.deleteOnExit();
+            runs.add(runFile);
+            try (DataOutputStream w = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile), 1 << 16))) {
+                for (Movie m: run) writeMovie(w, m);
+            }
+            run = nextRun(source);
+        }
+        return new MergeIterator(runs);
+    }
+
+    // Toate câmpurile, exact (un șir null rămâne null), ca filmele interclasate să fie identice cu cele primite
+    private static void writeMovie(DataOutputStream out, Movie m) throws IOException {
+        writeString(out, m.getTitle());
+        writeString(out, m.getDirector());
+        out.writeInt(m.getYear());
+        writeString(out, m.getMoviePath());
+        writeString(out, m.getCategories());
+        out.writeDouble(m.getRating());
+        writeString(out, m.getImdbId());
+    }
+
+    private static Movie readMovie(DataInputStream in) throws IOException {
+        return Movie.of(readString(in), readString(in), in.readInt(), readString(in), readString(in),
+            in.readDouble(), readString(in));
+    }
+
+    // Lungimea în octeți (-1 pentru null) urmată de octeții UTF-8; writeUTF ar limita câmpul la 65535 de octeți
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Interclasare k-way a run-urilor sortate; la egalitate câștigă run-ul anterior, deci ordinea rămâne stabilă.
+     */
+    private static class MergeIterator implements Iterator<Movie>, Closeable {
+        private static class Head {
+            final Movie movie;
+            final int run;
+            Head(Movie movie, int run) { this.movie = movie; this.run = run; }
+        }
+
+        private final List<DataInputStream> readers = new ArrayList<>();
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(
+            Comparator.<Head, Movie>comparing(h -> h.movie, ORDER).thenComparingInt(h -> h.run));
+
+        MergeIterator(List<File> runs) throws IOException {
+            try {
+                for (File run: runs) {
+                    readers.add(new DataInputStream(new BufferedInputStream(new FileInputStream(run), 1 << 16)));
+                    advance(readers.size() - 1);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // Iteratorul nu ajunge la apelant, deci închidem aici run-urile deja deschise
+                for (DataInputStream reader: readers) {
+                    try {
+                        reader.close();
+                    } catch (IOException closeError) {
+                        e.addSuppressed(closeError);
+                    }
+                }
+                throw e;
+            }
+        }
+
+        private void advance(int run) {
+            DataInputStream reader = readers.get(run);
+            try {
+                heads.add(new Head(readMovie(reader), run));
+            } catch (EOFException e) {
+                try {
+                    reader.close();
+                } catch (IOException closeError) {
+                    throw new UncheckedIOException(closeError);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream reader: readers) reader.close();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Movie next() {
+            Head head = heads.poll();
+            if (head == null) throw new NoSuchElementException();
+            advance(head.run);
+            return head.movie;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Scrie raportul incremental: primește filmele deja sortate, categorie cu categorie,
+ * și le scrie imediat, fără a ține tot raportul în memorie.
+ */
+abstract class ReportWriter {
+
+    protected final Writer out;
+
+    ReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    void begin() throws IOException {}
+    abstract void beginCategory(String category) throws IOException;
+    abstract void movie(Movie m) throws IOException;
+    void endCategory() throws IOException {}
+    void end() throws IOException {}
+
+    private static String text(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Formatul text clasic al aplicației.
+     */
+    static class Text extends ReportWriter {
+        Text(Writer out) { super(out); }
+
+        @Override
+        void begin() throws IOException {
+            out.write("==========================================\n");
+            out.write("      RAPORT COLECȚIE FILME - MANAGER     \n");
+            out.write("==========================================\n\n");
+        }
+
+        @Override
+        void beginCategory(String category) throws IOException {
+            out.write("CATEGORIE: " + category.toUpperCase() + "\n");
+            out.write("------------------------------------------\n");
+        }
+
+        @Override
+        void movie(Movie m) throws IOException {
+            // Formatăm linia pentru o lizibilitate crescută
+            out.write(String.format("- %s | Regizor: %s | An: %d | Rating: %.1f | IMDB: %s\n",
+                text(m.getTitle()), text(m.getDirector()), m.getYear(), m.getRating(), text(m.getImdbId())));
+        }
+
+        @Override
+        void endCategory() throws IOException {
+            out.write("\n"); // Linie goală între categorii
+        }
+    }
+
+    /**
+     * CSV cu antet; câmpurile cu virgule sau ghilimele sunt puse între ghilimele.
+     */
+    static class Csv extends ReportWriter {
+        private String category;
+
+        Csv(Writer out) { super(out); }
+
+        @Override
+        void begin() throws IOException {
+            out.write("Categorie,Titlu,Regizor,An,Rating,IMDB\n");
+        }
+
+        @Override
+        void beginCategory(String category) {
+            this.category = category;
+        }
+
+        @Override
+        void movie(Movie m) throws IOException {
+            field(category); out.write(',');
+            field(m.getTitle()); out.write(',');
+            field(m.getDirector()); out.write(',');
+            out.write(Integer.toString(m.getYear())); out.write(',');
+            out.write(Double.toString(m.getRating())); out.write(',');
+            field(m.getImdbId());
+            out.write('\n');
+        }
+
+        private void field(String value) throws IOException {
+            String v = text(value);
+            if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0) {
+                out.write(v);
+                return;
+            }
+            out.write('"');
+            out.write(v.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    /**
+     * JSON: {"categories": [{"name": ..., "movies": [ ... ]}, ...]}
+     */
+    static class Json extends ReportWriter {
+        private boolean firstCategory = true;
+        private boolean firstMovie;
+
+        Json(Writer out) { super(out); }
+
+        @Override
+        void begin() throws IOException {
+            out.write("{\"categories\": [");
+        }
+
+        @Override
+        void beginCategory(String category) throws IOException {
+            if (!firstCategory) out.write(',');
+            firstCategory = false;
+            firstMovie = true;
+            out.write("\n  {\"name\": ");
+            string(category);
+            out.write(", \"movies\": [");
+        }
+
+        @Override
+        void movie(Movie m) throws IOException {
+            if (!firstMovie) out.write(',');
+            firstMovie = false;
+            out.write("\n    {\"title\": "); string(m.getTitle());
+            out.write(", \"director\": "); string(m.getDirector());
+            out.write(", \"year\": "); out.write(Integer.toString(m.getYear()));
+            out.write(", \"rating\": "); out.write(Double.toString(m.getRating()));
+            out.write(", \"imdbId\": "); string(m.getImdbId());
+            out.write('}');
+        }
+
+        @Override
+        void endCategory() throws IOException {
+            out.write("\n  ]}");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("\n]}\n");
+        }
+
+        private void string(String value) throws IOException {
+            String v = text(value);
+            out.write('"');
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                switch (c) {
+                    case '"': out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        if (c < 0x20) out.write(String.format("\\u%04x", (int) c));
+                        else out.write(c);
+                }
+            }
+            out.write('"');
+        }
+    }
+
+    /**
+     * Pagină HTML cu câte un tabel pe categorie, în aceleași culori ca aplicația.
+     */
+    static class Html extends ReportWriter {
+        Html(Writer out) { super(out); }
+
+        @Override
+        void begin() throws IOException {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Raport Colecție Filme</title>\n");
+            out.write("<style>body{background:#1a103c;color:white;font-family:Arial}h1,h2{color:#00ced1}"
+                + "table{border-collapse:collapse;width:100%;margin-bottom:24px}"
+                + "th,td{border:1px solid #2d1b5e;padding:6px;text-align:left}th{background:#2d1b5e}</style>\n");
+            out.write("</head><body>\n<h1>Raport Colecție Filme</h1>\n");
+        }
+
+        @Override
+        void beginCategory(String category) throws IOException {
+            out.write("<h2>");
+            escape(category);
+            out.write("</h2>\n<table><tr><th>Titlu</th><th>Regizor</th><th>An</th><th>Rating</th><th>IMDB</th></tr>\n");
+        }
+
+        @Override
+        void movie(Movie m) throws IOException {
+            out.write("<tr><td>"); escape(m.getTitle());
+            out.write("</td><td>"); escape(m.getDirector());
+            out.write("</td><td>"); out.write(Integer.toString(m.getYear()));
+            out.write("</td><td>"); out.write(String.format("%.1f", m.getRating()));
+            out.write("</td><td>"); escape(m.getImdbId());
+            out.write("</td></tr>\n");
+        }
+
+        @Override
+        void endCategory() throws IOException {
+            out.write("</table>\n");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("</body></html>\n");
+        }
+
+        private void escape(String value) throws IOException {
+            String v = text(value);
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                switch (c) {
+                    case '<': out.write("&lt;"); break;
+                    case '>': out.write("&gt;"); break;
+                    case '&': out.write("&amp;"); break;
+                    case '"': out.write("&quot;"); break;
+                    default: out.write(c);
+                }
+            }
+        }
+    }
+}
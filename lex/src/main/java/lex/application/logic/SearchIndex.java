@@ -0,0 +1,196 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversat pe trigrame peste Titlu, Regizor, An și Categorii.
+ * Permite căutarea de subșiruri fără a parcurge toată colecția și fără a aloca
+ * șiruri noi pentru fiecare film la fiecare căutare.
+ *
+ * Sunt indexate doar trigramele: unigramele și bigramele apar în aproape toate filmele, deci listele lor
+ * ar ocupa memorie cât colecția de câteva ori fără să restrângă căutarea. Interogările de 1-2 caractere
+ * parcurg filmele. Candidații sunt verificați direct pe câmpurile filmului, fără o copie a textului.
+ *
+ * Modificările vin de pe firul JavaFX, iar căutările pot rula pe un fir de fundal:
+ * accesul este protejat de un ReadWriteLock (mai multe căutări simultan, o singură scriere).
+ */
+public class SearchIndex {
+
+    // Lungimea n-gramelor indexate; interogările mai scurte se rezolvă prin parcurgerea filmelor
+    private static final int GRAM = 3;
+
+    // trigram -> filmele care îl conțin (liste de postare)
+    private final Map<String, Set<Movie>> postings = new HashMap<>();
+
+    // Toate filmele indexate, pentru interogările scurte
+    private final Set<Movie> movies = newIdentitySet();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Movie movie) {
+        // Trigramele se calculează în afara lock-ului
+        Set<String> grams = grams(movie);
+        lock.writeLock().lock();
+        try {
+            if (!movies.add(movie)) return;
+            for (String gram: grams) {
+                postings.computeIfAbsent(gram, g -> newIdentitySet()).add(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Movie movie) {
+        // Filmele nu se modifică, deci trigramele recalculate sunt aceleași ca la adăugare
+        Set<String> grams = grams(movie);
+        lock.writeLock().lock();
+        try {
+            if (!movies.remove(movie)) return;
+            for (String gram: grams) {
+                Set<Movie> list = postings.get(gram);
+                if (list == null) continue;
+                list.remove(movie);
+                if (list.isEmpty()) postings.remove(gram);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returnează filmele care conțin textul căutat (case-insensitive) în oricare dintre câmpuri.
+     * Interogările de cel puțin 3 caractere intersectează listele trigramelor, pornind de la cea mai scurtă,
+     * apoi verifică candidații; cele mai scurte parcurg toate filmele.
+     * Dacă firul care caută este întrerupt (căutare anulată), se oprește și returnează un rezultat parțial.
+     */
+    public Set<Movie> search(String query) {
+        lock.readLock().lock();
+        try {
+            return searchLocked(query.toLowerCase());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Movie> searchLocked(String q) {
+        Set<Movie> result = newIdentitySet();
+
+        Collection<Movie> candidates = movies;
+        List<Set<Movie>> lists = new ArrayList<>();
+        if (q.length() >= GRAM) {
+            for (int i = 0; i + GRAM <= q.length(); i++) {
+                Set<Movie> list = postings.get(q.substring(i, i + GRAM));
+                if (list == null) return result; // un trigram lipsă înseamnă zero rezultate
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            candidates = lists.get(0);
+        }
+
+        int checked = 0;
+        for (Movie candidate: candidates) {
+            if ((++checked & 1023) == 0 && Thread.currentThread().isInterrupted()) return result;
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(candidate);
+            }
+            if (inAll && contains(candidate, q)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Limita superioară a numărului de rezultate pentru text, fără a executa căutarea:
+     * dimensiunea celei mai scurte liste de trigrame implicate (toate filmele, pentru interogările scurte).
+     */
+    public int estimate(String query) {
+        String q = query.toLowerCase();
+        lock.readLock().lock();
+        try {
+            if (q.length() < GRAM) return movies.size();
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i + GRAM <= q.length(); i++) {
+                Set<Movie> list = postings.get(q.substring(i, i + GRAM));
+                if (list == null) return 0;
+                min = Math.min(min, list.size());
+            }
+            return min;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifică un singur film, direct pe câmpurile lui.
+     */
+    public boolean matches(Movie movie, String query) {
+        return contains(movie, query.toLowerCase());
+    }
+
+    /**
+     * Textul (deja lowercase) apare într-unul dintre câmpurile căutate; fără alocări, în afară de an.
+     */
+    private static boolean contains(Movie movie, String q) {
+        return containsIgnoreCase(movie.getTitle(), q)
+            || containsIgnoreCase(movie.getDirector(), q)
+            || (isYearPart(q) && String.valueOf(movie.getYear()).contains(q))
+            || containsIgnoreCase(movie.getCategories(), q);
+    }
+
+    // Doar cifrele (și semnul) pot apărea în an
+    private static boolean isYearPart(String q) {
+        for (int i = 0; i < q.length(); i++) {
+            char c = q.charAt(i);
+            if ((c < '0' || c > '9') && c != '-') return false;
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        if (text == null) return false;
+        int max = text.length() - part.length();
+        for (int i = 0; i <= max; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Toate trigramele distincte ale câmpurilor (lowercase); un trigram nu traversează granița dintre câmpuri.
+     */
+    private static Set<String> grams(Movie movie) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, movie.getTitle());
+        addGrams(grams, movie.getDirector());
+        addGrams(grams, String.valueOf(movie.getYear()));
+        addGrams(grams, movie.getCategories());
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String value) {
+        if (value == null) return;
+        String text = value.toLowerCase();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    private static Set<Movie> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
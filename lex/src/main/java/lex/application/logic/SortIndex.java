@@ -0,0 +1,96 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Indexul de sortare pentru un mod: toate filmele colecției, ținute permanent sortate.
+ * Adăugarea și ștergerea unui film costă o căutare binară plus o mutare de referințe;
+ * loturile mari sunt sortate separat și interclasate, în O(n + k log k).
+ */
+class SortIndex {
+
+    private final Comparator<Movie> order;
+    private ArrayList<Movie> sorted;
+
+    SortIndex(Comparator<Movie> order, Collection<Movie> movies) {
+        this.order = order;
+        this.sorted = new ArrayList<>(movies);
+        sorted.sort(order);
+    }
+
+    /**
+     * Inserează filmul și returnează poziția la care a ajuns.
+     */
+    int add(Movie movie) {
+        int pos = Collections.binarySearch(sorted, movie, order);
+        if (pos < 0) pos = -pos - 1;
+        sorted.add(pos, movie);
+        return pos;
+    }
+
+    /**
+     * Adaugă un lot: îl sortează și îl interclasează cu lista existentă.
+     * @return Pozițiile finale (crescătoare) la care au ajuns filmele din lot.
+     */
+    int[] addAll(Collection<? extends Movie> batch) {
+        List<Movie> incoming = new ArrayList<>(batch);
+        incoming.sort(order);
+
+        ArrayList<Movie> merged = new ArrayList<>(sorted.size() + incoming.size());
+        int[] positions = new int[incoming.size()];
+        int i = 0;
+        int j = 0;
+        while (i < sorted.size() && j < incoming.size()) {
+            // La egalitate rămâne primul filmul existent, ca ordinea să fie stabilă
+            if (order.compare(incoming.get(j), sorted.get(i)) < 0) {
+                positions[j] = merged.size();
+                merged.add(incoming.get(j++));
+            } else {
+                merged.add(sorted.get(i++));
+            }
+        }
+        while (i < sorted.size()) merged.add(sorted.get(i++));
+        while (j < incoming.size()) {
+            positions[j] = merged.size();
+            merged.add(incoming.get(j++));
+        }
+        sorted = merged;
+        return positions;
+    }
+
+    /**
+     * Elimină filmul și returnează poziția de la care a fost scos (-1 dacă nu era în index).
+     */
+    int remove(Movie movie) {
+        int pos = indexOf(movie);
+        if (pos >= 0) sorted.remove(pos);
+        return pos;
+    }
+
+    /**
+     * Căutare binară după cheie, apoi după identitate printre eventualele filme cu aceeași cheie.
+     */
+    int indexOf(Movie movie) {
+        int pos = Collections.binarySearch(sorted, movie, order);
+        if (pos < 0) return -1;
+        for (int i = pos; i >= 0 && order.compare(sorted.get(i), movie) == 0; i--) {
+            if (sorted.get(i) == movie) return i;
+        }
+        for (int i = pos + 1; i < sorted.size() && order.compare(sorted.get(i), movie) == 0; i++) {
+            if (sorted.get(i) == movie) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Vedere nemodificabilă asupra listei sortate (validă până la următoarea modificare a indexului).
+     */
+    List<Movie> view() {
+        return Collections.unmodifiableList(sorted);
+    }
+}
@@ -0,0 +1,66 @@
+package lex.application.logic;
+
+import lex.application.data.MovieCriteria;
+import lex.application.model.Movie;
+import java.util.Comparator;
+
+/**
+ * Modurile de sortare ale catalogului. Fiecare mod (în afară de INSERTION) are o ordine totală:
+ * după cheia principală, apoi titlu și cale, iar la final identitatea obiectului, ca două filme
+ * diferite să nu fie niciodată "egale" în indexul de sortare.
+ */
+public enum SortMode {
+    INSERTION("Ordinea adăugării", MovieCriteria.Order.INSERTION, null),
+    TITLE("Titlu (A-Z)", MovieCriteria.Order.TITLE,
+        Comparator.comparing(SortMode::titleOf, String.CASE_INSENSITIVE_ORDER)),
+    YEAR("An (cele mai noi)", MovieCriteria.Order.YEAR_DESC, Comparator.comparingInt(Movie::getYear).reversed()),
+    RATING("Rating (cele mai bune)", MovieCriteria.Order.RATING_DESC, Comparator.comparingDouble(Movie::getRating).reversed()),
+    DIRECTOR("Regizor (A-Z)", MovieCriteria.Order.DIRECTOR,
+        Comparator.comparing(SortMode::directorOf, String.CASE_INSENSITIVE_ORDER));
+
+    private final String label;
+    private final MovieCriteria.Order criteriaOrder;
+    private final Comparator<Movie> order;
+
+    SortMode(String label, MovieCriteria.Order criteriaOrder, Comparator<Movie> key) {
+        this.label = label;
+        this.criteriaOrder = criteriaOrder;
+        this.order = key == null ? null : key
+            .thenComparing(SortMode::titleOf, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SortMode::pathOf)
+            .thenComparingInt(System::identityHashCode);
+    }
+
+    /**
+     * Ordinea completă a modului; null pentru INSERTION (ordinea din colecție).
+     */
+    public Comparator<Movie> comparator() {
+        return order;
+    }
+
+    /**
+     * Aceeași ordine, pentru sortarea executată de stocare (MovieStore.find).
+     */
+    public MovieCriteria.Order criteriaOrder() {
+        return criteriaOrder;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    private static String titleOf(Movie m) {
+        return m.getTitle() == null ? "" : m.getTitle();
+    }
+
+    private static String directorOf(Movie m) {
+        return m.getDirector() == null ? "" : m.getDirector();
+    }
+
+    // Vederile compacte construiesc calea la fiecare apel: o citim o singură dată
+    private static String pathOf(Movie m) {
+        String path = m.getMoviePath();
+        return path == null ? "" : path;
+    }
+}
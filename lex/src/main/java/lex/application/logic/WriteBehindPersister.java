@@ -0,0 +1,219 @@
+package lex.application.logic;
+
+import lex.application.data.MovieChange;
+import lex.application.data.MovieStore;
+import lex.application.model.Movie;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Etapă de persistență "write-behind" între MovieService și stocare (MovieStore).
+ * Modificările sunt puse într-o coadă din firul UI și scrise pe disc de un singur fir dedicat,
+ * astfel încât o rafală de adăugări/ștergeri devine o singură scriere în jurnal.
+ * Un lot care nu poate fi scris rămâne în coadă și este reîncercat.
+ */
+public class WriteBehindPersister {
+
+    // Cât așteptăm după prima modificare, ca să prindem și restul rafalei în același lot
+    private static final long FLUSH_DELAY_MS = 250;
+    // Pauza înainte de a reîncerca un lot care nu a putut fi scris (ex: disc plin, fișier blocat)
+    private static final long RETRY_DELAY_MS = 2000;
+
+    /**
+     * O operație din coadă: o modificare a colecției sau o cerere de compactare cu starea completă de atunci.
+     */
+    private static final class Op {
+        final MovieChange change;
+        final List<Movie> snapshot;
+
+        private Op(MovieChange change, List<Movie> snapshot) {
+            this.change = change;
+            this.snapshot = snapshot;
+        }
+
+        static Op change(MovieChange.Type type, Movie movie) {
+            return new Op(new MovieChange(type, movie), null);
+        }
+
+        static Op compaction(List<Movie> snapshot) {
+            return new Op(null, snapshot);
+        }
+    }
+
+    private final MovieStore movieRepo;
+
+    // Un singur fir scrie pe disc, deci ordinea modificărilor este mereu păstrată
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "movie-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Coada de operații încă nescrise; accesată doar sub lock
+    private final Object lock = new Object();
+    private List<Op> pending = new ArrayList<>();
+    // Adăugările din segmentul curent, ca o ștergere ulterioară să le poată anula
+    private Map<Movie, Op> pendingAdds = new IdentityHashMap<>();
+    private boolean flushScheduled;
+    private boolean compactionQueued;
+    private boolean closed;
+
+    public WriteBehindPersister(MovieStore movieRepo) {
+        this.movieRepo = movieRepo;
+    }
+
+    public void enqueueAdd(Movie movie) {
+        synchronized (lock) {
+            Op add = Op.change(MovieChange.Type.ADD, movie);
+            pending.add(add);
+            pendingAdds.put(movie, add);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Pune în coadă un lot întreg de filme noi (ex: import în masă); ajung pe disc într-o singură scriere.
+     */
+    public void enqueueAddAll(List<Movie> movies) {
+        synchronized (lock) {
+            for (Movie movie: movies) {
+                Op add = Op.change(MovieChange.Type.ADD, movie);
+                pending.add(add);
+                pendingAdds.put(movie, add);
+            }
+            scheduleFlush();
+        }
+    }
+
+    public void enqueueDelete(Movie movie) {
+        synchronized (lock) {
+            // Un film adăugat și șters înainte de scriere nu mai ajunge deloc pe disc
+            Op add = pendingAdds.remove(movie);
+            if (add != null) {
+                pending.remove(add);
+                return;
+            }
+            pending.add(Op.change(MovieChange.Type.DELETE, movie));
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Cere comasarea jurnalului în snapshot, după ce modificările de până acum au fost scrise.
+     * @param snapshot Starea completă a colecției în momentul cererii.
+     */
+    public void enqueueCompaction(List<Movie> snapshot) {
+        synchronized (lock) {
+            if (compactionQueued) return;
+            compactionQueued = true;
+            pending.add(Op.compaction(new ArrayList<>(snapshot)));
+            // Adăugările dinaintea snapshot-ului sunt incluse în el și nu mai pot fi anulate
+            pendingAdds = new IdentityHashMap<>();
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        scheduleFlush(FLUSH_DELAY_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushScheduled || closed) return;
+        flushScheduled = true;
+        writer.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Scrie pe disc tot ce este în coadă; rulează numai pe firul de scriere.
+     * @return false dacă o parte din coadă nu a putut fi scrisă (a rămas în coadă pentru reîncercare).
+     */
+    private boolean drain() {
+        List<Op> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            pendingAdds = new IdentityHashMap<>();
+            flushScheduled = false;
+        }
+
+        // Câte operații de la începutul lotului au ajuns deja în stocare
+        int done = 0;
+        try {
+            List<MovieChange> changes = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Op op = batch.get(i);
+                if (op.change != null) {
+                    changes.add(op.change);
+                    continue;
+                }
+                // Marcaj de compactare: scriem întâi tot ce era înaintea lui
+                movieRepo.appendChanges(changes);
+                done = i;
+                changes = new ArrayList<>();
+                movieRepo.compactInBackground(op.snapshot);
+                done = i + 1;
+                synchronized (lock) {
+                    compactionQueued = false;
+                }
+            }
+            movieRepo.appendChanges(changes);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Eroare la salvarea modificărilor (" + (batch.size() - done)
+                + " operații vor fi reîncercate): " + e.getMessage());
+            synchronized (lock) {
+                // Operațiile nescrise trec înaintea celor puse în coadă între timp, ca ordinea să rămână aceeași
+                pending.addAll(0, batch.subList(done, batch.size()));
+                scheduleFlush(RETRY_DELAY_MS);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Blochează până când toate modificările din coadă au fost scrise pe disc.
+     * Dacă scrierea eșuează, modificările rămân în coadă și eroarea este afișată.
+     */
+    public void flush() {
+        try {
+            writer.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Eroare la salvarea modificărilor: " + e.getCause().getMessage());
+        } catch (RejectedExecutionException e) {
+            // Persister-ul a fost deja oprit, nu mai avem ce scrie
+        }
+    }
+
+    /**
+     * Scrie tot ce a rămas în coadă și oprește firul de scriere. Apelat la ieșirea din aplicație sau la logout.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+        }
+        flush();
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                System.err.println("Eroare la salvarea modificărilor: " + pending.size() + " operații nu au fost scrise pe disc.");
+            }
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        movieRepo.close();
+    }
+}
@@ -0,0 +1,41 @@
+package lex.application.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * O autentificare sau înregistrare (AuthService). Parola nu este niciodată inclusă.
+ * Metrici: auth.&lt;operație&gt; (latență), auth.&lt;operație&gt;.success și auth.&lt;operație&gt;.failure.
+ */
+@Name("lex.Auth")
+@Label("Autentificare")
+@Category({"Lex", "Logică"})
+@Description("Autentificările și înregistrările de utilizatori")
+public class AuthEvent extends TimedEvent {
+
+    public static final String LOGIN = "login";
+    public static final String REGISTER = "register";
+
+    @Label("Operație")
+    public String operation;
+
+    @Label("Utilizator")
+    public String username;
+
+    @Label("Reușită")
+    public boolean success;
+
+    public AuthEvent(String operation, String username) {
+        super("auth." + operation);
+        this.operation = operation;
+        this.username = username;
+    }
+
+    public void finish(boolean success) {
+        this.success = success;
+        Metrics.increment("auth." + operation + (success ? ".success" : ".failure"));
+        finish();
+    }
+}
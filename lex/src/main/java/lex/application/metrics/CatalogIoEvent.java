@@ -0,0 +1,51 @@
+package lex.application.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Citirea/scrierea colecției de filme pe disc (MovieRepo sau H2MovieStore).
+ * Metrici: repo.&lt;operație&gt; (latență), repo.&lt;operație&gt;.records și repo.&lt;operație&gt;.bytes.
+ */
+@Name("lex.CatalogIO")
+@Label("Catalog I/O")
+@Category({"Lex", "Date"})
+@Description("Încărcarea, salvarea, jurnalul, compactarea și interogările colecției de filme")
+public class CatalogIoEvent extends TimedEvent {
+
+    public static final String LOAD = "load";
+    public static final String SAVE = "save";
+    public static final String JOURNAL = "journal";
+    public static final String COMPACT = "compact";
+    public static final String QUERY = "query";
+
+    @Label("Operație")
+    public String operation;
+
+    @Label("Fișier")
+    public String file;
+
+    @Label("Înregistrări")
+    public int records;
+
+    @Label("Octeți")
+    @DataAmount
+    public long bytes;
+
+    public CatalogIoEvent(String operation, String file) {
+        super("repo." + operation);
+        this.operation = operation;
+        this.file = file;
+    }
+
+    public void finish(int records, long bytes) {
+        this.records = records;
+        this.bytes = bytes;
+        Metrics.increment("repo." + operation + ".records", records);
+        Metrics.increment("repo." + operation + ".bytes", bytes);
+        finish();
+    }
+}
@@ -0,0 +1,94 @@
+package lex.application.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registrul de metrici al aplicației: histograme de latență și contoare, identificate prin nume
+ * (ex: "repo.load", "service.filter"). Este global și sigur pentru fire multiple.
+ * Aceleași operații sunt emise și ca evenimente JFR (vezi TimedEvent).
+ */
+public final class Metrics {
+
+    private static final ConcurrentHashMap<String, Histogram> timers = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private static final String baseDir = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
+
+    private Metrics() {}
+
+    public static Histogram timer(String name) {
+        return timers.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    public static void increment(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    public static void increment(String name) {
+        increment(name, 1);
+    }
+
+    public static long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Starea curentă a tuturor metricilor, ca text (folosit de panoul de diagnostic și la salvare).
+     */
+    public static String snapshot() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.println("Metrici Cinema Manager - " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        out.println();
+        out.println(String.format("%-28s %8s %10s %10s %10s %10s %10s",
+            "LATENȚE (ms)", "nr", "medie", "p50", "p95", "p99", "max"));
+        for (Map.Entry<String, Histogram> e: new TreeMap<>(timers).entrySet()) {
+            Histogram h = e.getValue();
+            out.println(String.format("%-28s %8d %10.3f %10.3f %10.3f %10.3f %10.3f",
+                e.getKey(), h.getCount(), h.getMeanMillis(), h.percentileMillis(0.50),
+                h.percentileMillis(0.95), h.percentileMillis(0.99), h.getMaxMillis()));
+        }
+        out.println();
+        out.println(String.format("%-28s %12s", "CONTOARE", "valoare"));
+        for (Map.Entry<String, LongAdder> e: new TreeMap<>(counters).entrySet()) {
+            out.println(String.format("%-28s %12d", e.getKey(), e.getValue().sum()));
+        }
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Scrie snapshot-ul metricilor în fișierul dat.
+     */
+    public static void dump(File target) throws IOException {
+        Files.write(target.toPath(), snapshot().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fișierul implicit pentru salvare: metrics-<data>.txt în folderul de date al aplicației.
+     */
+    public static File defaultDumpFile() {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return new File(baseDir, "metrics-" + stamp + ".txt");
+    }
+
+    /**
+     * Golește toate metricile (ex: înaintea unei măsurători noi).
+     */
+    public static void reset() {
+        timers.clear();
+        counters.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package lex.application.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * O operație din MovieService: filtrare, adăugare, ștergere, încărcarea unei coperte, raport sau recomandări.
+ * Metrici: service.&lt;operație&gt; (latență) și service.&lt;operație&gt;.items.
+ */
+@Name("lex.MovieService")
+@Label("Movie Service")
+@Category({"Lex", "Logică"})
+@Description("Operațiile din MovieService și numărul de filme implicate")
+public class MovieServiceEvent extends TimedEvent {
+
+    public static final String FILTER = "filter";
+    public static final String ADD = "add";
+    public static final String DELETE = "delete";
+    public static final String COVER = "cover";
+    public static final String REPORT = "report";
+    public static final String SIMILAR = "similar";
+
+    @Label("Operație")
+    public String operation;
+
+    @Label("Detalii")
+    public String detail;
+
+    @Label("Filme")
+    public int items;
+
+    public MovieServiceEvent(String operation, String detail) {
+        super("service." + operation);
+        this.operation = operation;
+        this.detail = detail;
+    }
+
+    public void finish(int items) {
+        this.items = items;
+        Metrics.increment("service." + operation + ".items", items);
+        finish();
+    }
+}
@@ -0,0 +1,31 @@
+package lex.application.metrics;
+
+import jdk.jfr.Event;
+
+/**
+ * Baza evenimentelor JFR ale aplicației. Pe lângă evenimentul din Flight Recorder,
+ * durata operației este înregistrată și în histograma din Metrics cu același nume.
+ *
+ * Utilizare: ev = new XEvent(...); ev.start(); ... ev.finish();
+ */
+abstract class TimedEvent extends Event {
+
+    // Câmpurile transient nu sunt scrise în înregistrarea JFR
+    private transient final String metric;
+    private transient long startNanos;
+
+    TimedEvent(String metric) {
+        this.metric = metric;
+    }
+
+    public void start() {
+        begin();
+        startNanos = System.nanoTime();
+    }
+
+    public void finish() {
+        end();
+        Metrics.timer(metric).recordSince(startNanos);
+        commit();
+    }
+}
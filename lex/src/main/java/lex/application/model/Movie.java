@@ -1,31 +1,25 @@
 package lex.application.model;
 
-public class Movie {
-    //Variabilele cerute in cerinte + o variabila sa stocheze filmul si imaginea de coperta
-    private String title;
-    private String director;
-    private int year;
-    private String categories;
-    private double rating;
-    private String imdbId;
-    private String moviePath;
+/**
+ * Datele unui film, doar prin getteri. Interfața nu are câmpuri: filmele create în aplicație (Movie.of)
+ * le păstrează în obiect, iar vederile care citesc datele din altă parte (ex: CompactCatalog, SharedMetadata)
+ * nu mai plătesc câmpuri moștenite neutilizate.
+ * Filmele sunt imutabile și sunt comparate după identitate.
+ */
+public interface Movie {
 
-    public Movie(String title, String director, int year, String moviePath, String categories, double rating, String imdbId) {
-        this.title = title;
-        this.director = director;
-        this.year = year;
-        this.moviePath = moviePath;
-        this.categories = categories;
-        this.rating = rating;
-        this.imdbId = imdbId;
-    }
+    String getTitle();
+    String getDirector();
+    int getYear();
+    String getMoviePath();
+    String getCategories();
+    double getRating();
+    String getImdbId();
 
-   //Getters
-    public String getTitle() { return title; }
-    public String getDirector() { return director; }
-    public int getYear() { return year; }
-    public String getMoviePath() { return moviePath; }
-    public String getCategories() { return categories; }
-    public double getRating() { return rating; }
-    public String getImdbId() { return imdbId; }
-}
\ No newline at end of file
+    /**
+     * Creează un film obișnuit, cu toate câmpurile păstrate în obiect.
+     */
+    static Movie of(String title, String director, int year, String moviePath, String categories, double rating, String imdbId) {
+        return new SimpleMovie(title, director, year, moviePath, categories, rating, imdbId);
+    }
+}
@@ -0,0 +1,34 @@
+package lex.application.model;
+
+/**
+ * Filmul obișnuit: câmpurile sunt păstrate direct în obiect. Se creează prin Movie.of().
+ */
+final class SimpleMovie implements Movie {
+    //Variabilele cerute in cerinte + o variabila sa stocheze filmul si imaginea de coperta
+    private final String title;
+    private final String director;
+    private final int year;
+    private final String categories;
+    private final double rating;
+    private final String imdbId;
+    private final String moviePath;
+
+    SimpleMovie(String title, String director, int year, String moviePath, String categories, double rating, String imdbId) {
+        this.title = title;
+        this.director = director;
+        this.year = year;
+        this.moviePath = moviePath;
+        this.categories = categories;
+        this.rating = rating;
+        this.imdbId = imdbId;
+    }
+
+   //Getters
+    @Override public String getTitle() { return title; }
+    @Override public String getDirector() { return director; }
+    @Override public int getYear() { return year; }
+    @Override public String getMoviePath() { return moviePath; }
+    @Override public String getCategories() { return categories; }
+    @Override public double getRating() { return rating; }
+    @Override public String getImdbId() { return imdbId; }
+}
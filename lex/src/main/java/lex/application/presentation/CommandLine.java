@@ -0,0 +1,373 @@
+package lex.application.presentation;
+
+import lex.application.data.BinaryCatalog;
+import lex.application.data.CompressedCatalog;
+import lex.application.data.CsvMovieParser;
+import lex.application.data.MediaFolderIndex;
+import lex.application.data.MovieChange;
+import lex.application.data.MovieStore;
+import lex.application.data.Storage;
+import lex.application.data.StorageMigration;
+import lex.application.logic.AuthService;
+import lex.application.logic.FacetModel;
+import lex.application.logic.MediaImporter;
+import lex.application.logic.MovieService;
+import lex.application.logic.ReportFormat;
+import lex.application.logic.ReportGenerator;
+import lex.application.logic.SortMode;
+import lex.application.metrics.Metrics;
+import lex.application.model.Movie;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Modul linie de comandă (fără interfață grafică), pentru operații în lot, ex. din cron:
+ *
+ *   lex import  &lt;folder|fișier&gt;  --user U
+ *   lex export  &lt;fișier.txt|.csv|.bin|.gz&gt; --user U [--query Q] [--sort title|year|rating|director]
+ *   lex report  &lt;fișier&gt; --user U [--format text|csv|json|html] [--query Q]
+ *   lex stats   --user U [--query Q]
+ *   lex verify  --user U
+ *   lex compact --user U
+ *   lex migrate --to file|h2 --user U [--force]
+ *
+ * Toolkit-ul JavaFX nu este pornit: sunt folosite doar serviciile și repository-urile.
+ * Parola se dă de preferință prin variabila de mediu LEX_PASSWORD: --password P rămâne acceptat, dar argumentele
+ * sunt vizibile altor utilizatori în lista de procese (ps). Cu --metrics, la final sunt afișate metricile.
+ * Stocarea folosită este cea curentă (-Dlex.storage=h2 pentru H2); migrate copiază colecția și contul în cealaltă
+ * (o colecție goală înlocuiește una existentă doar cu --force).
+ * Coduri de ieșire: 0 succes, 1 eroare, 2 utilizare greșită.
+ */
+public class CommandLine {
+
+    private static final Set<String> COMMANDS = new HashSet<>(Arrays.asList(
+        "import", "export", "report", "stats", "verify", "compact", "migrate", "help", "--help", "-h"));
+
+    private static final int OK = 0;
+    private static final int ERROR = 1;
+    private static final int USAGE = 2;
+
+    private final String command;
+    private final String target;
+    private final Map<String, String> options = new HashMap<>();
+    private final Set<String> flags = new HashSet<>();
+
+    private CommandLine(String[] args) {
+        command = args[0].toLowerCase();
+        String positional = null;
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--metrics") || arg.equals("--force")) {
+                flags.add(arg);
+            } else if (arg.startsWith("--") && i + 1 < args.length) {
+                options.put(arg.substring(2), args[++i]);
+            } else if (positional == null) {
+                positional = arg;
+            }
+        }
+        target = positional;
+    }
+
+    /**
+     * Argumentele cer o comandă în linia de comandă (altfel se pornește aplicația grafică).
+     */
+    public static boolean isCommand(String[] args) {
+        return args.length > 0 && COMMANDS.contains(args[0].toLowerCase());
+    }
+
+    /**
+     * Execută comanda și returnează codul de ieșire al procesului.
+     */
+    public static int run(String[] args) {
+        return new CommandLine(args).execute();
+    }
+
+    private int execute() {
+        if (command.equals("help") || command.startsWith("-")) {
+            printUsage();
+            return OK;
+        }
+
+        String user = options.get("user");
+        if (user == null) {
+            System.err.println("Lipsește --user.");
+            printUsage();
+            return USAGE;
+        }
+        if (!authenticate(user)) {
+            System.err.println("Autentificare eșuată pentru utilizatorul " + user + ".");
+            return ERROR;
+        }
+
+        long start = System.nanoTime();
+        int code;
+        try {
+            switch (command) {
+                case "import": code = importMovies(user); break;
+                case "export": code = export(user); break;
+                case "report": code = report(user); break;
+                case "stats": code = stats(user); break;
+                case "verify": code = verify(user); break;
+                case "migrate": code = migrate(user); break;
+                default: code = compact(user); break;
+            }
+        } catch (IOException e) {
+            System.err.println("Eroare la executarea comenzii " + command + ": " + e.getMessage());
+            code = ERROR;
+        }
+
+        System.err.println(String.format("%s: %d ms", command, (System.nanoTime() - start) / 1_000_000));
+        if (flags.contains("--metrics")) System.err.print(Metrics.snapshot());
+        return code;
+    }
+
+    private boolean authenticate(String user) {
+        String password = options.get("password");
+        if (password == null) password = System.getenv("LEX_PASSWORD");
+        if (password == null) {
+            System.err.println("Lipsește parola (variabila LEX_PASSWORD sau --password).");
+            return false;
+        }
+        return new AuthService().authenticate(user, password);
+    }
+
+    /**
+     * Importă un folder media (scanare ca în interfață) sau un fișier catalog (.txt/.csv în UTF-8, .bin sau .gz).
+     * Filmele cu o cale deja existentă în colecție și cele invalide sunt ignorate, ca la importul din interfață.
+     * Filmele noi sunt adăugate direct în stocare, într-o singură scriere, fără a construi un MovieService.
+     */
+    private int importMovies(String user) throws IOException {
+        if (target == null) return missingTarget();
+        File source = new File(target);
+        if (!source.exists()) {
+            System.err.println("Nu există: " + source.getAbsolutePath());
+            return ERROR;
+        }
+
+        MovieStore repo = Storage.current().movies(user);
+        try {
+            Set<String> known = repo.readAllMovies().stream()
+                .map(Movie::getMoviePath)
+                .collect(Collectors.toSet());
+            List<Movie> found;
+            if (source.isDirectory()) {
+                found = new MediaImporter(new MediaFolderIndex()).scan(source, known, null);
+            } else if (source.getName().toLowerCase().endsWith(".bin")) {
+                found = BinaryCatalog.read(source);
+            } else if (source.getName().toLowerCase().endsWith(".gz")) {
+                found = CompressedCatalog.read(source);
+            } else {
+                CsvMovieParser.Result result = CsvMovieParser.parseFile(source, StandardCharsets.UTF_8);
+                for (String error: result.getErrors()) {
+                    System.err.println("Linie ignorată în " + source.getName() + ", " + error);
+                }
+                found = result.getMovies();
+            }
+            List<MovieChange> added = MovieService.validOnly(found).stream()
+                .filter(m -> !known.contains(m.getMoviePath()))
+                .map(m -> new MovieChange(MovieChange.Type.ADD, m))
+                .collect(Collectors.toList());
+            if (!added.isEmpty()) repo.appendChanges(added);
+            System.out.println(added.size() + " filme noi importate (" + found.size() + " găsite).");
+        } finally {
+            repo.close();
+        }
+        return OK;
+    }
+
+    /**
+     * Exportă colecția (sau rezultatul unei interogări) ca text CSV, în formatul binar (.bin) sau comprimat (.gz).
+     * Textul CSV este scris în UTF-8 (ca rapoartele), deci diacriticele se păstrează pe orice sistem; import îl citește la fel.
+     */
+    private int export(String user) throws IOException {
+        if (target == null) return missingTarget();
+        File file = new File(target);
+        List<Movie> movies = loadMovies(user);
+
+        if (file.getName().toLowerCase().endsWith(".bin")) {
+            BinaryCatalog.write(movies, file);
+        } else if (file.getName().toLowerCase().endsWith(".gz")) {
+            CompressedCatalog.write(movies, file);
+        } else {
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                for (Movie m: movies) {
+                    writer.write(CsvMovieParser.format(m));
+                    writer.write(System.lineSeparator());
+                }
+            }
+        }
+        System.out.println(movies.size() + " filme exportate în " + file.getAbsolutePath());
+        return OK;
+    }
+
+    private int report(String user) throws IOException {
+        if (target == null) return missingTarget();
+        File file = new File(target);
+        ReportFormat format = ReportFormat.forFileName(file.getName());
+        String formatName = options.get("format");
+        if (formatName != null) {
+            try {
+                format = ReportFormat.valueOf(formatName.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Format necunoscut: " + formatName);
+                return USAGE;
+            }
+        }
+
+        List<Movie> movies = loadMovies(user);
+        ReportGenerator.generate(movies, file, format, null, () -> false);
+        System.out.println("Raport " + format.getDescription() + " generat cu " + movies.size()
+            + " filme la: " + file.getAbsolutePath());
+        return OK;
+    }
+
+    private int stats(String user) throws IOException {
+        List<Movie> movies = loadMovies(user);
+        FacetModel facets = new FacetModel();
+        double ratingSum = 0;
+        for (Movie m: movies) {
+            facets.add(m);
+            ratingSum += m.getRating();
+        }
+
+        System.out.println("Utilizator:   " + user);
+        System.out.println("Filme:        " + movies.size());
+        if (movies.isEmpty()) return OK;
+        System.out.println(String.format("Rating mediu: %.2f", ratingSum / movies.size()));
+        System.out.println("Ani:          " + facets.values(FacetModel.Facet.YEAR).firstKey()
+            + " - " + facets.values(FacetModel.Facet.YEAR).lastKey());
+        System.out.println("Regizori:     " + facets.values(FacetModel.Facet.DIRECTOR).size());
+        System.out.println("Genuri:       " + facets.values(FacetModel.Facet.CATEGORY).size());
+        printTop("Genuri frecvente", facets.values(FacetModel.Facet.CATEGORY));
+        printTop("Regizori frecvenți", facets.values(FacetModel.Facet.DIRECTOR));
+        return OK;
+    }
+
+    private void printTop(String title, Map<String, Integer> counts) {
+        System.out.println(title + ":");
+        counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+            .limit(10)
+            .forEach(e -> System.out.println(String.format("  %-30s %d", e.getKey(), e.getValue())));
+    }
+
+    private int verify(String user) {
+        MovieStore repo = Storage.current().movies(user);
+        try {
+            List<String> problems = repo.verify();
+            for (String problem: problems) System.out.println(problem);
+            System.out.println(problems.isEmpty() ? "Catalogul este valid." : problems.size() + " probleme găsite.");
+            return problems.isEmpty() ? OK : ERROR;
+        } finally {
+            repo.close();
+        }
+    }
+
+    /**
+     * Rescrie snapshot-ul cu starea curentă și golește jurnalul.
+     */
+    private int compact(String user) {
+        MovieStore repo = Storage.current().movies(user);
+        try {
+            List<Movie> movies = repo.LoadAllMovies();
+            if (!repo.saveMovies(movies)) return ERROR;
+            System.out.println("Catalog compactat: " + movies.size() + " filme.");
+            return OK;
+        } finally {
+            repo.close();
+        }
+    }
+
+    /**
+     * Copiază colecția și contul utilizatorului din stocarea curentă în cea dată de --to.
+     * Cu --force, o colecție curentă goală poate înlocui una existentă în destinație.
+     */
+    private int migrate(String user) throws IOException {
+        Storage from = Storage.current();
+        Storage to;
+        try {
+            to = Storage.parse(options.getOrDefault("to", ""));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Lipsește sau este invalid --to (file sau h2).");
+            return USAGE;
+        }
+        if (to == from) {
+            System.err.println("Stocarea curentă este deja " + from.name().toLowerCase() + ".");
+            return USAGE;
+        }
+
+        int count = StorageMigration.migrate(user, from, to, flags.contains("--force"));
+        System.out.println(count + " filme migrate din " + from.name().toLowerCase() + " în " + to.name().toLowerCase()
+            + (to == Storage.H2 ? ". Porniți aplicația cu -Dlex.storage=h2." : "."));
+        return OK;
+    }
+
+    /**
+     * Fără --query și --sort, filmele sunt citite direct din stocare (fără indexuri de căutare);
+     * altfel interogarea este executată de MovieService.find(), care o trimite stocării dacă poate (H2).
+     */
+    private List<Movie> loadMovies(String user) throws IOException {
+        String query = options.get("query");
+        SortMode sort = sortMode();
+        if (query == null && sort == SortMode.INSERTION) {
+            MovieStore repo = Storage.current().movies(user);
+            try {
+                return repo.readAllMovies();
+            } finally {
+                repo.close();
+            }
+        }
+
+        MovieService service = new MovieService(user);
+        try {
+            return service.find(query == null ? "" : query, sort, 0, Integer.MAX_VALUE);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private SortMode sortMode() {
+        String sort = options.get("sort");
+        if (sort == null) return SortMode.INSERTION;
+        switch (sort.toLowerCase()) {
+            case "title": return SortMode.TITLE;
+            case "year": return SortMode.YEAR;
+            case "rating": return SortMode.RATING;
+            case "director": return SortMode.DIRECTOR;
+            default:
+                System.err.println("Sortare necunoscută: " + sort + " (se păstrează ordinea adăugării).");
+                return SortMode.INSERTION;
+        }
+    }
+
+    private int missingTarget() {
+        System.err.println("Comanda " + command + " necesită un fișier sau folder.");
+        printUsage();
+        return USAGE;
+    }
+
+    private static void printUsage() {
+        System.out.println("Utilizare: lex <comandă> [argumente] --user U [--metrics]");
+        System.out.println("  import  <folder|fișier>          importă un folder media sau un catalog (.txt/.csv/.bin/.gz)");
+        System.out.println("  export  <fișier.csv|.bin|.gz>    exportă colecția [--query Q] [--sort title|year|rating|director]");
+        System.out.println("  report  <fișier>                 generează raportul [--format text|csv|json|html] [--query Q]");
+        System.out.println("  stats                            statistici despre colecție [--query Q]");
+        System.out.println("  verify                           verifică snapshot-ul și jurnalul");
+        System.out.println("  compact                          rescrie snapshot-ul și golește jurnalul");
+        System.out.println("  migrate --to file|h2 [--force]   copiază colecția și contul în celălalt tip de stocare");
+        System.out.println("Parola se citește din variabila LEX_PASSWORD. --password P este acceptat, dar este vizibil în lista de procese.");
+        System.out.println("Fără comandă pornește aplicația grafică.");
+    }
+}
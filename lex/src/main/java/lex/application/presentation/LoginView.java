@@ -89,18 +89,24 @@ public class LoginView {
             String inputUser = userField.getText();
             String inputPass = passField.getText();
 
-            // Apelăm serviciul de autentificare
-            if (authService.authenticate(inputUser, inputPass)) {
-                // Dacă e ok, transmitem numele utilizatorului către App.java prin callback
-                onLoginSuccess.accept(inputUser); 
-            } else {
-                // Tratare eroare: Mesaj vizual și bordură roșie pentru input-uri
-                errorLbl.setText("Invalid credentials provided.");
-                errorLbl.setStyle("-fx-text-fill: #ff4d4d;");
-                String errorStyle = inputBg + "-fx-border-color: #ff4d4d; -fx-background-radius: 5; -fx-padding: 10; -fx-border-radius: 5;";
-                userField.setStyle(errorStyle);
-                passField.setStyle(errorStyle);
-            }
+            // Apelăm serviciul de autentificare in fundal; butoanele sunt blocate pana vine raspunsul
+            loginBtn.setDisable(true);
+            signUpBtn.setDisable(true);
+            authService.authenticateAsync(inputUser, inputPass, ok -> {
+                loginBtn.setDisable(false);
+                signUpBtn.setDisable(false);
+                if (ok) {
+                    // Dacă e ok, transmitem numele utilizatorului către App.java prin callback
+                    onLoginSuccess.accept(inputUser);
+                } else {
+                    // Tratare eroare: Mesaj vizual și bordură roșie pentru input-uri
+                    errorLbl.setText("Invalid credentials provided.");
+                    errorLbl.setStyle("-fx-text-fill: #ff4d4d;");
+                    String errorStyle = inputBg + "-fx-border-color: #ff4d4d; -fx-background-radius: 5; -fx-padding: 10; -fx-border-radius: 5;";
+                    userField.setStyle(errorStyle);
+                    passField.setStyle(errorStyle);
+                }
+            });
         });
 
         // --- LOGICA SIGN UP (Înregistrare) ---
@@ -112,15 +118,24 @@ public class LoginView {
             if (inputUser.isEmpty() || inputPass.isEmpty()) {
                 errorLbl.setText("Fields cannot be empty.");
                 errorLbl.setStyle("-fx-text-fill: #ff4d4d;");
-            } else if (authService.register(inputUser, inputPass)) {
-                // Succes la înregistrare
-                errorLbl.setText("Account created! You can now login.");
-                errorLbl.setStyle("-fx-text-fill: #00ff00;"); 
-            } else {
-                // Cazul în care user-ul există deja în baza de date
-                errorLbl.setText("Username already exists.");
-                errorLbl.setStyle("-fx-text-fill: #ff4d4d;");
+                return;
             }
+
+            loginBtn.setDisable(true);
+            signUpBtn.setDisable(true);
+            authService.registerAsync(inputUser, inputPass, ok -> {
+                loginBtn.setDisable(false);
+                signUpBtn.setDisable(false);
+                if (ok) {
+                    // Succes la înregistrare
+                    errorLbl.setText("Account created! You can now login.");
+                    errorLbl.setStyle("-fx-text-fill: #00ff00;");
+                } else {
+                    // Cazul în care user-ul există deja în baza de date
+                    errorLbl.setText("Username already exists.");
+                    errorLbl.setStyle("-fx-text-fill: #ff4d4d;");
+                }
+            });
         });
 
         // --- ORGANIZARE LAYOUT ---
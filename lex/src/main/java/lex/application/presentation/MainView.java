@@ -1,19 +1,31 @@
 package lex.application.presentation;
 
+import lex.application.logic.FacetModel;
 import lex.application.logic.InvalidMovieDataException;
+import lex.application.logic.MovieQuery;
 import lex.application.logic.MovieService;
+import lex.application.logic.ReportFormat;
+import lex.application.logic.SortMode;
+import lex.application.metrics.Metrics;
 import lex.application.model.Movie;
 
 import java.io.File;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.scene.input.KeyCombination;
 
 /**
@@ -26,12 +38,18 @@ public class MainView {
     private Runnable onLogout; // Callback pentru revenirea la ecranul de Login
     
     // Componente dinamice care necesita refresh
-    private FlowPane catalog = new FlowPane(); 
+    private MovieGridView catalog;
+    private Task<Void> loadTask;
+
+    // Cautare "live": interogarea porneste doar dupa o scurta pauza in tastare
+    private static final double SEARCH_DELAY_MS = 200;
+    private TextField searchField = new TextField();
+    private PauseTransition searchDelay = new PauseTransition(Duration.millis(SEARCH_DELAY_MS));
     private TreeView<String> treeView = new TreeView<>();
+    private Map<FacetModel.Facet, TreeItem<String>> facetNodes = new EnumMap<>(FacetModel.Facet.class);
     
     // Paleta de culori pentru consistenta vizuala (Dark Mode / Cyberpunk style)
     private final String darkPurpleBg = "-fx-background-color: #1a103c;";
-    private final String cardBg = "-fx-background-color: #2d1b5e;";
     private final String turquoiseAccent = "#00ced1";
 
     public MainView(String username, Runnable onLogout) {
@@ -40,6 +58,14 @@ public class MainView {
         this.movieService = new MovieService(username);
     }
 
+    /**
+     * Salveaza pe disc modificarile ramase si opreste firele de fundal ale serviciului.
+     */
+    public void shutdown() {
+        if (loadTask != null) loadTask.cancel();
+        movieService.shutdown();
+    }
+
     /**
      * Construieste scena principala a aplicatiei.
      */
@@ -53,31 +79,84 @@ public class MainView {
         // --- 2. SIDEBAR STÂNGA (Navigatie si Actiuni) ---
         setupLeftPane(root);
 
-        // --- 3. ZONA CENTRALĂ (Catalogul cu Scroll) ---
-        catalog.setPadding(new Insets(30));
-        catalog.setHgap(25); // Spatiu orizontal intre carduri
-        catalog.setVgap(25); // Spatiu vertical intre randuri
-        catalog.setStyle(darkPurpleBg);
-        
-        // Legam latimea catalogului de latimea ferestrei pentru a permite asezarea automata (wrap)
-        catalog.prefWidthProperty().bind(root.widthProperty().subtract(260));
+        // --- 3. ZONA CENTRALĂ (Catalogul virtualizat) ---
+        // Grila este legata direct de lista filtrata: orice filtrare/adaugare/stergere se reflecta automat
+        catalog = new MovieGridView(movieService.getFilteredMovies(),
+            () -> new MovieCard(movieService, this::showSimilarMovies));
+        VBox.setVgrow(catalog, Priority.ALWAYS);
+        VBox center = new VBox(createSearchBar(), catalog);
+        root.setCenter(center);
+
+        // --- 4. INCARCAREA COLECTIEI ---
+        // Fereastra apare imediat; filmele sunt adaugate in loturi pe masura ce sunt citite de pe disc
+        root.setBottom(startLoading());
+
+        Scene scene = new Scene(root, 700, 600);
+        // Panou de diagnostic ascuns (nu apare in meniu), pentru investigarea problemelor de performanta
+        scene.getAccelerators().put(KeyCombination.keyCombination("Ctrl+Shift+D"), this::showDiagnostics);
+        return scene;
+    }
 
-        ScrollPane scrollPane = new ScrollPane(catalog);
-        scrollPane.setFitToWidth(true); 
-        scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER); // Doar scroll vertical
-        scrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED); 
-        
-        // Eliminam bordurile default ale ScrollPane-ului pentru un aspect curat
-        scrollPane.setStyle("-fx-background: #1a103c; " +
-                            "-fx-background-color: #1a103c; " +
-                            "-fx-border-color: transparent;");
-        
-        root.setCenter(scrollPane);
+    /**
+     * Campul de cautare deasupra catalogului. Fiecare tasta reporneste pauza; cand aceasta expira,
+     * cautarea ruleaza in fundal, iar o cautare mai veche inca in curs este anulata.
+     */
+    private HBox createSearchBar() {
+        searchField.setPromptText("Caută... (ex: genre:drama director:\"Nolan\" year:1990..2005 rating>=8 -horror)");
+        searchField.setStyle("-fx-background-color: #2d1b5e; -fx-text-fill: white; -fx-prompt-text-fill: #9a8fc0; -fx-background-radius: 5;");
+        HBox.setHgrow(searchField, Priority.ALWAYS);
+
+        searchDelay.setOnFinished(e -> movieService.filterMoviesAsync(searchField.getText().trim()));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDelay.playFromStart());
+
+        // Sortarea foloseste indexurile din MovieService, deci nu resorteaza lista la fiecare modificare
+        ComboBox<SortMode> sortBox = new ComboBox<>(FXCollections.observableArrayList(SortMode.values()));
+        sortBox.setValue(movieService.getSortMode());
+        sortBox.setStyle("-fx-background-color: #2d1b5e; -fx-background-radius: 5;");
+        sortBox.setButtonCell(new ListCell<SortMode>() {
+            @Override
+            protected void updateItem(SortMode item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.toString());
+                setStyle("-fx-text-fill: white;");
+            }
+        });
+        sortBox.setOnAction(e -> movieService.setSortMode(sortBox.getValue()));
 
-        // Populare initiala a filmelor
-        refreshCatalog();
+        HBox bar = new HBox(10, searchField, sortBox);
+        bar.setPadding(new Insets(15, 30, 5, 30));
+        bar.setStyle(darkPurpleBg);
+        return bar;
+    }
 
-        return new Scene(root, 700, 600); 
+    /**
+     * Porneste incarcarea colectiei in fundal si returneaza bara de stare care o urmareste.
+     * Bara dispare cand incarcarea se termina.
+     */
+    private HBox startLoading() {
+        loadTask = movieService.createLoadTask();
+
+        ProgressBar bar = new ProgressBar();
+        bar.setPrefWidth(160);
+        bar.progressProperty().bind(loadTask.progressProperty());
+        Label status = new Label();
+        status.setStyle("-fx-text-fill: white;");
+        status.textProperty().bind(loadTask.messageProperty());
+
+        HBox statusBar = new HBox(10, bar, status);
+        statusBar.setPadding(new Insets(5, 20, 5, 20));
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+        statusBar.setStyle("-fx-background-color: #2d1b5e;");
+        statusBar.visibleProperty().bind(movieService.loadingProperty());
+        statusBar.managedProperty().bind(statusBar.visibleProperty());
+
+        loadTask.setOnFailed(e -> showErrorAlert("Eroare la încărcarea colecției",
+            String.valueOf(loadTask.getException().getMessage())));
+
+        Thread worker = new Thread(loadTask, "catalog-loader");
+        worker.setDaemon(true);
+        worker.start();
+        return statusBar;
     }
 
     /**
@@ -98,30 +177,27 @@ public class MainView {
         addMovieBtn.setPadding(new Insets(12));
         addMovieBtn.setOnAction(e -> showAddDialog());
 
-        // Buton pentru exportul colectiei in format TXT
+        // Buton pentru exportul colectiei (TXT, CSV, JSON sau HTML)
         Button reportBtn = new Button("GENEREAZĂ RAPORT");
         String reportBtnStyle = "-fx-background-color: transparent; -fx-text-fill: #00ced1; -fx-border-color: #00ced1; -fx-font-weight: bold; -fx-background-radius: 5; -fx-cursor: hand;";
         reportBtn.setStyle(reportBtnStyle);
         reportBtn.setMaxWidth(Double.MAX_VALUE);
         reportBtn.setPadding(new Insets(10));
         
-        reportBtn.setOnAction(e -> {
-            javafx.stage.FileChooser fc = new javafx.stage.FileChooser();
-            fc.setTitle("Salvează Raportul");
-            fc.getExtensionFilters().add(new javafx.stage.FileChooser.ExtensionFilter("Fișier Text", "*.txt"));
-            File file = fc.showSaveDialog(null);
-            if (file != null) {
-                movieService.generateReport(file);
-                showInfoAlert("Succes", "Raport generat cu succes!");
-            }
-        });
+        reportBtn.setOnAction(e -> showReportDialog());
+        // Raportul ar contine doar filmele incarcate pana acum
+        reportBtn.disableProperty().bind(movieService.loadingProperty());
 
         // Buton de Logout pentru schimbarea utilizatorului
         Button logoutBtn = new Button("LOGOUT (" + currentUser + ")");
         String logoutBtnStyle = "-fx-background-color: transparent; -fx-text-fill: #ff4d4d; -fx-border-color: #ff4d4d; -fx-border-radius: 5; -fx-cursor: hand;";
         logoutBtn.setStyle(logoutBtnStyle);
         logoutBtn.setMaxWidth(Double.MAX_VALUE);
-        logoutBtn.setOnAction(e -> onLogout.run());
+        logoutBtn.setOnAction(e -> {
+            // Salvam modificarile din coada inainte de a schimba utilizatorul
+            shutdown();
+            onLogout.run();
+        });
 
         VBox leftPane = new VBox(20); 
         leftPane.setPadding(new Insets(20));
@@ -134,107 +210,96 @@ public class MainView {
 
     /**
      * Construieste ierarhia (TreeView) pentru filtrarea rapida a filmelor.
-     * Extrage dinamic genurile, regizorii si anii existenti in lista.
+     * Valorile vin din FacetModel; dupa constructie, arborele primeste doar modificarile (delta),
+     * iar numarul de filme al fiecarui nod este afisat ca badge.
      */
     private void setupTreeView() {
         TreeItem<String> rootItem = new TreeItem<>("Cinema Manager");
         rootItem.setExpanded(true);
 
-        // Nod pentru Categorii - folosim flatMap pentru a separa genurile multiple (ex: "Actiune, Drama")
-        TreeItem<String> categoriesNode = new TreeItem<>("Categorii");
-        movieService.getFilteredMovies().stream()
-            .map(m -> m.getCategories())
-            .filter(c -> c != null && !c.isEmpty())
-            .flatMap(c -> java.util.Arrays.stream(c.split(",")))
-            .map(String::trim)
-            .distinct()
-            .sorted()
-            .forEach(cat -> categoriesNode.getChildren().add(new TreeItem<>(cat)));
-
-        // Nod pentru Regizori
-        TreeItem<String> directorsNode = new TreeItem<>("Regizori");
-        movieService.getFilteredMovies().stream()
-            .map(Movie::getDirector)
-            .distinct().sorted()
-            .forEach(dir -> directorsNode.getChildren().add(new TreeItem<>(dir)));
-
-        // Nod pentru Ani
-        TreeItem<String> yearsNode = new TreeItem<>("Ani");
-        movieService.getFilteredMovies().stream()
-            .map(movie -> String.valueOf(movie.getYear()))
-            .distinct().sorted()
-            .forEach(year -> yearsNode.getChildren().add(new TreeItem<>(year)));
-
-        rootItem.getChildren().addAll(java.util.List.of(categoriesNode, directorsNode, yearsNode));
+        facetNodes.put(FacetModel.Facet.CATEGORY, new TreeItem<>("Categorii"));
+        facetNodes.put(FacetModel.Facet.DIRECTOR, new TreeItem<>("Regizori"));
+        facetNodes.put(FacetModel.Facet.YEAR, new TreeItem<>("Ani"));
+
+        FacetModel facets = movieService.getFacets();
+        for (FacetModel.Facet facet : FacetModel.Facet.values()) {
+            TreeItem<String> node = facetNodes.get(facet);
+            // Valorile sunt deja sortate in model, deci le adaugam direct in ordine
+            facets.values(facet).forEach((value, count) -> node.getChildren().add(createFacetItem(value, count)));
+            rootItem.getChildren().add(node);
+        }
+
+        facets.addListener(new FacetModel.Listener() {
+            @Override
+            public void facetAdded(FacetModel.Facet facet, String value, int count) {
+                List<TreeItem<String>> children = facetNodes.get(facet).getChildren();
+                int index = findFacetItem(facet, value);
+                children.add(-index - 1, createFacetItem(value, count));
+            }
+
+            @Override
+            public void facetCountChanged(FacetModel.Facet facet, String value, int count) {
+                int index = findFacetItem(facet, value);
+                if (index >= 0) {
+                    ((Label) facetNodes.get(facet).getChildren().get(index).getGraphic()).setText(String.valueOf(count));
+                }
+            }
+
+            @Override
+            public void facetRemoved(FacetModel.Facet facet, String value) {
+                int index = findFacetItem(facet, value);
+                if (index >= 0) facetNodes.get(facet).getChildren().remove(index);
+            }
+        });
+
         treeView.setRoot(rootItem);
         treeView.setShowRoot(false);
         treeView.setStyle("-fx-background-color: #2d1b5e; -fx-control-inner-background: #2d1b5e; -fx-text-fill: white;");
 
         // Eveniment de selectie: la click pe o frunza (leaf), filtram catalogul
+        // Listener-ul este adaugat o singura data, arborele nu mai este reconstruit
         treeView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal != null && newVal.isLeaf()) {
-                movieService.filterMovies(newVal.getValue());
-            } else {
-                movieService.filterMovies(""); // Resetare filtru
+            // Clauza tipizata (ex: year:2001) apare si in campul de cautare; filtrul se aplica imediat, fara pauza
+            String filter = ""; // "" = resetare filtru
+            if (newVal != null && newVal.isLeaf() && !facetNodes.containsValue(newVal)) {
+                for (Map.Entry<FacetModel.Facet, TreeItem<String>> e: facetNodes.entrySet()) {
+                    if (e.getValue() == newVal.getParent()) {
+                        filter = MovieQuery.facetClause(e.getKey(), newVal.getValue());
+                    }
+                }
             }
-            refreshCatalog();
+            searchField.setText(filter);
+            searchDelay.stop();
+            movieService.filterMovies(filter);
         });
     }
 
     /**
-     * Reincarca vizual cardurile de filme in FlowPane.
+     * Nod de fateta cu badge-ul ce arata numarul de filme.
      */
-    private void refreshCatalog() {
-        catalog.getChildren().clear();
-        for (Movie movie : movieService.getFilteredMovies()) {
-            catalog.getChildren().add(createMovieCard(movie));
-        }
+    private TreeItem<String> createFacetItem(String value, int count) {
+        Label badge = new Label(String.valueOf(count));
+        badge.setStyle("-fx-background-color: " + turquoiseAccent + "; -fx-text-fill: #1a103c; -fx-font-size: 10px; -fx-font-weight: bold; -fx-padding: 0 5 0 5; -fx-background-radius: 8;");
+        return new TreeItem<>(value, badge);
     }
 
     /**
-     * Creeaza un element vizual (card) pentru un film.
-     * Include imaginea de coperta, titlul si meniul contextual (Play/Delete).
+     * Cautare binara in copiii sortati ai fatetei (O(log n)).
+     * @return indexul nodului, sau (-(punctul de inserare) - 1) daca nu exista.
      */
-    private VBox createMovieCard(Movie movie) {
-        VBox card = new VBox(10);
-        card.setAlignment(Pos.CENTER);
-        card.setPadding(new Insets(10));
-        card.setStyle(cardBg + "-fx-background-radius: 10; -fx-cursor: hand;");
-        card.setPrefSize(170, 260);
-
-        ImageView cover = new ImageView(movieService.getMovieCover(movie));
-        cover.setFitWidth(140);
-        cover.setFitHeight(180);
-        cover.setPreserveRatio(true);
-
-        Label title = new Label(movie.getTitle());
-        title.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-text-alignment: center;");
-        title.setWrapText(true);
-
-        card.getChildren().addAll(cover, title);
-
-        // --- MENIU CONTEXTUAL (Click Dreapta) ---
-        ContextMenu contextMenu = new ContextMenu();
-        MenuItem playItem = new MenuItem("Play Movie");
-        playItem.setOnAction(e -> movieService.playMovie(movie));
-        
-        MenuItem deleteItem = new MenuItem("Șterge Film");
-        deleteItem.setStyle("-fx-text-fill: #ff4d4d;");
-        deleteItem.setOnAction(e -> {
-            movieService.deleteMovie(movie);
-            refreshCatalog();
-            setupTreeView(); // Refresh si la arborele de navigatie
-        });
-
-        contextMenu.getItems().addAll(playItem, new SeparatorMenuItem(), deleteItem);
-        card.setOnContextMenuRequested(e -> contextMenu.show(card, e.getScreenX(), e.getScreenY()));
-        
-        // Dublu click pentru pornirea rapida a filmului
-        card.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2) movieService.playMovie(movie);
-        });
-
-        return card;
+    private int findFacetItem(FacetModel.Facet facet, String value) {
+        List<TreeItem<String>> children = facetNodes.get(facet).getChildren();
+        Comparator<String> order = FacetModel.comparator(facet);
+        int low = 0;
+        int high = children.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = order.compare(children.get(mid).getValue(), value);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
     }
 
     /**
@@ -254,7 +319,12 @@ public class MainView {
         MenuItem addItem = new MenuItem("Adaugă Film Nou");
         addItem.setAccelerator(KeyCombination.keyCombination("Ctrl+N"));
         addItem.setOnAction(e -> showAddDialog());
-        editMenu.getItems().add(addItem);
+        MenuItem importItem = new MenuItem("Importă Folder Media...");
+        importItem.setAccelerator(KeyCombination.keyCombination("Ctrl+I"));
+        importItem.setOnAction(e -> showImportDialog());
+        // Filmele deja existente nu sunt cunoscute complet pana la finalul incarcarii
+        importItem.disableProperty().bind(movieService.loadingProperty());
+        editMenu.getItems().addAll(addItem, importItem);
 
         menuBar.getMenus().addAll(fileMenu, editMenu);
         return menuBar;
@@ -317,9 +387,7 @@ public class MainView {
                 // Trimiterea datelor catre logic layer
                 movieService.addMovie(title, director, year, path, categories, rating, imdbId);
                 
-                // Inchiderea dialogului si refresh UI
-                refreshCatalog();
-                setupTreeView(); 
+                // Inchiderea dialogului (grila si arborele se actualizeaza singure)
                 dialog.close();
 
             } catch (NumberFormatException ex) {
@@ -339,6 +407,181 @@ public class MainView {
         dialog.show();
     }
 
+    /**
+     * Import in masa: utilizatorul alege un folder radacina, scanarea ruleaza in fundal
+     * iar progresul este afisat intr-o fereastra separata.
+     */
+    private void showImportDialog() {
+        DirectoryChooser dc = new DirectoryChooser();
+        dc.setTitle("Alege folderul cu filme");
+        File root = dc.showDialog(null);
+        if (root == null) return;
+
+        Task<List<Movie>> task = movieService.createImportTask(root);
+
+        Stage progressDialog = createProgressDialog("Import filme", task, false);
+
+        task.setOnSucceeded(e -> {
+            progressDialog.close();
+            // Toate filmele noi intra in colectie intr-un singur lot (o singura scriere pe disc)
+            int added = movieService.commitImported(task.getValue());
+            showInfoAlert("Import finalizat", added + " filme noi au fost importate.");
+        });
+        task.setOnFailed(e -> {
+            progressDialog.close();
+            showErrorAlert("Eroare la import", String.valueOf(task.getException().getMessage()));
+        });
+
+        Thread worker = new Thread(task, "media-import");
+        worker.setDaemon(true);
+        worker.start();
+        progressDialog.show();
+    }
+
+    /**
+     * Raportul este generat in fundal; formatul se alege dupa filtrul/extensia fisierului.
+     */
+    private void showReportDialog() {
+        javafx.stage.FileChooser fc = new javafx.stage.FileChooser();
+        fc.setTitle("Salvează Raportul");
+        for (ReportFormat format: ReportFormat.values()) {
+            fc.getExtensionFilters().add(new javafx.stage.FileChooser.ExtensionFilter(
+                format.getDescription(), "*." + format.getExtension()));
+        }
+        File file = fc.showSaveDialog(null);
+        if (file == null) return;
+
+        ReportFormat format = ReportFormat.forFileName(file.getName());
+        if (!file.getName().toLowerCase().endsWith("." + format.getExtension())) {
+            // Fara extensie in nume, folosim filtrul selectat in dialog
+            javafx.stage.FileChooser.ExtensionFilter selected = fc.getSelectedExtensionFilter();
+            if (selected != null) {
+                int index = fc.getExtensionFilters().indexOf(selected);
+                format = ReportFormat.values()[index];
+                file = new File(file.getParentFile(), file.getName() + "." + format.getExtension());
+            }
+        }
+
+        Task<Void> task = movieService.createReportTask(file, format);
+        Stage progressDialog = createProgressDialog("Generare raport", task, true);
+
+        task.setOnSucceeded(e -> {
+            progressDialog.close();
+            showInfoAlert("Succes", "Raport generat cu succes!");
+        });
+        task.setOnCancelled(e -> progressDialog.close());
+        task.setOnFailed(e -> {
+            progressDialog.close();
+            showErrorAlert("Eroare la generarea raportului", String.valueOf(task.getException().getMessage()));
+        });
+
+        Thread worker = new Thread(task, "report-generator");
+        worker.setDaemon(true);
+        worker.start();
+        progressDialog.show();
+    }
+
+    /**
+     * Fereastra de progres comuna pentru operatiile lungi (import, raport).
+     */
+    private Stage createProgressDialog(String title, Task<?> task, boolean cancellable) {
+        Stage progressDialog = new Stage();
+        progressDialog.setTitle(title);
+        ProgressBar bar = new ProgressBar();
+        bar.setPrefWidth(300);
+        bar.progressProperty().bind(task.progressProperty());
+        Label status = new Label();
+        status.setStyle("-fx-text-fill: white;");
+        status.textProperty().bind(task.messageProperty());
+
+        VBox box = new VBox(15, bar, status);
+        box.setPadding(new Insets(20));
+        box.setAlignment(Pos.CENTER);
+        box.setStyle(darkPurpleBg);
+
+        if (cancellable) {
+            Button cancelBtn = new Button("Anulează");
+            cancelBtn.setStyle("-fx-background-color: transparent; -fx-text-fill: #ff4d4d; -fx-border-color: #ff4d4d; -fx-border-radius: 5; -fx-cursor: hand;");
+            cancelBtn.setOnAction(e -> task.cancel());
+            box.getChildren().add(cancelBtn);
+            progressDialog.setOnCloseRequest(e -> task.cancel());
+        }
+        progressDialog.setScene(new Scene(box, 380, cancellable ? 160 : 120));
+        return progressDialog;
+    }
+
+    /**
+     * Fereastra "Filme asemanatoare" pentru filmul de pe un card. Dublu click porneste filmul ales.
+     */
+    private void showSimilarMovies(Movie movie) {
+        Stage stage = new Stage();
+        stage.setTitle("Filme asemănătoare cu " + movie.getTitle());
+
+        ListView<Movie> list = new ListView<>(FXCollections.observableArrayList(movieService.similarMovies(movie)));
+        list.setPlaceholder(new Label("Niciun film asemănător în colecție."));
+        list.setStyle("-fx-control-inner-background: #2d1b5e;");
+        list.setCellFactory(v -> new ListCell<>() {
+            @Override
+            protected void updateItem(Movie item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null
+                    : item.getTitle() + " (" + item.getYear() + ") - " + item.getDirector()
+                        + "   [" + item.getCategories() + ", " + item.getRating() + "]");
+            }
+        });
+        list.setOnMouseClicked(e -> {
+            Movie selected = list.getSelectionModel().getSelectedItem();
+            if (e.getClickCount() == 2 && selected != null) movieService.playMovie(selected);
+        });
+        VBox.setVgrow(list, Priority.ALWAYS);
+
+        VBox box = new VBox(10, list);
+        box.setPadding(new Insets(15));
+        box.setStyle(darkPurpleBg);
+        stage.setScene(new Scene(box, 520, 360));
+        stage.show();
+    }
+
+    /**
+     * Afiseaza metricile de performanta (latente si contoare) si permite salvarea lor intr-un fisier.
+     */
+    private void showDiagnostics() {
+        Stage stage = new Stage();
+        stage.setTitle("Diagnostic performanță");
+
+        TextArea text = new TextArea(Metrics.snapshot());
+        text.setEditable(false);
+        text.setStyle("-fx-font-family: monospace; -fx-control-inner-background: #1a103c; -fx-text-fill: white;");
+        VBox.setVgrow(text, Priority.ALWAYS);
+
+        Button refreshBtn = new Button("Reîmprospătează");
+        refreshBtn.setOnAction(e -> text.setText(Metrics.snapshot()));
+
+        Button dumpBtn = new Button("Salvează în fișier");
+        dumpBtn.setOnAction(e -> {
+            File file = Metrics.defaultDumpFile();
+            try {
+                Metrics.dump(file);
+                showInfoAlert("Diagnostic", "Metricile au fost salvate în " + file.getAbsolutePath());
+            } catch (java.io.IOException ex) {
+                showErrorAlert("Eroare la salvarea metricilor", ex.getMessage());
+            }
+        });
+
+        Button resetBtn = new Button("Resetează");
+        resetBtn.setOnAction(e -> {
+            Metrics.reset();
+            text.setText(Metrics.snapshot());
+        });
+
+        HBox buttons = new HBox(10, refreshBtn, dumpBtn, resetBtn);
+        VBox box = new VBox(10, text, buttons);
+        box.setPadding(new Insets(15));
+        box.setStyle(darkPurpleBg);
+        stage.setScene(new Scene(box, 820, 480));
+        stage.show();
+    }
+
     private void showErrorAlert(String title, String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
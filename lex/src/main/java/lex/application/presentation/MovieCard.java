@@ -0,0 +1,90 @@
+package lex.application.presentation;
+
+import lex.application.logic.MovieService;
+import lex.application.model.Movie;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
+
+import java.util.function.Consumer;
+
+/**
+ * Cardul vizual al unui film (coperta, titlu, meniu contextual).
+ * Nodul este refolosit de grila virtualizata: la scroll i se schimba doar filmul afisat prin show().
+ */
+class MovieCard extends VBox {
+
+    static final double WIDTH = 170;
+    static final double HEIGHT = 260;
+
+    private final MovieService movieService;
+    private final ImageView cover = new ImageView();
+    private final Label title = new Label();
+
+    // Filmul afisat in acest moment; handler-ele de mai jos lucreaza mereu cu el
+    private Movie movie;
+
+    /**
+     * @param showSimilar Afiseaza filmele asemanatoare cu cel de pe card (fereastra este creata de MainView).
+     */
+    MovieCard(MovieService movieService, Consumer<Movie> showSimilar) {
+        super(10);
+        this.movieService = movieService;
+
+        setAlignment(Pos.CENTER);
+        setPadding(new Insets(10));
+        setStyle("-fx-background-color: #2d1b5e; -fx-background-radius: 10; -fx-cursor: hand;");
+        setPrefSize(WIDTH, HEIGHT);
+        setMinSize(WIDTH, HEIGHT);
+        setMaxSize(WIDTH, HEIGHT);
+
+        cover.setFitWidth(140);
+        cover.setFitHeight(180);
+        cover.setPreserveRatio(true);
+
+        title.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-text-alignment: center;");
+        title.setWrapText(true);
+
+        getChildren().addAll(cover, title);
+
+        // --- MENIU CONTEXTUAL (Click Dreapta) ---
+        ContextMenu contextMenu = new ContextMenu();
+        MenuItem playItem = new MenuItem("Play Movie");
+        playItem.setOnAction(e -> movieService.playMovie(movie));
+
+        MenuItem similarItem = new MenuItem("Filme asemănătoare");
+        similarItem.setOnAction(e -> showSimilar.accept(movie));
+
+        MenuItem deleteItem = new MenuItem("Șterge Film");
+        deleteItem.setStyle("-fx-text-fill: #ff4d4d;");
+        // Grila si arborele de navigatie se actualizeaza singure din lista observabila
+        deleteItem.setOnAction(e -> movieService.deleteMovie(movie));
+
+        contextMenu.getItems().addAll(playItem, similarItem, new SeparatorMenuItem(), deleteItem);
+        setOnContextMenuRequested(e -> contextMenu.show(this, e.getScreenX(), e.getScreenY()));
+
+        // Dublu click pentru pornirea rapida a filmului
+        setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) movieService.playMovie(movie);
+        });
+    }
+
+    /**
+     * Leaga cardul de un alt film, fara a recrea nodurile.
+     */
+    void show(Movie movie) {
+        if (this.movie == movie) return;
+        this.movie = movie;
+        title.setText(movie.getTitle());
+        // Coperta reala soseste asincron; o aplicam doar daca acest card inca afiseaza acelasi film
+        cover.setImage(movieService.getMovieCover(movie, image -> {
+            if (this.movie == movie) cover.setImage(image);
+        }));
+    }
+}
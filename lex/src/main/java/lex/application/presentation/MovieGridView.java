@@ -0,0 +1,138 @@
+package lex.application.presentation;
+
+import lex.application.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Grila virtualizata pentru catalog: un ListView in care fiecare rand contine cateva carduri.
+ * ListView creeaza celule doar pentru randurile vizibile si le refoloseste la scroll,
+ * deci numarul de noduri nu mai creste odata cu numarul de filme.
+ *
+ * Elementele listei sunt doar numerele randurilor; celula citeste filmele direct din lista filtrata.
+ * Astfel o modificare nu creeaza si nu compara liste pentru fiecare rand: se ajusteaza doar numarul
+ * de randuri, iar celulele existente (cateva ecrane, nu toata colectia) se redeseneaza.
+ */
+class MovieGridView extends ListView<Integer> {
+
+    private static final double GAP = 25;
+    private static final double PADDING = 30;
+
+    private final ObservableList<Movie> movies;
+    private final Supplier<MovieCard> cardFactory;
+    // Randurile afisate: 0, 1, ..., numarul de randuri - 1
+    private final ObservableList<Integer> rows = FXCollections.observableArrayList();
+    // Celulele create de ListView (vizibile sau pastrate pentru refolosire); cele renuntate dispar singure
+    private final Set<RowCell> cells = Collections.newSetFromMap(new WeakHashMap<>());
+    private int columns = 1;
+
+    MovieGridView(ObservableList<Movie> movies, Supplier<MovieCard> cardFactory) {
+        this.movies = movies;
+        this.cardFactory = cardFactory;
+
+        setStyle("-fx-background-color: #1a103c; -fx-control-inner-background: #1a103c; -fx-border-color: transparent;");
+        setFocusTraversable(false);
+        setFixedCellSize(MovieCard.HEIGHT + GAP);
+        setCellFactory(list -> {
+            RowCell cell = new RowCell();
+            cells.add(cell);
+            return cell;
+        });
+        setItems(rows);
+
+        // La o schimbare a listei filtrate se redeseneaza doar celulele de la primul rand modificat
+        movies.addListener((ListChangeListener<Movie>) c -> {
+            int from = movies.size();
+            while (c.next()) from = Math.min(from, c.getFrom());
+            updateRows(from / columns);
+        });
+        widthProperty().addListener((obs, oldVal, newVal) -> {
+            int newColumns = computeColumns(newVal.doubleValue());
+            if (newColumns != columns) {
+                columns = newColumns;
+                updateRows(0);
+            }
+        });
+
+        updateRows(0);
+    }
+
+    private int computeColumns(double width) {
+        double usable = width - 2 * PADDING + GAP - 20; // 20px rezervati pentru scrollbar
+        return Math.max(1, (int) (usable / (MovieCard.WIDTH + GAP)));
+    }
+
+    /**
+     * Ajusteaza numarul de randuri (se adauga sau se sterg doar randurile de la final), apoi
+     * redeseneaza celulele existente care afiseaza randuri de la firstRow inainte.
+     * Costul depinde de numarul de randuri adaugate sau sterse si de numarul de celule, nu de colectie.
+     */
+    private void updateRows(int firstRow) {
+        int count = (movies.size() + columns - 1) / columns;
+        if (rows.size() < count) {
+            List<Integer> added = new ArrayList<>(count - rows.size());
+            for (int r = rows.size(); r < count; r++) added.add(r);
+            rows.addAll(added);
+        } else if (rows.size() > count) {
+            rows.remove(count, rows.size());
+        }
+
+        for (RowCell cell: cells) {
+            if (cell.getItem() != null && cell.getItem() >= firstRow) cell.render();
+        }
+    }
+
+    /**
+     * Celula unui rand; pastreaza cardurile create anterior si doar le leaga de alte filme.
+     */
+    private class RowCell extends ListCell<Integer> {
+        private final HBox row = new HBox(GAP);
+        private final List<MovieCard> cards = new ArrayList<>();
+
+        RowCell() {
+            setStyle("-fx-background-color: #1a103c; -fx-padding: 0 " + PADDING + " 0 " + PADDING + ";");
+        }
+
+        @Override
+        protected void updateItem(Integer item, boolean empty) {
+            super.updateItem(item, empty);
+            render();
+        }
+
+        // Leaga cardurile de filmele randului curent, citite direct din lista filtrata
+        void render() {
+            Integer item = getItem();
+            int from = item == null || isEmpty() ? movies.size() : item * columns;
+            if (from >= movies.size()) {
+                setGraphic(null);
+                return;
+            }
+            int size = Math.min(columns, movies.size() - from);
+
+            while (cards.size() < size) {
+                MovieCard card = cardFactory.get();
+                cards.add(card);
+                row.getChildren().add(card);
+            }
+            for (int i = 0; i < cards.size(); i++) {
+                MovieCard card = cards.get(i);
+                boolean used = i < size;
+                card.setVisible(used);
+                card.setManaged(used);
+                if (used) card.show(movies.get(from + i));
+            }
+            setGraphic(row);
+        }
+    }
+}
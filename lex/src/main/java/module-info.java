@@ -1,8 +1,13 @@
+// H2 este un modul automat (fără module-info); cerința explicită îl pune în graful de module pentru DriverManager
+@SuppressWarnings("requires-automatic")
 module lex.application {
     requires javafx.controls;
     requires javafx.fxml;
     requires transitive javafx.graphics;
     requires java.desktop;
+    requires jdk.jfr;
+    requires java.sql;
+    requires com.h2database;
     opens lex.application to javafx.fxml;
     exports lex.application;
 }
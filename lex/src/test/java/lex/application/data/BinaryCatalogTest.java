@@ -0,0 +1,128 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catalogul binar: citirea înapoi a ce a fost scris și respingerea fișierelor corupte.
+ */
+class BinaryCatalogTest {
+
+	@TempDir
+	File dir;
+
+	private static List<Movie> sample() {
+		List<Movie> movies = new ArrayList<>();
+		movies.add(Movie.of("Amélie", "Jean-Pierre Jeunet", 2001, "/filme/Amélie", "Comedie, Dramă", 8.3, "tt0211915"));
+		movies.add(Movie.of("Inception", "Christopher Nolan", 2010, "/filme/Inception", "SF", 8.8, ""));
+		// Textele repetate și valorile lipsă
+		movies.add(Movie.of("Interstellar", "Christopher Nolan", 2014, null, "SF", 8.6, null));
+		movies.add(Movie.of(null, null, -1, "", "", 0.0, ""));
+		return movies;
+	}
+
+	static void assertSameMovies(List<Movie> expected, List<Movie> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Movie e = expected.get(i);
+			Movie a = actual.get(i);
+			assertEquals(e.getTitle(), a.getTitle(), "titlul filmului " + i);
+			assertEquals(e.getDirector(), a.getDirector(), "regizorul filmului " + i);
+			assertEquals(e.getYear(), a.getYear(), "anul filmului " + i);
+			assertEquals(e.getMoviePath(), a.getMoviePath(), "calea filmului " + i);
+			assertEquals(e.getCategories(), a.getCategories(), "categoriile filmului " + i);
+			assertEquals(e.getRating(), a.getRating(), "rating-ul filmului " + i);
+			assertEquals(e.getImdbId(), a.getImdbId(), "ID-ul IMDB al filmului " + i);
+		}
+	}
+
+	@Test
+	void writtenCatalogIsReadBack() throws IOException {
+		File file = new File(dir, "movies.bin");
+		BinaryCatalog.write(sample(), file);
+
+		assertSameMovies(sample(), BinaryCatalog.read(file));
+	}
+
+	@Test
+	void emptyFilesAndEmptyCatalogsHaveNoMovies() throws IOException {
+		File empty = new File(dir, "empty.bin");
+		assertTrue(empty.createNewFile());
+		assertTrue(BinaryCatalog.read(empty).isEmpty());
+
+		File none = new File(dir, "none.bin");
+		BinaryCatalog.write(new ArrayList<>(), none);
+		assertTrue(BinaryCatalog.read(none).isEmpty());
+	}
+
+	@Test
+	void otherFilesAreRejected() throws IOException {
+		File file = new File(dir, "movies.txt");
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write("Inception,Nolan,2010,/f,SF,8.8,\n".getBytes("UTF-8"));
+		}
+
+		IOException e = assertThrows(IOException.class, () -> BinaryCatalog.read(file));
+		assertTrue(e.getMessage().contains("nu este un catalog binar"), e.getMessage());
+	}
+
+	@Test
+	void truncatedFileIsReportedAsCorrupt() throws IOException {
+		File file = new File(dir, "movies.bin");
+		BinaryCatalog.write(sample(), file);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 5);
+		}
+
+		IOException e = assertThrows(IOException.class, () -> BinaryCatalog.read(file));
+		assertTrue(e.getMessage().contains("corupt"), e.getMessage());
+	}
+
+	@Test
+	void hugeCountsAreRejectedBeforeAllocating() throws IOException {
+		File file = new File(dir, "movies.bin");
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeInt(0x4C455842);
+			out.writeInt(1);
+			out.writeInt(0);
+			out.writeInt(Integer.MAX_VALUE);
+		}
+		assertThrows(IOException.class, () -> BinaryCatalog.read(file));
+
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeInt(0x4C455842);
+			out.writeInt(1);
+			out.writeInt(-3);
+		}
+		assertThrows(IOException.class, () -> BinaryCatalog.read(file));
+	}
+
+	@Test
+	void invalidStringIdIsReportedAsCorrupt() throws IOException {
+		File file = new File(dir, "movies.bin");
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeInt(0x4C455842);
+			out.writeInt(1);
+			out.writeInt(0);
+			out.writeInt(1);
+			// Titlul indică un șir care nu există în tabelă
+			out.writeInt(7);
+			for (int i = 0; i < 4; i++) out.writeInt(-1);
+			out.writeDouble(5.0);
+			out.writeInt(-1);
+		}
+
+		assertThrows(IOException.class, () -> BinaryCatalog.read(file));
+	}
+}
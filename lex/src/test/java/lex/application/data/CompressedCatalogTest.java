@@ -0,0 +1,155 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static lex.application.data.BinaryCatalogTest.assertSameMovies;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catalogul comprimat: citirea înapoi, fișierele corupte, migrarea snapshot-ului și pragul compactării la inactivitate.
+ */
+class CompressedCatalogTest {
+
+	@TempDir
+	File dir;
+
+	@AfterEach
+	void restoreFormat() {
+		System.clearProperty("lex.catalog.format");
+	}
+
+	private static List<Movie> sample() {
+		List<Movie> movies = new ArrayList<>();
+		movies.add(Movie.of("Amélie", "Jean-Pierre Jeunet", 2001, "/filme/franceze/Amélie", "Comedie", 8.3, "tt0211915"));
+		movies.add(Movie.of("Delicatessen", "Jean-Pierre Jeunet", 1991, "/filme/franceze/Delicatessen", "Comedie", 7.6, ""));
+		// Separatoare Windows, o cale fără folder părinte, una direct în rădăcină și valori lipsă
+		movies.add(Movie.of("Inception", "Christopher Nolan", 2010, "D:\\filme\\Inception", "SF", 8.8, null));
+		movies.add(Movie.of("Fără folder", null, 2000, "film.mp4", null, 5.0, ""));
+		movies.add(Movie.of("Rădăcină", "R", 2000, "/Rădăcină", "", 5.0, ""));
+		movies.add(Movie.of(null, "R", -5, null, "SF", 0.0, null));
+		return movies;
+	}
+
+	@Test
+	void writtenCatalogIsReadBack() throws IOException {
+		File file = new File(dir, "movies.gz");
+		CompressedCatalog.write(sample(), file);
+
+		assertSameMovies(sample(), CompressedCatalog.read(file));
+	}
+
+	@Test
+	void emptyFilesAndEmptyCatalogsHaveNoMovies() throws IOException {
+		File empty = new File(dir, "empty.gz");
+		assertTrue(empty.createNewFile());
+		assertTrue(CompressedCatalog.read(empty).isEmpty());
+
+		File none = new File(dir, "none.gz");
+		CompressedCatalog.write(new ArrayList<>(), none);
+		assertTrue(CompressedCatalog.read(none).isEmpty());
+	}
+
+	@Test
+	void uncompressedAndTruncatedFilesAreRejected() throws IOException {
+		File text = new File(dir, "movies.txt");
+		try (FileOutputStream out = new FileOutputStream(text)) {
+			out.write("Inception,Nolan,2010,/f,SF,8.8,\n".getBytes("UTF-8"));
+		}
+		assertThrows(IOException.class, () -> CompressedCatalog.read(text));
+
+		File truncated = new File(dir, "movies.gz");
+		CompressedCatalog.write(sample(), truncated);
+		try (RandomAccessFile raf = new RandomAccessFile(truncated, "rw")) {
+			raf.setLength(raf.length() / 2);
+		}
+		IOException e = assertThrows(IOException.class, () -> CompressedCatalog.read(truncated));
+		assertTrue(e.getMessage().contains("corupt"), e.getMessage());
+	}
+
+	@Test
+	void corruptCountsAndLengthsEndInAnIOException() throws IOException {
+		File file = new File(dir, "movies.gz");
+		// Un număr uriaș de filme, dar fluxul se termină imediat
+		writeGzip(file, 0x4C45585A, 1, 0, 0, Integer.MAX_VALUE);
+		assertThrows(IOException.class, () -> CompressedCatalog.read(file));
+
+		// Un șir cu lungime uriașă în tabela de prefixe
+		writeGzip(file, 0x4C45585A, 1, 1, Integer.MAX_VALUE);
+		assertThrows(IOException.class, () -> CompressedCatalog.read(file));
+
+		// Număr negativ
+		writeGzip(file, 0x4C45585A, 1, -1);
+		assertThrows(IOException.class, () -> CompressedCatalog.read(file));
+
+		// Alt format sau altă versiune
+		writeGzip(file, 0x4C455842, 1, 0, 0, 0);
+		assertThrows(IOException.class, () -> CompressedCatalog.read(file));
+		writeGzip(file, 0x4C45585A, 2, 0, 0, 0);
+		IOException e = assertThrows(IOException.class, () -> CompressedCatalog.read(file));
+		assertTrue(e.getMessage().contains("Versiune"), e.getMessage());
+	}
+
+	@Test
+	void textSnapshotIsMigratedOnce() throws IOException {
+		String user = "gz" + System.nanoTime();
+		MovieRepo text = new MovieRepo(user);
+		text.LoadAllMovies();
+		text.saveMovies(List.of(Movie.of("Inception", "Christopher Nolan", 2010, "/filme/Inception", "SF", 8.8, "")));
+		text.close();
+
+		System.setProperty("lex.catalog.format", "compressed");
+		MovieRepo compressed = new MovieRepo(user);
+		List<Movie> movies = compressed.LoadAllMovies();
+		compressed.close();
+
+		assertEquals(1, movies.size());
+		assertEquals("Christopher Nolan", movies.get(0).getDirector());
+		File base = new File(System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex");
+		assertTrue(new File(base, "movies_" + user + ".gz").exists());
+		assertTrue(new File(base, "movies_" + user + ".txt.migrated").exists());
+		assertFalse(new File(base, "movies_" + user + ".txt").exists());
+		assertEquals("Inception", CompressedCatalog.read(new File(base, "movies_" + user + ".gz")).get(0).getTitle());
+	}
+
+	@Test
+	void idleCompactionNeedsFewerJournalEntries() throws IOException {
+		System.setProperty("lex.catalog.format", "compressed");
+		String user = "gz" + System.nanoTime();
+		MovieRepo repo = new MovieRepo(user);
+		List<Movie> movies = new ArrayList<>(repo.LoadAllMovies());
+		for (int i = 0; i < 25; i++) {
+			assertFalse(repo.needsIdleCompaction());
+			Movie m = Movie.of("Film " + i, "Regizor", 2000, "/filme/Film " + i, "SF", 5.0, "");
+			repo.appendAdd(m);
+			movies.add(m);
+		}
+		assertTrue(repo.needsIdleCompaction());
+		assertFalse(repo.needsCompaction());
+
+		repo.compactInBackground(movies);
+		repo.close();
+		assertFalse(repo.needsIdleCompaction());
+
+		File base = new File(System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex");
+		assertEquals(25, CompressedCatalog.read(new File(base, "movies_" + user + ".gz")).size());
+		assertEquals(0, new File(base, "movies_" + user + ".journal").length());
+	}
+
+	private static void writeGzip(File file, int... values) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(file)))) {
+			for (int value: values) out.writeInt(value);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parserul CSV: câmpurile între ghilimele, erorile raportate cu linia corectă și parsarea paralelă.
+ */
+class CsvMovieParserTest {
+
+	@TempDir
+	File dir;
+
+	private static CsvMovieParser.Result parse(String text) throws IOException {
+		return new CsvMovieParser().parse(new StringReader(text));
+	}
+
+	@Test
+	void quotedFieldsKeepCommasQuotesAndSpaces() throws IOException {
+		CsvMovieParser.Result result = parse(
+			"\"Bună, dimineața\",\"Regizor \"\"X\"\"\",2001,/f/a,\"Acțiune, Dramă\",7.5,tt0000001\n"
+			+ "  Titlu  , Regizor ,1999,/f/b,\" SF \",8,\n");
+
+		assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+		assertEquals(2, result.getMovies().size());
+		Movie first = result.getMovies().get(0);
+		assertEquals("Bună, dimineața", first.getTitle());
+		assertEquals("Regizor \"X\"", first.getDirector());
+		assertEquals(2001, first.getYear());
+		assertEquals("Acțiune, Dramă", first.getCategories());
+		assertEquals(7.5, first.getRating());
+		assertEquals("tt0000001", first.getImdbId());
+
+		// Câmpurile fără ghilimele sunt curățate de spații, cele între ghilimele nu
+		Movie second = result.getMovies().get(1);
+		assertEquals("Titlu", second.getTitle());
+		assertEquals("Regizor", second.getDirector());
+		assertEquals(" SF ", second.getCategories());
+		assertEquals(8.0, second.getRating());
+		assertEquals("", second.getImdbId());
+	}
+
+	@Test
+	void errorsReportTheLineOfTheRecord() throws IOException {
+		CsvMovieParser.Result result = parse(
+			"A,R,2000,/f,SF,5,\n"
+			+ "B,R,2000,/f,SF\n"
+			+ "\n"
+			+ "C,R,anul,/f,SF,5,\n"
+			+ "D,R,2000,/f,SF,5,,extra\n"
+			+ "E,\"R\"x,2000,/f,SF,5,\n"
+			+ "F,R,2000,/f,SF,5,\n");
+
+		assertEquals(List.of("A", "F"), titles(result));
+		assertEquals(List.of(
+			"linia 2: număr greșit de câmpuri (5 în loc de 7)",
+			"linia 4: an sau rating invalid",
+			"linia 5: prea multe câmpuri (se așteptau 7)",
+			"linia 6: caracter neașteptat după ghilimele"), result.getErrors());
+	}
+
+	@Test
+	void lineBreaksInsideQuotesDoNotShiftLineNumbers() throws IOException {
+		CsvMovieParser.Result result = parse(
+			"\"Titlu pe\ndouă linii\",R,2000,/f,SF,5,\n"
+			+ "B,R,2000\n"
+			+ "\"Neînchis,R,2000,/f,SF,5,\n");
+
+		assertEquals(List.of("Titlu pe\ndouă linii"), titles(result));
+		assertEquals(List.of(
+			"linia 3: număr greșit de câmpuri (3 în loc de 7)",
+			"linia 4: ghilimele neînchise"), result.getErrors());
+	}
+
+	@Test
+	void windowsLineEndingsAndAMissingFinalNewlineAreAccepted() throws IOException {
+		CsvMovieParser.Result result = parse("A,R,2000,/f,SF,5,\r\nB,R,2001,/f,SF,6.25,tt1\r\nC,R,2002,/f,SF,1e1,");
+
+		assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+		assertEquals(List.of("A", "B", "C"), titles(result));
+		assertEquals(6.25, result.getMovies().get(1).getRating());
+		assertEquals(10.0, result.getMovies().get(2).getRating());
+	}
+
+	@Test
+	void formattedLinesAreParsedBack() {
+		Movie movie = Movie.of(" Spațiu la început", "Regizor, \"Junior\"", 1988, "C:\\filme\\x", "Dramă\nSF", -2.5, "");
+		String line = CsvMovieParser.format(movie);
+		assertFalse(line.contains("\n"));
+
+		Movie parsed = new CsvMovieParser().parseLine(line);
+		assertNotNull(parsed);
+		assertEquals(movie.getTitle(), parsed.getTitle());
+		assertEquals(movie.getDirector(), parsed.getDirector());
+		assertEquals(1988, parsed.getYear());
+		assertEquals(movie.getMoviePath(), parsed.getMoviePath());
+		// Sfârșiturile de linie devin spații, ca fiecare film să ocupe o singură linie
+		assertEquals("Dramă SF", parsed.getCategories());
+		assertEquals(-2.5, parsed.getRating());
+
+		assertNull(new CsvMovieParser().parseLine("doar,trei,câmpuri"));
+	}
+
+	@Test
+	void largeFilesAreParsedInOrderWithRealLineNumbers() throws IOException {
+		File file = new File(dir, "movies.txt");
+		int count = 120_000;
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			for (int i = 1; i <= count; i++) {
+				if (i == 100_000) {
+					writer.write("linie greșită\n");
+					continue;
+				}
+				writer.write(CsvMovieParser.format(Movie.of("Film " + i, "Regizor ă", 1900 + i % 120,
+					"/filme/colecție/Film " + i, "Acțiune, Dramă", 5.5, "tt" + i)));
+				writer.write('\n');
+			}
+		}
+		assertTrue(file.length() > 4L * 1024 * 1024, "fișierul trebuie să fie parsat în paralel");
+
+		CsvMovieParser.Result result = CsvMovieParser.parseFile(file, StandardCharsets.UTF_8);
+
+		assertEquals(List.of("linia 100000: număr greșit de câmpuri (1 în loc de 7)"), result.getErrors());
+		List<Movie> movies = result.getMovies();
+		assertEquals(count - 1, movies.size());
+		assertEquals("Film 1", movies.get(0).getTitle());
+		assertEquals("Film 99999", movies.get(99_998).getTitle());
+		assertEquals("Film 100001", movies.get(99_999).getTitle());
+		assertEquals("Regizor ă", movies.get(count - 2).getDirector());
+		for (int i = 1; i < movies.size(); i++) {
+			assertTrue(imdbNumber(movies.get(i - 1)) < imdbNumber(movies.get(i)), "ordinea filmelor");
+		}
+	}
+
+	private static int imdbNumber(Movie movie) {
+		return Integer.parseInt(movie.getImdbId().substring(2));
+	}
+
+	private static List<String> titles(CsvMovieParser.Result result) {
+		return result.getMovies().stream().map(Movie::getTitle).collect(Collectors.toList());
+	}
+}
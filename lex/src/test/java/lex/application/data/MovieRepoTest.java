@@ -0,0 +1,173 @@
+package lex.application.data;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Jurnalul colecției: reluarea la încărcare, compactarea, modificările altor instanțe
+ * și terminarea unei înlocuiri de fișiere întreruptă.
+ */
+class MovieRepoTest {
+
+	private static final String BASE_DIR = System.getProperty("user.home") + File.separator + "CinemaManagerData" + File.separator + "lex";
+	private static final AtomicInteger USERS = new AtomicInteger();
+
+	// Fiecare test are propriul utilizator, deci propriile fișiere
+	private static String newUser() {
+		return "repo" + System.nanoTime() + "_" + USERS.incrementAndGet();
+	}
+
+	private static File file(String user, String extension) {
+		return new File(BASE_DIR, "movies_" + user + extension);
+	}
+
+	private static Movie movie(String title) {
+		return Movie.of(title, "Regizor", 2000, "/filme/" + title, "Dramă", 7.5, "tt0000001");
+	}
+
+	private static List<String> titles(List<Movie> movies) {
+		return movies.stream().map(Movie::getTitle).collect(Collectors.toList());
+	}
+
+	@Test
+	void changesAreReplayedOnTheNextLoad() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		assertTrue(repo.LoadAllMovies().isEmpty());
+		repo.appendChanges(List.of(
+			new MovieChange(MovieChange.Type.ADD, movie("A")),
+			new MovieChange(MovieChange.Type.ADD, movie("B")),
+			new MovieChange(MovieChange.Type.ADD, movie("C"))));
+		repo.appendDelete(movie("B"));
+		repo.close();
+
+		assertEquals(List.of("A", "C"), titles(new MovieRepo(user).LoadAllMovies()));
+		assertEquals(0, file(user, ".txt").length());
+	}
+
+	@Test
+	void deleteRemovesOnlyTheFirstIdenticalMovie() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		repo.LoadAllMovies();
+		repo.appendAdd(Movie.of("X", "R", 1999, "/a", "", 5.0, ""));
+		repo.appendAdd(movie("Y"));
+		repo.appendAdd(Movie.of("X", "R", 1999, "/a", "", 5.0, ""));
+		repo.appendDelete(Movie.of("X", "R", 1999, "/a", "", 5.0, ""));
+		repo.close();
+
+		assertEquals(List.of("Y", "X"), titles(new MovieRepo(user).LoadAllMovies()));
+	}
+
+	@Test
+	void invalidJournalLinesAreSkippedAndReported() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		repo.LoadAllMovies();
+		repo.appendAdd(movie("A"));
+		// O oprire bruscă poate lăsa o ultimă linie incompletă
+		try (PrintWriter writer = new PrintWriter(new FileOutputStream(file(user, ".journal"), true))) {
+			writer.print("+Incomplet,Regizor,20");
+		}
+		repo.close();
+
+		MovieRepo reloaded = new MovieRepo(user);
+		assertEquals(List.of("A"), titles(reloaded.LoadAllMovies()));
+		List<String> problems = reloaded.verify();
+		assertEquals(1, problems.size());
+		assertTrue(problems.get(0).contains("linia 2"), problems.get(0));
+	}
+
+	@Test
+	void compactionMovesTheJournalIntoTheSnapshot() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		List<Movie> movies = new ArrayList<>(repo.LoadAllMovies());
+		for (String title: List.of("A", "B", "C")) {
+			repo.appendAdd(movie(title));
+			movies.add(movie(title));
+		}
+		repo.compactInBackground(movies);
+		repo.close();
+
+		assertEquals(0, file(user, ".journal").length());
+		assertTrue(file(user, ".txt").length() > 0);
+		assertFalse(repo.needsIdleCompaction());
+		assertEquals(List.of("A", "B", "C"), titles(new MovieRepo(user).LoadAllMovies()));
+	}
+
+	@Test
+	void otherInstancesSeeTheAppendedChanges() throws IOException {
+		String user = newUser();
+		MovieRepo first = new MovieRepo(user);
+		MovieRepo second = new MovieRepo(user);
+		first.LoadAllMovies();
+		second.LoadAllMovies();
+
+		second.appendAdd(movie("A"));
+		second.appendDelete(movie("A"));
+
+		// Lista din memorie a primei instanțe este depășită, deci nu poate înlocui colecția
+		assertFalse(first.saveMovies(List.of(movie("B"))));
+
+		List<MovieChange> changes = first.pollExternalChanges();
+		assertEquals(2, changes.size());
+		assertEquals(MovieChange.Type.ADD, changes.get(0).getType());
+		assertEquals(MovieChange.Type.DELETE, changes.get(1).getType());
+		assertEquals("A", changes.get(1).getMovie().getTitle());
+		assertTrue(first.pollExternalChanges().isEmpty());
+		first.close();
+		second.close();
+	}
+
+	@Test
+	void interruptedSwitchIsFinishedAfterTheDecisionPoint() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		repo.LoadAllMovies();
+		repo.appendAdd(movie("Vechi"));
+		repo.close();
+
+		// Ambele fișiere noi au fost scrise, dar instanța s-a oprit înainte de a le muta
+		writeLines(file(user, ".txt.next"), CsvMovieParser.format(movie("Nou")));
+		writeLines(file(user, ".journal.next"));
+
+		assertEquals(List.of("Nou"), titles(new MovieRepo(user).LoadAllMovies()));
+		assertFalse(file(user, ".txt.next").exists());
+		assertFalse(file(user, ".journal.next").exists());
+	}
+
+	@Test
+	void interruptedSwitchIsDroppedBeforeTheDecisionPoint() throws IOException {
+		String user = newUser();
+		MovieRepo repo = new MovieRepo(user);
+		repo.LoadAllMovies();
+		repo.appendAdd(movie("Vechi"));
+		repo.close();
+
+		// Doar snapshot-ul nou a fost scris: perechea veche rămâne valabilă
+		writeLines(file(user, ".txt.next"), CsvMovieParser.format(movie("Nou")));
+
+		assertEquals(List.of("Vechi"), titles(new MovieRepo(user).LoadAllMovies()));
+		assertFalse(file(user, ".txt.next").exists());
+	}
+
+	private static void writeLines(File target, String... lines) throws IOException {
+		try (PrintWriter writer = new PrintWriter(new FileOutputStream(target))) {
+			for (String line: lines) {
+				writer.println(line);
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fațetele colecției: numărătorile, ordinea valorilor și diferențele trimise ascultătorilor.
+ */
+class FacetModelTest {
+
+    /**
+     * Notează diferențele primite, în ordinea lor.
+     */
+    private static final class RecordingListener implements FacetModel.Listener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void facetAdded(FacetModel.Facet facet, String value, int count) {
+            events.add("+" + facet + " " + value + " " + count);
+        }
+
+        @Override
+        public void facetCountChanged(FacetModel.Facet facet, String value, int count) {
+            events.add("~" + facet + " " + value + " " + count);
+        }
+
+        @Override
+        public void facetRemoved(FacetModel.Facet facet, String value) {
+            events.add("-" + facet + " " + value);
+        }
+    }
+
+    private static Movie movie(String director, int year, String categories) {
+        return Movie.of("Titlu", director, year, "/f", categories, 5.0, "");
+    }
+
+    @Test
+    void categoriesAreSplitTrimmedAndDeduplicated() {
+        assertEquals(List.of("SF", "Dramă"), new ArrayList<>(FacetModel.categoriesOf(movie("R", 2000, " SF, Dramă,,SF "))));
+        assertTrue(FacetModel.categoriesOf(movie("R", 2000, "")).isEmpty());
+        assertTrue(FacetModel.categoriesOf(movie("R", 2000, null)).isEmpty());
+    }
+
+    @Test
+    void listenersReceiveOnlyTheDeltas() {
+        FacetModel model = new FacetModel();
+        RecordingListener listener = new RecordingListener();
+        model.addListener(listener);
+
+        Movie first = movie("Nolan", 2010, "SF, Acțiune");
+        Movie second = movie("Nolan", 2014, "SF");
+        model.add(first);
+        model.add(second);
+        assertEquals(List.of(
+            "+CATEGORY SF 1", "+CATEGORY Acțiune 1", "+DIRECTOR Nolan 1", "+YEAR 2010 1",
+            "~CATEGORY SF 2", "~DIRECTOR Nolan 2", "+YEAR 2014 1"), listener.events);
+
+        listener.events.clear();
+        model.remove(first);
+        assertEquals(List.of(
+            "~CATEGORY SF 1", "-CATEGORY Acțiune", "~DIRECTOR Nolan 1", "-YEAR 2010"), listener.events);
+    }
+
+    @Test
+    void removingAnUnknownValueChangesNothing() {
+        FacetModel model = new FacetModel();
+        RecordingListener listener = new RecordingListener();
+        model.add(movie("Nolan", 2010, "SF"));
+        model.addListener(listener);
+
+        model.remove(movie("Villeneuve", 2016, "Dramă"));
+
+        assertTrue(listener.events.isEmpty());
+        assertEquals(1, model.count(FacetModel.Facet.DIRECTOR, "Nolan"));
+        assertEquals(0, model.count(FacetModel.Facet.DIRECTOR, "Villeneuve"));
+    }
+
+    @Test
+    void movieWithoutDirectorCountsOnlyItsYearAndCategories() {
+        FacetModel model = new FacetModel();
+        model.add(movie(null, 2000, "SF"));
+
+        assertTrue(model.values(FacetModel.Facet.DIRECTOR).isEmpty());
+        assertEquals(1, model.count(FacetModel.Facet.YEAR, "2000"));
+        assertEquals(1, model.count(FacetModel.Facet.CATEGORY, "SF"));
+    }
+
+    @Test
+    void valuesAreSortedYearsNumerically() {
+        FacetModel model = new FacetModel();
+        model.add(movie("Zemeckis", 999, "SF"));
+        model.add(movie("Anderson", 2010, "Comedie"));
+        model.add(movie("Anderson", 1985, "SF"));
+
+        assertEquals(List.of("999", "1985", "2010"), new ArrayList<>(model.values(FacetModel.Facet.YEAR).keySet()));
+        assertEquals(Map.of("Anderson", 2, "Zemeckis", 1), model.values(FacetModel.Facet.DIRECTOR));
+        assertEquals(List.of("Anderson", "Zemeckis"), new ArrayList<>(model.values(FacetModel.Facet.DIRECTOR).keySet()));
+        assertEquals(Set.of("Comedie", "SF"), model.values(FacetModel.Facet.CATEGORY).keySet());
+        assertThrows(UnsupportedOperationException.class, () -> model.values(FacetModel.Facet.YEAR).clear());
+    }
+}
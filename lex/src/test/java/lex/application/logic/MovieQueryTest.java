@@ -0,0 +1,153 @@
+package lex.application.logic;
+
+import lex.application.data.MovieCriteria;
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interogările structurate: parsarea, negația, = față de :, planificarea și traducerea în MovieCriteria.
+ */
+class MovieQueryTest {
+
+    private static final List<Movie> MOVIES = List.of(
+        Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF, Acțiune", 8.8, ""),
+        Movie.of("Interstellar", "Christopher Nolan", 2014, "/f/2", "SF, Dramă", 8.6, ""),
+        Movie.of("The Prestige", "Christopher Nolan", 2006, "/f/3", "Dramă, Mister", 8.5, ""),
+        Movie.of("Amélie", "Jean-Pierre Jeunet", 2001, "/f/4", "Comedie, Romantic", 8.3, ""),
+        Movie.of("Say \"Boo\"", "Ana Nolanescu", 1995, "/f/5", "Horror", 4.0, ""));
+
+    private final SearchIndex index = new SearchIndex();
+    private final FacetModel facets = new FacetModel();
+
+    MovieQueryTest() {
+        for (Movie m: MOVIES) {
+            index.add(m);
+            facets.add(m);
+        }
+    }
+
+    private MovieQuery planned(String text) {
+        return MovieQuery.parse(text, index).plan(facets, MOVIES.size());
+    }
+
+    // Titlurile găsite, în ordinea colecției; verifică și că test() dă același rezultat ca execute()
+    private List<String> run(String text) {
+        MovieQuery query = planned(text);
+        Set<Movie> found = query.execute(MOVIES);
+        for (Movie m: MOVIES) {
+            assertEquals(found.contains(m), query.test(m), "test() și execute() pentru " + m.getTitle());
+        }
+        return MOVIES.stream().filter(found::contains).map(Movie::getTitle).collect(Collectors.toList());
+    }
+
+    private static List<MovieCriteria.Field> fields(MovieQuery query) {
+        return query.toCriteria().getConditions().stream().map(MovieCriteria.Condition::getField).collect(Collectors.toList());
+    }
+
+    @Test
+    void textWithoutOperatorsIsASinglePhrase() {
+        assertEquals(List.of("Inception", "Interstellar", "The Prestige"), run("christopher nolan"));
+        assertTrue(run("nolan 2010").isEmpty());
+        assertEquals(MOVIES.size(), run("   ").size());
+        assertTrue(MovieQuery.parse(null, index).isEmpty());
+    }
+
+    @Test
+    void clausesMustAllMatch() {
+        assertEquals(List.of("Interstellar", "The Prestige"), run("genre:DRAMĂ"));
+        assertEquals(List.of("Interstellar"), run("genre:sf year:2011..2020"));
+        assertEquals(List.of("Interstellar"), run("genre:sf year:2020..2011"));
+        assertEquals(List.of("Interstellar", "The Prestige"), run("year>=2006 rating<8.7"));
+        assertEquals(List.of("Inception", "Interstellar"), run("rating:8.6"));
+        assertEquals(List.of("The Prestige", "Amélie"), run("year<2010 year>1995"));
+        assertEquals(List.of("Inception"), run("nolan year:2010"));
+        // Genul trebuie să fie o valoare întreagă din listă, nu doar un subșir
+        assertTrue(run("genre:sci").isEmpty());
+    }
+
+    @Test
+    void anyClauseCanBeNegated() {
+        assertEquals(List.of("Inception", "Interstellar", "The Prestige", "Amélie"), run("-horror"));
+        assertEquals(List.of("Interstellar"), run("genre:sf -year:2010"));
+        assertEquals(List.of("Amélie"), run("-director:nolan"));
+        assertEquals(List.of("Amélie", "Say \"Boo\""), run("-genre:sf -genre:mister"));
+        assertEquals(List.of("Say \"Boo\""), run("-rating>=5"));
+    }
+
+    @Test
+    void equalsMatchesTheWholeValueExactly() {
+        assertEquals(List.of("Inception", "Interstellar", "The Prestige", "Say \"Boo\""), run("director:NOLAN"));
+        assertEquals(List.of("Inception", "Interstellar", "The Prestige"), run("director=\"Christopher Nolan\""));
+        assertTrue(run("director=nolan").isEmpty());
+        assertTrue(run("director=\"christopher nolan\"").isEmpty());
+        assertEquals(List.of("Inception"), run("title=Inception"));
+        assertEquals(List.of("Inception", "Interstellar"), run("title:in"));
+    }
+
+    @Test
+    void quotedValuesKeepSpacesQuotesAndBackslashes() {
+        assertEquals(List.of("Say \"Boo\""), run("title:\"say \\\"boo\\\"\""));
+        assertEquals(List.of("Amélie"), run("director:\"pierre jeunet\""));
+
+        for (FacetModel.Facet facet: FacetModel.Facet.values()) {
+            for (String value: facets.values(facet).keySet()) {
+                String clause = MovieQuery.facetClause(facet, value);
+                int expected = facets.count(facet, value);
+                assertEquals(expected, run(clause).size(), clause);
+            }
+        }
+        assertEquals("director=\"A \\\"B\\\" \\\\ C\"", MovieQuery.facetClause(FacetModel.Facet.DIRECTOR, "A \"B\" \\ C"));
+    }
+
+    @Test
+    void invalidClausesBecomeFreeText() {
+        MovieQuery query = MovieQuery.parse("year:abc rating>x", index);
+
+        assertEquals(List.of(MovieCriteria.Field.TEXT, MovieCriteria.Field.TEXT), fields(query));
+        assertEquals("year:abc", query.toCriteria().getConditions().get(0).getValue());
+        assertTrue(run("year:abc").isEmpty());
+    }
+
+    @Test
+    void planEvaluatesTheMostSelectiveClauseFirst() {
+        // Estimări: genre:mister 1 film, director:nolan 4, rating>=1 toate 5
+        MovieQuery query = planned("rating>=1 director:nolan genre:mister");
+        assertEquals(List.of(MovieCriteria.Field.CATEGORIES, MovieCriteria.Field.DIRECTOR, MovieCriteria.Field.RATING),
+            fields(query));
+        assertEquals(List.of("The Prestige"), run("rating>=1 director:nolan genre:mister"));
+
+        // Negația inversează estimarea: -genre:sf păstrează 3 filme, year:2010 doar unul
+        assertEquals(List.of(MovieCriteria.Field.YEAR, MovieCriteria.Field.CATEGORIES), fields(planned("-genre:sf year:2010")));
+        // Ordinea scrisă nu se schimbă fără plan
+        assertEquals(List.of(MovieCriteria.Field.RATING, MovieCriteria.Field.DIRECTOR, MovieCriteria.Field.CATEGORIES),
+            fields(MovieQuery.parse("rating>=1 director:nolan genre:mister", index)));
+    }
+
+    @Test
+    void criteriaCarryOperatorsValuesAndNegation() {
+        List<MovieCriteria.Condition> conditions = MovieQuery.parse("year:1990..2005 -rating<5 director=\"Ana Nolanescu\" -drama", index)
+            .toCriteria().getConditions();
+
+        assertEquals(4, conditions.size());
+        assertEquals(MovieCriteria.Operator.BETWEEN, conditions.get(0).getOperator());
+        assertArrayEquals(new int[] {1990, 2005}, (int[]) conditions.get(0).getValue());
+        assertFalse(conditions.get(0).isNegated());
+
+        assertEquals(MovieCriteria.Operator.LT, conditions.get(1).getOperator());
+        assertEquals(5.0, conditions.get(1).getValue());
+        assertTrue(conditions.get(1).isNegated());
+
+        assertEquals(MovieCriteria.Operator.EQ, conditions.get(2).getOperator());
+        assertEquals("Ana Nolanescu", conditions.get(2).getValue());
+
+        assertEquals(MovieCriteria.Field.TEXT, conditions.get(3).getField());
+        assertEquals("drama", conditions.get(3).getValue());
+        assertTrue(conditions.get(3).isNegated());
+    }
+}
@@ -0,0 +1,168 @@
+package lex.application.logic;
+
+import lex.application.data.MovieRepo;
+import lex.application.model.Movie;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Serviciul colecției fără interfață grafică: încărcarea sincronă și publicarea în loturi
+ * (loturile sunt aplicate direct pe firul testului în locul firului JavaFX).
+ */
+class MovieServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private final List<MovieService> services = new ArrayList<>();
+
+    private MovieService newService() {
+        MovieService service = new MovieService("service" + System.nanoTime() + "_" + USERS.incrementAndGet());
+        services.add(service);
+        return service;
+    }
+
+    @AfterEach
+    void shutdown() {
+        for (MovieService service: services) service.shutdown();
+    }
+
+    private static List<Movie> movies(int count) {
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            movies.add(Movie.of("Film " + i, "Regizor " + (i % 50), 1950 + i % 70, "/f/" + i, "Gen " + (i % 9), 1 + i % 10, ""));
+        }
+        return movies;
+    }
+
+    private static List<String> titles(List<Movie> movies) {
+        return movies.stream().map(Movie::getTitle).collect(Collectors.toList());
+    }
+
+    @Test
+    void loadCatalogReadsTheStoredCollection() throws IOException {
+        String user = "service" + System.nanoTime() + "_" + USERS.incrementAndGet();
+        MovieRepo repo = new MovieRepo(user);
+        repo.LoadAllMovies();
+        repo.appendAdd(Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF", 8.8, ""));
+        repo.appendAdd(Movie.of("Amelie", "Jean-Pierre Jeunet", 2001, "/f/2", "Comedie", 8.3, ""));
+        repo.close();
+
+        MovieService service = new MovieService(user);
+        services.add(service);
+        service.loadCatalog();
+
+        assertEquals(List.of("Inception", "Amelie"), titles(service.getFilteredMovies()));
+        assertEquals(List.of("Amelie"), titles(service.query("jeunet")));
+        assertEquals(1, service.getFacets().count(FacetModel.Facet.CATEGORY, "SF"));
+    }
+
+    @Test
+    void batchesDoubleUpToTheMaximum() throws InterruptedException, ExecutionException {
+        MovieService service = newService();
+        List<Integer> batches = new ArrayList<>();
+        service.getFilteredMovies().addListener((ListChangeListener<Movie>) c -> {
+            while (c.next()) batches.add(c.getAddedSize());
+        });
+        List<Integer> progress = new ArrayList<>();
+        List<Movie> movies = movies(25_000);
+
+        int published = service.publishInBatches(movies, Runnable::run, () -> false, progress::add);
+
+        assertEquals(25_000, published);
+        assertEquals(List.of(200, 400, 800, 1600, 3200, 6400, 10_000, 2400), batches);
+        assertEquals(List.of(200, 600, 1400, 3000, 6200, 12_600, 22_600, 25_000), progress);
+        assertEquals(titles(movies), titles(service.getFilteredMovies()));
+    }
+
+    @Test
+    void cancelledLoadStopsAfterTheCurrentBatch() throws InterruptedException, ExecutionException {
+        MovieService service = newService();
+        AtomicInteger checks = new AtomicInteger();
+
+        int published = service.publishInBatches(movies(5000), Runnable::run, () -> checks.incrementAndGet() > 2, p -> {});
+
+        assertEquals(600, published);
+        assertEquals(600, service.getFilteredMovies().size());
+    }
+
+    @Test
+    void everyBatchGoesThroughTheGivenThread() throws InterruptedException, ExecutionException {
+        MovieService service = newService();
+        AtomicInteger scheduled = new AtomicInteger();
+
+        service.publishInBatches(movies(1000), task -> {
+            scheduled.incrementAndGet();
+            new Thread(task).start();
+        }, () -> false, p -> {});
+
+        assertEquals(3, scheduled.get());
+        assertEquals(1000, service.getFilteredMovies().size());
+        assertEquals(0, service.publishInBatches(new ArrayList<>(), Runnable::run, () -> false, p -> {}));
+    }
+
+    @Test
+    void sortedListFollowsBatchesAddsAndDeletes() throws Exception {
+        MovieService service = newService();
+        service.setSortMode(SortMode.TITLE);
+        Random random = new Random(11);
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            movies.add(Movie.of("Film " + random.nextInt(100_000), "Regizor", 1950 + random.nextInt(70), "/f/" + i, "Gen", 5.0, ""));
+        }
+        service.publishInBatches(movies, Runnable::run, () -> false, p -> {});
+        assertSorted(SortMode.TITLE, service.getFilteredMovies(), 3000);
+
+        service.addMovie("Aaa", "Regizor", 2000, "/f/nou", "Gen", 7.0, "");
+        assertEquals("Aaa", service.getFilteredMovies().get(0).getTitle());
+        for (int i = 0; i < 100; i++) {
+            service.deleteMovie(service.getFilteredMovies().get(random.nextInt(service.getFilteredMovies().size())));
+        }
+        assertSorted(SortMode.TITLE, service.getFilteredMovies(), 2901);
+
+        // Indexul modului YEAR este construit la prima folosire și apoi întreținut incremental
+        service.setSortMode(SortMode.YEAR);
+        service.addMovie("Nou", "Regizor", 2099, "/f/nou2", "Gen", 7.0, "");
+        assertEquals("Nou", service.getFilteredMovies().get(0).getTitle());
+        assertSorted(SortMode.YEAR, service.getFilteredMovies(), 2902);
+        service.setSortMode(SortMode.TITLE);
+        assertSorted(SortMode.TITLE, service.getFilteredMovies(), 2902);
+    }
+
+    @Test
+    void pagesUseTheFilterAndTheRequestedOrder() throws Exception {
+        MovieService service = newService();
+        service.publishInBatches(movies(1000), Runnable::run, () -> false, p -> {});
+        service.setSortMode(SortMode.RATING);
+        service.filterMovies("genre:\"Gen 3\"");
+
+        List<Movie> filtered = new ArrayList<>(service.getFilteredMovies());
+        assertSorted(SortMode.RATING, filtered, 111);
+        assertEquals(filtered.subList(10, 20), service.page(1, 10));
+        assertEquals(filtered.subList(110, 111), service.page(11, 10));
+
+        List<Movie> byTitle = new ArrayList<>(filtered);
+        byTitle.sort(SortMode.TITLE.comparator());
+        assertEquals(byTitle.subList(20, 30), service.page(SortMode.TITLE, 2, 10));
+        // Modul cerut nu schimbă lista afișată
+        assertEquals(SortMode.RATING, service.getSortMode());
+        assertEquals(filtered, new ArrayList<>(service.getFilteredMovies()));
+    }
+
+    private static void assertSorted(SortMode mode, List<Movie> movies, int size) {
+        assertEquals(size, movies.size());
+        for (int i = 1; i < movies.size(); i++) {
+            assertTrue(mode.comparator().compare(movies.get(i - 1), movies.get(i)) < 0, "ordinea la poziția " + i);
+        }
+    }
+}
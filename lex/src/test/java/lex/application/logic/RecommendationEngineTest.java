@@ -0,0 +1,108 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recomandările: ordinea vecinilor și actualizarea listelor deja calculate la adăugare și ștergere.
+ */
+class RecommendationEngineTest {
+
+    private static List<String> titles(List<Movie> movies) {
+        return movies.stream().map(Movie::getTitle).collect(Collectors.toList());
+    }
+
+    @Test
+    void mostSimilarMoviesComeFirst() {
+        Movie inception = Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF, Acțiune", 8.8, "");
+        RecommendationEngine engine = new RecommendationEngine();
+        engine.add(inception);
+        engine.add(Movie.of("Interstellar", "Christopher Nolan", 2014, "/f/2", "SF, Dramă", 8.6, ""));
+        engine.add(Movie.of("Matrix", "Wachowski", 1999, "/f/3", "SF, Acțiune", 8.7, ""));
+        engine.add(Movie.of("Alien", "Ridley Scott", 1979, "/f/4", "SF, Horror", 8.5, ""));
+        // Fără gen sau regizor în comun: nu este candidat
+        engine.add(Movie.of("Amélie", "Jean-Pierre Jeunet", 2010, "/f/5", "Comedie", 8.8, ""));
+
+        assertEquals(List.of("Interstellar", "Matrix", "Alien"), titles(engine.similar(inception, RecommendationEngine.K)));
+        assertEquals(List.of("Interstellar"), titles(engine.similar(inception, 1)));
+        assertTrue(engine.similar(Movie.of("Lipsă", "X", 2000, "/f/x", "SF", 5.0, ""), 5).isEmpty());
+        assertEquals(5, engine.size());
+    }
+
+    @Test
+    void addedMovieEntersComputedLists() {
+        Movie inception = Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF, Acțiune", 8.8, "");
+        RecommendationEngine engine = new RecommendationEngine();
+        engine.add(inception);
+        engine.add(Movie.of("Alien", "Ridley Scott", 1979, "/f/2", "SF, Horror", 8.5, ""));
+        assertEquals(List.of("Alien"), titles(engine.similar(inception, RecommendationEngine.K)));
+
+        // Lista lui Inception este deja calculată; noul film trebuie inserat pe poziția lui
+        Movie tenet = Movie.of("Tenet", "Christopher Nolan", 2020, "/f/3", "SF, Acțiune", 7.3, "");
+        engine.add(tenet);
+        engine.add(tenet);
+
+        assertEquals(List.of("Tenet", "Alien"), titles(engine.similar(inception, RecommendationEngine.K)));
+        assertEquals(3, engine.size());
+    }
+
+    @Test
+    void removedNeighbourIsReplacedByTheNextCandidate() {
+        Movie center = Movie.of("Centru", "Regizor", 2000, "/f/c", "SF", 5.0, "");
+        RecommendationEngine engine = new RecommendationEngine();
+        engine.add(center);
+        List<Movie> others = new ArrayList<>();
+        // Rating-uri tot mai depărtate, deci scoruri strict descrescătoare
+        for (int i = 0; i <= RecommendationEngine.K; i++) {
+            Movie m = Movie.of("Film " + i, "Alt regizor", 2000, "/f/" + i, "SF", 5.0 + i * 0.1, "");
+            others.add(m);
+            engine.add(m);
+        }
+        List<Movie> before = engine.similar(center, RecommendationEngine.K);
+        assertEquals(others.subList(0, RecommendationEngine.K), before);
+
+        engine.remove(others.get(3));
+        engine.remove(others.get(3));
+
+        List<Movie> after = engine.similar(center, RecommendationEngine.K);
+        assertFalse(after.contains(others.get(3)));
+        assertEquals(RecommendationEngine.K, after.size());
+        assertSame(others.get(RecommendationEngine.K), after.get(RecommendationEngine.K - 1));
+        assertTrue(engine.similar(others.get(3), RecommendationEngine.K).isEmpty());
+    }
+
+    @Test
+    void incrementalListsMatchAFreshEngine() {
+        Random random = new Random(5);
+        String[] genres = {"SF", "Dramă", "Comedie", "Horror", "Acțiune", "Romantic"};
+        RecommendationEngine engine = new RecommendationEngine();
+        List<Movie> movies = new ArrayList<>();
+        for (int round = 0; round < 600; round++) {
+            if (movies.isEmpty() || random.nextInt(3) > 0) {
+                String categories = genres[random.nextInt(genres.length)] + ", " + genres[random.nextInt(genres.length)];
+                Movie m = Movie.of("Film " + round, "Regizor " + random.nextInt(20), 1950 + random.nextInt(70),
+                    "/f/" + round, categories, random.nextDouble() * 10, "");
+                movies.add(m);
+                engine.add(m);
+            } else {
+                engine.remove(movies.remove(random.nextInt(movies.size())));
+            }
+            // Cererile intercalate lasă liste calculate pe care add() și remove() trebuie să le țină la zi
+            Movie asked = movies.get(random.nextInt(movies.size()));
+            engine.similar(asked, RecommendationEngine.K);
+        }
+
+        RecommendationEngine fresh = new RecommendationEngine();
+        for (Movie m: movies) fresh.add(m);
+        for (Movie m: movies) {
+            assertEquals(titles(fresh.similar(m, RecommendationEngine.K)), titles(engine.similar(m, RecommendationEngine.K)), m.getTitle());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generarea rapoartelor: gruparea pe categorii, formatele, anularea și sortarea externă a colecțiilor mari.
+ */
+class ReportGeneratorTest {
+
+    @TempDir
+    File dir;
+
+    private static Movie movie(String title, String categories) {
+        return Movie.of(title, "Regizor", 2000, "/f/" + title, categories, 7.25, "tt1");
+    }
+
+    private String generate(List<Movie> movies, ReportFormat format) throws IOException {
+        File file = new File(dir, "raport." + format.getExtension());
+        ReportGenerator.generate(movies, file, format, null, () -> false);
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void moviesAreGroupedByCategoryAndSortedByTitle() throws IOException {
+        List<Movie> movies = List.of(movie("Zorro", "Acțiune"), movie("Fără gen", ""), movie("Alien", "SF"),
+            movie("Avatar", "Acțiune"), movie("Nimic", null));
+        // Rating-ul este formatat după setările regionale, ca în aplicație
+        String rating = String.format("%.1f", 7.25);
+
+        assertEquals("==========================================\n"
+            + "      RAPORT COLECȚIE FILME - MANAGER     \n"
+            + "==========================================\n\n"
+            + "CATEGORIE: ACȚIUNE\n"
+            + "------------------------------------------\n"
+            + "- Avatar | Regizor: Regizor | An: 2000 | Rating: " + rating + " | IMDB: tt1\n"
+            + "- Zorro | Regizor: Regizor | An: 2000 | Rating: " + rating + " | IMDB: tt1\n"
+            + "\n"
+            + "CATEGORIE: FĂRĂ CATEGORIE\n"
+            + "------------------------------------------\n"
+            + "- Fără gen | Regizor: Regizor | An: 2000 | Rating: " + rating + " | IMDB: tt1\n"
+            + "- Nimic | Regizor: Regizor | An: 2000 | Rating: " + rating + " | IMDB: tt1\n"
+            + "\n"
+            + "CATEGORIE: SF\n"
+            + "------------------------------------------\n"
+            + "- Alien | Regizor: Regizor | An: 2000 | Rating: " + rating + " | IMDB: tt1\n"
+            + "\n", generate(movies, ReportFormat.TEXT));
+    }
+
+    @Test
+    void formatsEscapeSpecialCharacters() throws IOException {
+        List<Movie> movies = List.of(Movie.of("Tom & \"Jerry\", <1>", null, 1940, "/f", "Animație", 8.0, null));
+
+        assertEquals("Categorie,Titlu,Regizor,An,Rating,IMDB\n"
+            + "Animație,\"Tom & \"\"Jerry\"\", <1>\",,1940,8.0,\n", generate(movies, ReportFormat.CSV));
+        assertEquals("{\"categories\": [\n"
+            + "  {\"name\": \"Animație\", \"movies\": [\n"
+            + "    {\"title\": \"Tom & \\\"Jerry\\\", <1>\", \"director\": \"\", \"year\": 1940, \"rating\": 8.0, \"imdbId\": \"\"}\n"
+            + "  ]}\n"
+            + "]}\n", generate(movies, ReportFormat.JSON));
+        assertTrue(generate(movies, ReportFormat.HTML).contains("<tr><td>Tom &amp; &quot;Jerry&quot;, &lt;1&gt;</td><td></td>"));
+        assertEquals("Categorie,Titlu,Regizor,An,Rating,IMDB\n", generate(List.of(), ReportFormat.CSV));
+    }
+
+    @Test
+    void cancelledReportLeavesNoFiles() throws IOException {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 150_000; i++) movies.add(movie("Film " + i, "Gen " + (i % 7)));
+        Set<String> runsBefore = reportRuns();
+        File file = new File(dir, "anulat.csv");
+
+        assertThrows(CancellationException.class,
+            () -> ReportGenerator.generate(movies, file, ReportFormat.CSV, null, () -> true));
+        assertFalse(file.exists());
+        assertEquals(runsBefore, reportRuns());
+    }
+
+    @Test
+    void progressEndsWithTheTotal() throws IOException {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) movies.add(movie("Film " + i, "Gen"));
+        List<long[]> updates = new ArrayList<>();
+
+        ReportGenerator.generate(movies, new File(dir, "raport.txt"), ReportFormat.TEXT,
+            (done, total) -> updates.add(new long[] {done, total}), () -> false);
+
+        assertArrayEquals(new long[] {1000, 2500}, updates.get(0));
+        assertArrayEquals(new long[] {2500, 2500}, updates.get(updates.size() - 1));
+    }
+
+    @Test
+    void externalSortProducesTheSameReportAsASortInMemory() throws IOException {
+        Random random = new Random(7);
+        String[] categories = {"Acțiune", "Dramă", "SF", "", null, "Comedie, Romantic"};
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 250_001; i++) {
+            // Titluri repetate (ordinea lor trebuie să rămână cea din colecție) și câmpuri lipsă
+            String title = i % 1000 == 0 ? null : "Film " + random.nextInt(50_000);
+            movies.add(Movie.of(title, i % 3 == 0 ? null : "Regizor " + i, 1900 + i % 120, "/f/" + i,
+                categories[random.nextInt(categories.length)], i % 10, "tt" + i));
+        }
+        // Un câmp de peste 64 KB trebuie să treacă neschimbat prin fișierele temporare
+        char[] longTitle = new char[70_000];
+        Arrays.fill(longTitle, 'ș');
+        movies.add(Movie.of(new String(longTitle), "Regizor", 2020, "/f/lung", "SF", 9.0, "tt-lung"));
+
+        File file = new File(dir, "mare.csv");
+        Set<String> runsBefore = reportRuns();
+        // Sursa nu este o colecție, deci generatorul o parcurge o singură dată, în loturi
+        ReportGenerator.generate(movies::iterator, file, ReportFormat.CSV, null, () -> false);
+
+        assertEquals(expectedCsv(movies), Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        assertEquals(runsBefore, reportRuns());
+    }
+
+    /**
+     * Raportul CSV așteptat: sortare stabilă în memorie a întregii liste, după categorie și titlu.
+     */
+    private static String expectedCsv(List<Movie> movies) throws IOException {
+        List<Movie> sorted = new ArrayList<>(movies);
+        sorted.sort(Comparator.comparing(ReportGenerator::categoryOf)
+            .thenComparing(m -> m.getTitle() == null ? "" : m.getTitle()));
+
+        StringWriter out = new StringWriter();
+        ReportWriter writer = ReportFormat.CSV.createWriter(out);
+        writer.begin();
+        String current = null;
+        for (Movie m: sorted) {
+            String category = ReportGenerator.categoryOf(m);
+            if (!category.equals(current)) {
+                if (current != null) writer.endCategory();
+                writer.beginCategory(category);
+                current = category;
+            }
+            writer.movie(m);
+        }
+        if (current != null) writer.endCategory();
+        writer.end();
+        return out.toString();
+    }
+
+    // Fișierele temporare ale sortării externe existente acum
+    private static Set<String> reportRuns() {
+        Set<String> runs = new HashSet<>();
+        String[] names = new File(System.getProperty("java.io.tmpdir")).list();
+        if (names == null) return runs;
+        for (String name: names) {
+            if (name.startsWith("lex-report-run")) runs.add(name);
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,150 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indexul de trigrame: interogări scurte și lungi, granițele câmpurilor, ștergerea și estimarea.
+ */
+class SearchIndexTest {
+
+    private static final Movie INCEPTION = Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF, Acțiune", 8.8, "");
+    private static final Movie MATRIX = Movie.of("The Matrix", "Lana Wachowski", 1999, "/f/2", "SF", 8.7, "");
+    private static final Movie AMELIE = Movie.of("Amélie", "Jean-Pierre Jeunet", 2001, "/f/3", "Comedie", 8.3, "");
+
+    private static SearchIndex index(Movie... movies) {
+        SearchIndex index = new SearchIndex();
+        for (Movie m: movies) index.add(m);
+        return index;
+    }
+
+    private static Set<String> titles(Set<Movie> movies) {
+        return movies.stream().map(Movie::getTitle).collect(Collectors.toSet());
+    }
+
+    @Test
+    void longQueriesMatchAnyFieldIgnoringCase() {
+        SearchIndex index = index(INCEPTION, MATRIX, AMELIE);
+
+        assertEquals(Set.of("Inception"), titles(index.search("NOLAN")));
+        assertEquals(Set.of("The Matrix"), titles(index.search("matrix")));
+        assertEquals(Set.of("Amélie"), titles(index.search("comed")));
+        assertEquals(Set.of("Inception", "The Matrix"), titles(index.search("sf")));
+        assertEquals(Set.of("The Matrix"), titles(index.search("199")));
+    }
+
+    @Test
+    void shortQueriesScanAllMovies() {
+        SearchIndex index = index(INCEPTION, MATRIX, AMELIE);
+
+        assertEquals(Set.of("Inception", "The Matrix", "Amélie"), titles(index.search("e")));
+        assertEquals(Set.of("Amélie"), titles(index.search("é")));
+        assertEquals(Set.of("The Matrix"), titles(index.search("99")));
+        assertTrue(index.search("q").isEmpty());
+    }
+
+    @Test
+    void trigramsFromDifferentPlacesAreNotAMatch() {
+        // "abcd" și "bcde" conțin împreună toate trigramele lui "abcde", dar nu și textul
+        Movie split = Movie.of("abcd xbcde", "", 2000, "", "", 5.0, "");
+        SearchIndex index = index(split);
+
+        assertTrue(index.search("abcde").isEmpty());
+        assertEquals(1, index.search("bcde").size());
+    }
+
+    @Test
+    void queriesDoNotSpanTwoFields() {
+        SearchIndex index = index(INCEPTION);
+
+        assertTrue(index.search("inceptionchristopher").isEmpty());
+        assertTrue(index.search("nolan2010").isEmpty());
+    }
+
+    @Test
+    void removedMoviesAreNoLongerFound() {
+        Movie copy = Movie.of("Inception", "Christopher Nolan", 2010, "/f/1", "SF, Acțiune", 8.8, "");
+        SearchIndex index = index(INCEPTION, copy, MATRIX);
+        // Filmele sunt indexate după identitate: două obiecte egale sunt două rezultate
+        assertEquals(2, index.search("incep").size());
+
+        index.remove(INCEPTION);
+        Set<Movie> found = index.search("incep");
+        assertEquals(1, found.size());
+        assertSame(copy, found.iterator().next());
+        assertEquals(2, index.search("i").size());
+
+        index.remove(copy);
+        assertTrue(index.search("incep").isEmpty());
+        assertEquals(0, index.estimate("incep"));
+        // O a doua ștergere a aceluiași film nu are efect
+        index.remove(copy);
+        assertEquals(1, index.estimate("a"));
+    }
+
+    @Test
+    void estimateIsAnUpperBound() {
+        SearchIndex index = index(INCEPTION, MATRIX, AMELIE);
+
+        assertEquals(3, index.estimate("ab"));
+        assertEquals(0, index.estimate("xyz"));
+        assertTrue(index.estimate("matrix") >= index.search("matrix").size());
+        assertEquals(1, index.estimate("matrix"));
+    }
+
+    @Test
+    void matchesChecksASingleMovie() {
+        SearchIndex index = new SearchIndex();
+
+        assertTrue(index.matches(MATRIX, "WACHOW"));
+        assertTrue(index.matches(MATRIX, "1999"));
+        assertFalse(index.matches(MATRIX, "nolan"));
+    }
+
+    @Test
+    void searchAgreesWithAScanOfAllMovies() {
+        Random random = new Random(42);
+        String letters = "abcde ";
+        List<Movie> movies = new ArrayList<>();
+        SearchIndex index = new SearchIndex();
+        for (int i = 0; i < 2000; i++) {
+            Movie m = Movie.of(randomText(random, letters, 12), randomText(random, letters, 8),
+                1900 + random.nextInt(120), "/f/" + i, randomText(random, letters, 6), 5.0, "");
+            movies.add(m);
+            index.add(m);
+        }
+        for (int i = 0; i < 500; i++) {
+            index.remove(movies.remove(random.nextInt(movies.size())));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomText(random, letters + "0129", 1 + random.nextInt(5));
+            Set<Movie> expected = movies.stream()
+                .filter(m -> scanMatches(m, query))
+                .collect(Collectors.toSet());
+            assertEquals(expected, index.search(query), "interogarea '" + query + "'");
+        }
+    }
+
+    private static boolean scanMatches(Movie m, String query) {
+        String q = query.toLowerCase();
+        return m.getTitle().toLowerCase().contains(q)
+            || m.getDirector().toLowerCase().contains(q)
+            || String.valueOf(m.getYear()).contains(q)
+            || m.getCategories().toLowerCase().contains(q);
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+}
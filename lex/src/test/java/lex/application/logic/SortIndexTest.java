@@ -0,0 +1,117 @@
+package lex.application.logic;
+
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indexul de sortare: inserția individuală, interclasarea loturilor și ștergerea după identitate.
+ */
+class SortIndexTest {
+
+    private static final Comparator<Movie> BY_YEAR = Comparator.comparingInt(Movie::getYear);
+
+    private static Movie movie(String title, int year) {
+        return Movie.of(title, "Regizor", year, "/f/" + title, "", 5.0, "");
+    }
+
+    private static List<String> titles(SortIndex index) {
+        List<String> titles = new ArrayList<>();
+        for (Movie m: index.view()) titles.add(m.getTitle());
+        return titles;
+    }
+
+    @Test
+    void addReturnsTheInsertionPosition() {
+        SortIndex index = new SortIndex(BY_YEAR, List.of(movie("B", 2000), movie("A", 1990)));
+
+        assertEquals(List.of("A", "B"), titles(index));
+        assertEquals(1, index.add(movie("C", 1995)));
+        assertEquals(0, index.add(movie("D", 1980)));
+        assertEquals(4, index.add(movie("E", 2020)));
+        assertEquals(List.of("D", "A", "C", "B", "E"), titles(index));
+    }
+
+    @Test
+    void batchIsMergedAndPositionsPointToItsMovies() {
+        SortIndex index = new SortIndex(BY_YEAR, List.of(movie("A", 1990), movie("B", 2000), movie("C", 2010)));
+        List<Movie> batch = List.of(movie("Z", 2020), movie("X", 1980), movie("Y", 2005), movie("W", 1995));
+
+        int[] positions = index.addAll(batch);
+
+        assertEquals(List.of("X", "A", "W", "B", "Y", "C", "Z"), titles(index));
+        assertArrayEquals(new int[] {0, 2, 4, 6}, positions);
+        for (int p: positions) assertTrue(batch.contains(index.view().get(p)));
+        assertEquals(0, index.addAll(List.of()).length);
+    }
+
+    @Test
+    void equalKeysKeepTheExistingMoviesFirst() {
+        SortIndex index = new SortIndex(BY_YEAR, List.of(movie("A", 2000), movie("B", 2000)));
+
+        int[] positions = index.addAll(List.of(movie("C", 2000), movie("D", 1999)));
+
+        assertEquals(List.of("D", "A", "B", "C"), titles(index));
+        assertArrayEquals(new int[] {0, 3}, positions);
+    }
+
+    @Test
+    void removeFindsTheSameObjectAmongEqualKeys() {
+        Movie first = movie("Același", 2000);
+        Movie second = movie("Același", 2000);
+        Movie third = movie("Același", 2000);
+        SortIndex index = new SortIndex(BY_YEAR, List.of(movie("A", 1990), first, second, third, movie("Z", 2010)));
+
+        assertEquals(3, index.indexOf(third));
+        assertEquals(2, index.remove(second));
+        assertEquals(-1, index.indexOf(second));
+        assertEquals(-1, index.remove(second));
+        assertEquals(-1, index.remove(movie("Lipsă", 1990)));
+        assertSame(first, index.view().get(1));
+        assertSame(third, index.view().get(2));
+        assertThrows(UnsupportedOperationException.class, () -> index.view().clear());
+    }
+
+    @Test
+    void indexMatchesAFullSortAfterRandomChanges() {
+        Comparator<Movie> order = SortMode.TITLE.comparator();
+        Random random = new Random(3);
+        List<Movie> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) expected.add(movie("Film " + random.nextInt(100), 2000));
+        SortIndex index = new SortIndex(order, expected);
+
+        for (int round = 0; round < 200; round++) {
+            int action = random.nextInt(3);
+            if (action == 0) {
+                Movie m = movie("Film " + random.nextInt(100), 2000);
+                int pos = index.add(m);
+                assertSame(m, index.view().get(pos));
+                expected.add(m);
+            } else if (action == 1) {
+                List<Movie> batch = new ArrayList<>();
+                for (int i = random.nextInt(100); i >= 0; i--) batch.add(movie("Film " + random.nextInt(100), 2000));
+                int[] positions = index.addAll(batch);
+                for (int i = 1; i < positions.length; i++) assertTrue(positions[i - 1] < positions[i]);
+                expected.addAll(batch);
+            } else if (!expected.isEmpty()) {
+                Movie m = expected.remove(random.nextInt(expected.size()));
+                int pos = index.indexOf(m);
+                assertEquals(pos, index.remove(m));
+                assertTrue(pos >= 0);
+            }
+        }
+
+        List<Movie> sorted = new ArrayList<>(expected);
+        sorted.sort(order);
+        assertEquals(sorted.size(), index.view().size());
+        for (int i = 0; i < sorted.size(); i++) assertSame(sorted.get(i), index.view().get(i));
+        assertEquals(Collections.emptyList(), new ArrayList<>(new SortIndex(order, List.of()).view()));
+    }
+}
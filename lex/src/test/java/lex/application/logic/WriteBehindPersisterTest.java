@@ -0,0 +1,202 @@
+package lex.application.logic;
+
+import lex.application.data.MovieChange;
+import lex.application.data.MovieStore;
+import lex.application.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Coada write-behind: comasarea rafalelor, anularea adăugărilor șterse și reîncercarea loturilor eșuate.
+ */
+class WriteBehindPersisterTest {
+
+    /**
+     * Stocare în memorie care notează fiecare apel și poate eșua la primele scrieri.
+     */
+    private static final class RecordingStore implements MovieStore {
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        // Câte scrieri reușesc înainte de eșecuri, apoi câte scrieri eșuează
+        volatile int successesBeforeFailure;
+        volatile int failures;
+        volatile boolean closed;
+
+        @Override
+        public List<Movie> LoadAllMovies() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public List<Movie> readAllMovies() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void appendChanges(List<MovieChange> changes) throws IOException {
+            if (changes.isEmpty()) return;
+            if (successesBeforeFailure > 0) {
+                successesBeforeFailure--;
+            } else if (failures > 0) {
+                failures--;
+                throw new IOException("disc plin");
+            }
+            StringBuilder call = new StringBuilder("append");
+            for (MovieChange change: changes) {
+                call.append(change.getType() == MovieChange.Type.ADD ? " +" : " -").append(change.getMovie().getTitle());
+            }
+            calls.add(call.toString());
+        }
+
+        @Override
+        public boolean needsCompaction() {
+            return false;
+        }
+
+        @Override
+        public void compactInBackground(List<Movie> snapshot) {
+            calls.add("compact " + snapshot.size());
+        }
+
+        @Override
+        public boolean saveMovies(List<Movie> movies) {
+            return true;
+        }
+
+        @Override
+        public List<String> verify() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static Movie movie(String title) {
+        return Movie.of(title, "Regizor", 2000, "/filme/" + title, "", 5.0, "");
+    }
+
+    @Test
+    void burstIsWrittenAsOneBatchInOrder() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        persister.enqueueAdd(movie("A"));
+        persister.enqueueAddAll(List.of(movie("B"), movie("C")));
+        persister.enqueueDelete(movie("D"));
+        persister.flush();
+
+        assertEquals(List.of("append +A +B +C -D"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void addCancelledByALaterDeleteIsNeverWritten() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        Movie a = movie("A");
+        persister.enqueueAdd(a);
+        persister.enqueueAdd(movie("B"));
+        persister.enqueueDelete(a);
+        persister.flush();
+
+        assertEquals(List.of("append +B"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void deleteOfAnEqualButDifferentMovieDoesNotCancelTheAdd() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        persister.enqueueAdd(movie("A"));
+        // Anularea se face după identitate: alt obiect cu aceleași date este o ștergere separată
+        persister.enqueueDelete(movie("A"));
+        persister.flush();
+
+        assertEquals(List.of("append +A -A"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void addAlreadyWrittenIsDeletedOnDisk() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        Movie a = movie("A");
+        persister.enqueueAdd(a);
+        persister.flush();
+        persister.enqueueDelete(a);
+        persister.flush();
+
+        assertEquals(List.of("append +A", "append -A"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void addIncludedInACompactionIsNotCancelled() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        Movie a = movie("A");
+        persister.enqueueAdd(a);
+        persister.enqueueCompaction(List.of(a));
+        persister.enqueueDelete(a);
+        persister.flush();
+
+        assertEquals(List.of("append +A", "compact 1", "append -A"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void failedBatchStaysQueuedAndIsRetriedInOrder() {
+        RecordingStore store = new RecordingStore();
+        store.failures = 1;
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        persister.enqueueAdd(movie("A"));
+        persister.flush();
+        assertTrue(store.calls.isEmpty());
+
+        // Modificările puse în coadă după eșec rămân după cele nescrise
+        persister.enqueueAdd(movie("B"));
+        persister.flush();
+
+        assertEquals(List.of("append +A +B"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void failureAfterACompactionRetriesOnlyTheRest() {
+        RecordingStore store = new RecordingStore();
+        store.successesBeforeFailure = 1;
+        store.failures = 1;
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        persister.enqueueAdd(movie("A"));
+        persister.enqueueCompaction(List.of(movie("A")));
+        persister.enqueueAdd(movie("B"));
+        // +A și compactarea reușesc, +B eșuează
+        persister.flush();
+        assertEquals(List.of("append +A", "compact 1"), store.calls);
+
+        // La reîncercare nu se repetă ce a fost deja scris
+        persister.flush();
+        assertEquals(List.of("append +A", "compact 1", "append +B"), store.calls);
+        persister.shutdown();
+    }
+
+    @Test
+    void shutdownWritesTheQueueAndClosesTheStore() {
+        RecordingStore store = new RecordingStore();
+        WriteBehindPersister persister = new WriteBehindPersister(store);
+        persister.enqueueAdd(movie("A"));
+        persister.shutdown();
+
+        assertEquals(List.of("append +A"), store.calls);
+        assertTrue(store.closed);
+        // După oprire, flush nu mai are ce scrie
+        persister.flush();
+    }
+}